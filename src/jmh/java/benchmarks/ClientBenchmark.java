@@ -0,0 +1,77 @@
+package benchmarks;
+
+import config.BaseTests;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import payloads.AuthServices;
+import payloads.GamesServices;
+import stub.StubBackend;
+
+import java.util.concurrent.TimeUnit;
+
+// Custo do lado do cliente: montar a spec, extrair o token e uma ida-e-volta completa contra o StubBackend embutido
+//
+// Ordem de grandeza esperada: montar a spec em µs; ida-e-volta em poucos ms (~14 ms numa máquina de 1 CPU, quase
+// tudo RestAssured). Ida-e-volta acima de 40 ms é o ACK atrasado do TCP com Nagle ligado no stub, não o cliente:
+// por isso a subida recusa rodar sem sun.net.httpserver.nodelay.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClientBenchmark extends BaseTests {
+
+    StubBackend stub;
+    AuthServices auth;
+    GamesServices games;
+    Response login;
+
+    @Setup(Level.Trial)
+    public void subirStub() {
+        stub = new StubBackend(0, StubBackend.Injecao.NENHUMA, 42);
+        if (!Boolean.getBoolean("sun.net.httpserver.nodelay")) {
+            throw new IllegalStateException("sun.net.httpserver.nodelay desligado: as idas-e-voltas mediriam o ACK atrasado");
+        }
+        auth = new AuthServices(stub.baseUrl() + "/api");
+        games = new GamesServices(stub.baseUrl() + "/api");
+        login = auth.fazerLogin(QA_USER_EMAIL, QA_USER_PASSWORD);
+    }
+
+    @TearDown(Level.Trial)
+    public void derrubarStub() {
+        stub.close();
+    }
+
+    @Benchmark
+    public RequestSpecification montarRequestSpec() {
+        return requestSpec();
+    }
+
+    @Benchmark
+    public String extrairTokenComJsonPath() {
+        return auth.extrairToken(login);
+    }
+
+    @Benchmark
+    public Response loginIdaEVolta() {
+        return auth.fazerLogin(QA_USER_EMAIL, QA_USER_PASSWORD);
+    }
+
+    @Benchmark
+    public Response listarJogosIdaEVolta() {
+        return games.listarTodosJogos(GAMES_ENDPOINT);
+    }
+}
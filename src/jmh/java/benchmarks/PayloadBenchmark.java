@@ -0,0 +1,60 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import payloads.AuthPayloads;
+import payloads.CarrinhoPayload;
+import payloads.RegisterPayloads;
+
+import java.util.concurrent.TimeUnit;
+
+// Custo de montar os bodies JSON usados pelos services
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PayloadBenchmark {
+
+    int sequencia;
+
+    @Benchmark
+    public String registroEmString() {
+        int n = sequencia++;
+        return RegisterPayloads.registro("user" + n, "user" + n + "@teste.com", "123456", "QA User");
+    }
+
+    @Benchmark
+    public String carrinhoLegadoEmString() {
+        return CarrinhoPayload.criarCheckout(sequencia++ & 31, 1, "pix");
+    }
+
+    @Benchmark
+    public String loginEmString() {
+        return AuthPayloads.login("qa_user@gamestore.com", "123456789");
+    }
+
+    @Benchmark
+    public byte[] registroEmBytes() {
+        int n = sequencia++;
+        return RegisterPayloads.registroBytes("user" + n, "user" + n + "@teste.com", "123456", "QA User");
+    }
+
+    @Benchmark
+    public byte[] loginEmBytes() {
+        return AuthPayloads.loginBytes("qa_user@gamestore.com", "123456789");
+    }
+
+    @Benchmark
+    public byte[] carrinhoAleatorioEmBytes() {
+        return CarrinhoPayload.carrinhoAleatorio(5, 20).bytes();
+    }
+}
@@ -0,0 +1,39 @@
+package Contracts;
+
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+import static Contracts.SchemaRegistry.Schema.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+
+public class CatalogContract {
+
+    // /api/games e /api/jogos: array de jogos na raiz
+    public StreamingValidator.Resultado validarCatalogoEmStreaming(Response response) {
+        return validar(response, null, JOGO_CATALOGO);
+    }
+
+    // /api/rawg-games: { count, results: [...] }
+    public StreamingValidator.Resultado validarCatalogoRawgEmStreaming(Response response) {
+        return validar(response, "results", JOGO_RAWG);
+    }
+
+    private StreamingValidator.Resultado validar(Response response, String campo, SchemaRegistry.Schema schema) {
+        StreamingValidator.Resultado resultado;
+        // status conferido dentro do try: se falhar, o stream ainda é fechado e a conexão volta ao pool
+        try (InputStream body = response.asInputStream()) {
+            assertThat("status do catálogo", response.statusCode(), equalTo(200));
+            resultado = StreamingValidator.validar(body, campo, schema);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        assertThat("catálogo vazio", resultado.total(), greaterThan(0L));
+        assertThat(resultado.resumo(), resultado.invalidos(), equalTo(0L));
+        return resultado;
+    }
+}
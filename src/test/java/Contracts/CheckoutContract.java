@@ -1,26 +1,20 @@
 package Contracts;
 import io.restassured.response.Response;
 
-import static io.restassured.module.jsv.JsonSchemaValidator.matchesJsonSchemaInClasspath;;
+import static Contracts.SchemaRegistry.Schema.*;
 
 public class CheckoutContract {
 
     public void CheckoutContractPositivo(Response response){
 
-        response.then().log().all()
-                .assertThat()
-                .body(matchesJsonSchemaInClasspath("schemas/checkout-success.schema.json"));
+        SchemaRegistry.validar(response, CHECKOUT_SUCESSO);
 
     }
 
     public void validarContratoErroCheckoutComMensagemEmPortugues(Response response){
-        response.then().log().all()
-                .assertThat()
-                .body(matchesJsonSchemaInClasspath("schemas/checkout-error-mensagem.schema.json"));
+        SchemaRegistry.validar(response, CHECKOUT_ERRO_MENSAGEM);
     }
     public void validarContratoErroCheckoutComMensagemEmIngles(Response response){
-        response.then().log().all()
-                .assertThat()
-                .body(matchesJsonSchemaInClasspath("schemas/checkout-error-message.schema.json"));
+        SchemaRegistry.validar(response, CHECKOUT_ERRO_MESSAGE);
     }
 }
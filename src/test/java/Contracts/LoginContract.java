@@ -2,23 +2,18 @@ package Contracts;
 
 import io.restassured.response.Response;
 
-import static org.hamcrest.Matchers.*;
-import static io.restassured.module.jsv.JsonSchemaValidator.matchesJsonSchemaInClasspath;;
+import static Contracts.SchemaRegistry.Schema.*;
 
 public class LoginContract {
 
     public void validarContratoLoginComSucesso(Response response) {
 
-        response.then().log().all()
-                .assertThat()
-                .body(matchesJsonSchemaInClasspath("schemas/login-success.schema.json"));
+        SchemaRegistry.validar(response, LOGIN_SUCESSO);
 
     }
     public void validarContratoLoginNegativo(Response response) {
 
-        response.then().log().all()
-                .assertThat()
-                .body(matchesJsonSchemaInClasspath("schemas/login-error.schema.json"));
+        SchemaRegistry.validar(response, LOGIN_ERRO);
 
 
     }
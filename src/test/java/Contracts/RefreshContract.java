@@ -1,24 +1,19 @@
 package Contracts;
 import io.restassured.response.Response;
 
-import static org.hamcrest.Matchers.*;
-import static io.restassured.module.jsv.JsonSchemaValidator.matchesJsonSchemaInClasspath;;
+import static Contracts.SchemaRegistry.Schema.*;
 
 public class RefreshContract {
 
     public void validarContratoRefreshComSucesso(Response response) {
 
-        response.then().log().all()
-                .assertThat()
-                .body(matchesJsonSchemaInClasspath("schemas/Refresh-success.schema.json"));
+        SchemaRegistry.validar(response, REFRESH_SUCESSO);
 
     }
 
     public void validarContratoRefreshNegativo(Response response) {
 
-        response.then().log().all()
-                .assertThat()
-                .body(matchesJsonSchemaInClasspath("schemas/Refresh-error.schema.json"));
+        SchemaRegistry.validar(response, REFRESH_ERRO);
 
     }
 }
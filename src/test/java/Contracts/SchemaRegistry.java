@@ -0,0 +1,112 @@
+package Contracts;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.ProcessingMessage;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+// Schemas de src/test/resources/schemas carregados e compilados uma vez por JVM.
+// JsonSchema e ObjectMapper são imutáveis/thread-safe depois de configurados, então podem ser
+// usados por testes paralelos e loops de carga sem reler os arquivos a cada asserção.
+public final class SchemaRegistry {
+
+    public enum Schema {
+        LOGIN_SUCESSO("login-success.schema.json"),
+        LOGIN_ERRO("login-error.schema.json"),
+        REFRESH_SUCESSO("Refresh-success.schema.json"),
+        REFRESH_ERRO("Refresh-error.schema.json"),
+        CHECKOUT_SUCESSO("checkout-success.schema.json"),
+        CHECKOUT_ERRO_MENSAGEM("checkout-error-mensagem.schema.json"),
+        CHECKOUT_ERRO_MESSAGE("checkout-error-message.schema.json"),
+        // Schemas por item, usados na validação em streaming do catálogo
+        JOGO_CATALOGO("game-item.schema.json"),
+        JOGO_RAWG("rawg-game-item.schema.json");
+
+        final String arquivo;
+
+        Schema(String arquivo) {
+            this.arquivo = arquivo;
+        }
+    }
+
+    static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final Map<Schema, JsonSchema> COMPILADOS = compilarTodos();
+
+    private SchemaRegistry() {
+    }
+
+    public static JsonSchema schema(Schema schema) {
+        return COMPILADOS.get(schema);
+    }
+
+    // Valida direto dos bytes do body, sem passar por String nem pelo log do RestAssured
+    public static void validar(Response response, Schema schema) {
+        validar(response.asByteArray(), schema);
+    }
+
+    public static void validar(byte[] body, Schema schema) {
+        JsonNode json;
+        try {
+            json = MAPPER.readTree(body);
+        } catch (IOException e) {
+            throw new AssertionError("Body não é JSON válido para " + schema.arquivo + ": " + e.getMessage(), e);
+        }
+        validar(json, schema);
+    }
+
+    public static void validar(JsonNode json, Schema schema) {
+        ProcessingReport report = relatorio(json, COMPILADOS.get(schema));
+        if (!report.isSuccess()) {
+            throw new AssertionError("Contrato " + schema.arquivo + " violado:" + mensagens(report));
+        }
+    }
+
+    static ProcessingReport relatorio(JsonNode json, JsonSchema schema) {
+        try {
+            return schema.validate(json, true);
+        } catch (ProcessingException e) {
+            throw new IllegalStateException("Falha ao validar schema", e);
+        }
+    }
+
+    static String mensagens(ProcessingReport report) {
+        StringBuilder sb = new StringBuilder();
+        for (ProcessingMessage m : report) {
+            sb.append("\n  - ").append(m.getMessage());
+        }
+        return sb.toString();
+    }
+
+    private static Map<Schema, JsonSchema> compilarTodos() {
+        JsonSchemaFactory factory = JsonSchemaFactory.byDefault();
+        Map<Schema, JsonSchema> compilados = new EnumMap<>(Schema.class);
+        for (Schema schema : Schema.values()) {
+            compilados.put(schema, compilar(factory, "schemas/" + schema.arquivo));
+        }
+        return compilados;
+    }
+
+    static JsonSchema compilar(JsonSchemaFactory factory, String caminho) {
+        try (InputStream in = SchemaRegistry.class.getClassLoader().getResourceAsStream(caminho)) {
+            if (in == null) {
+                throw new IllegalStateException("Schema não encontrado no classpath: " + caminho);
+            }
+            return factory.getJsonSchema(MAPPER.readTree(in));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ProcessingException e) {
+            throw new IllegalStateException("Schema inválido: " + caminho, e);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package Contracts;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static Contracts.SchemaRegistry.Schema.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Self-test do registro de schemas (não precisa do backend)
+public class SchemaRegistryTest {
+
+    static final byte[] CHECKOUT_OK = bytes("{\"sucesso\":true,\"mensagem\":\"ok\",\"protocolo\":\"#CHK123456\",\"orderId\":7}");
+    static final byte[] CHECKOUT_SEM_ORDER = bytes("{\"sucesso\":true,\"mensagem\":\"ok\",\"protocolo\":\"#CHK123456\"}");
+
+    @Test
+    public void deveCompilarTodosOsSchemasUmaVez() {
+        for (SchemaRegistry.Schema schema : SchemaRegistry.Schema.values()) {
+            assertThat(SchemaRegistry.schema(schema), notNullValue());
+            assertThat(SchemaRegistry.schema(schema), sameInstance(SchemaRegistry.schema(schema)));
+        }
+    }
+
+    @Test
+    public void deveAceitarBodyConformeEApontarCampoFaltando() {
+        SchemaRegistry.validar(CHECKOUT_OK, CHECKOUT_SUCESSO);
+
+        AssertionError erro = assertThrows(AssertionError.class,
+                () -> SchemaRegistry.validar(CHECKOUT_SEM_ORDER, CHECKOUT_SUCESSO));
+        assertThat(erro.getMessage(), containsString("orderId"));
+    }
+
+    @Test
+    public void deveValidarEmParaleloComOMesmoSchema() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                tarefas.add(executor.submit(() -> SchemaRegistry.validar(CHECKOUT_OK, CHECKOUT_SUCESSO)));
+            }
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,93 @@
+package Contracts;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Valida item a item um array JSON lido em streaming: só um elemento fica em memória por vez,
+// então o heap não cresce com o tamanho do catálogo.
+public final class StreamingValidator {
+
+    static final int MAX_AMOSTRAS = 10;
+
+    public record Resultado(long total, long invalidos, List<String> amostras) {
+
+        public String resumo() {
+            StringBuilder sb = new StringBuilder()
+                    .append(total).append(" itens, ").append(invalidos).append(" inválidos");
+            for (String amostra : amostras) {
+                sb.append("\n  ").append(amostra);
+            }
+            return sb.toString();
+        }
+    }
+
+    private StreamingValidator() {
+    }
+
+    // campo == null: o próprio documento é o array; senão, o array está no campo do objeto raiz (ex. "results")
+    public static Resultado validar(InputStream in, String campo, SchemaRegistry.Schema schema) {
+        JsonSchema compilado = SchemaRegistry.schema(schema);
+        long total = 0;
+        long invalidos = 0;
+        List<String> amostras = new ArrayList<>();
+        try (JsonParser parser = SchemaRegistry.MAPPER.getFactory().createParser(in)) {
+            posicionarNoArray(parser, campo);
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                // body cortado (conexão caiu, resposta truncada): nunca contar como catálogo completo
+                exigir(token != null, "Fim inesperado do stream do catálogo após " + total + " itens");
+                JsonNode item = SchemaRegistry.MAPPER.readTree(parser);
+                ProcessingReport report = SchemaRegistry.relatorio(item, compilado);
+                if (!report.isSuccess()) {
+                    invalidos++;
+                    if (amostras.size() < MAX_AMOSTRAS) {
+                        amostras.add("[" + total + "]" + SchemaRegistry.mensagens(report).replace("\n", " "));
+                    }
+                }
+                total++;
+            }
+        } catch (JsonParseException e) {
+            // o Jackson acusa o corte no meio do array como erro de parse, nem sempre como JsonEOFException
+            throw new AssertionError("Fim inesperado ou JSON inválido no stream do catálogo após " + total + " itens: "
+                    + e.getOriginalMessage(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new Resultado(total, invalidos, List.copyOf(amostras));
+    }
+
+    private static void posicionarNoArray(JsonParser parser, String campo) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (campo == null) {
+            exigir(token == JsonToken.START_ARRAY, "Esperado array na raiz, veio " + token);
+            return;
+        }
+        exigir(token == JsonToken.START_OBJECT, "Esperado objeto na raiz, veio " + token);
+        while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+            String nome = parser.getCurrentName();
+            token = parser.nextToken();
+            if (nome.equals(campo)) {
+                exigir(token == JsonToken.START_ARRAY, "Campo " + campo + " não é array: " + token);
+                return;
+            }
+            parser.skipChildren();
+        }
+        throw new AssertionError("Campo " + campo + " não encontrado no body");
+    }
+
+    private static void exigir(boolean condicao, String mensagem) {
+        if (!condicao) {
+            throw new AssertionError(mensagem);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package Contracts;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+
+import static Contracts.SchemaRegistry.Schema.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Self-test da validação em streaming (não precisa do backend)
+public class StreamingValidatorTest {
+
+    @Test
+    public void deveValidarCatalogoGrandeItemAItem() {
+        // ~7 MB de JSON gerados sob demanda; a cada 12.500 itens um vem sem "title"
+        InputStream catalogo = catalogoGerado(50_000, 12_500);
+
+        StreamingValidator.Resultado resultado = StreamingValidator.validar(catalogo, null, JOGO_CATALOGO);
+
+        assertThat(resultado.total(), equalTo(50_000L));
+        assertThat(resultado.invalidos(), equalTo(4L));
+        assertThat(resultado.amostras(), hasSize(4));
+        assertThat(resultado.amostras().get(0), containsString("title"));
+    }
+
+    @Test
+    public void deveEncontrarArrayDentroDoCampoResults() {
+        String body = "{\"count\": 2, \"next\": {\"page\": 2}, \"results\": ["
+                + "{\"id\":1,\"title\":\"A\",\"price\":12.5,\"platforms\":[\"PC\"],\"image\":\"\",\"rawg_slug\":\"a\"},"
+                + "{\"id\":2,\"title\":\"B\",\"price\":\"caro\",\"platforms\":[]}]}";
+
+        StreamingValidator.Resultado resultado = StreamingValidator.validar(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), "results", JOGO_RAWG);
+
+        assertThat(resultado.total(), equalTo(2L));
+        assertThat(resultado.invalidos(), equalTo(1L));
+    }
+
+    @Test
+    public void deveFalharQuandoOStreamTerminaAntesDoFimDoArray() {
+        // conexão caiu depois do primeiro item: o array nunca fecha
+        String item = "{\"id\":1,\"title\":\"A\",\"price\":\"59.90\",\"platforms\":[],\"image\":\"\",\"plays\":1}";
+        for (String body : new String[]{"[" + item, "[" + item + ","}) {
+            AssertionError erro = assertThrows(AssertionError.class, () -> StreamingValidator.validar(
+                    new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), null, JOGO_CATALOGO));
+
+            assertThat(erro.getMessage(), containsString("Fim inesperado"));
+            assertThat(erro.getMessage(), containsString("após 1 itens"));
+        }
+    }
+
+    private static InputStream catalogoGerado(int itens, int invalidoACada) {
+        Enumeration<InputStream> partes = new Enumeration<>() {
+            int i = -1;
+
+            @Override
+            public boolean hasMoreElements() {
+                return i <= itens;
+            }
+
+            @Override
+            public InputStream nextElement() {
+                String parte;
+                if (i == -1) {
+                    parte = "[";
+                } else if (i == itens) {
+                    parte = "]";
+                } else {
+                    String titulo = (i + 1) % invalidoACada == 0 ? "" : "\"title\":\"Jogo " + i + "\",";
+                    parte = (i > 0 ? "," : "") + "{\"id\":" + i + "," + titulo
+                            + "\"price\":\"59.90\",\"platforms\":[\"pc\",\"xbox\"],\"image\":\"https://img/" + i + ".png\",\"plays\":" + i + "}";
+                }
+                i++;
+                return new ByteArrayInputStream(parte.getBytes(StandardCharsets.UTF_8));
+            }
+        };
+        return new SequenceInputStream(partes);
+    }
+}
@@ -0,0 +1,71 @@
+package Factories;
+
+import payloads.JsonWriter;
+import utils.IdentityGenerator;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// Bodies de /api/auth/register em volume para carga e fuzz: válidos (identidade única) e inválidos por motivo
+public class RegistroFactory {
+
+    public enum Motivo {
+        VALIDO(201),
+        EMAIL_SEM_ARROBA(400),
+        EMAIL_SEM_DOMINIO(400),
+        USERNAME_VAZIO(400),
+        SENHA_CURTA(400),
+        SEM_PASSWORD(400),
+        CAMPOS_NULOS(400);
+
+        public final int statusEsperado;
+
+        Motivo(int statusEsperado) {
+            this.statusEsperado = statusEsperado;
+        }
+    }
+
+    public record Registro(Motivo motivo, byte[] body) {
+
+        public int statusEsperado() {
+            return motivo.statusEsperado;
+        }
+    }
+
+    private static final Motivo[] INVALIDOS = {
+            Motivo.EMAIL_SEM_ARROBA, Motivo.EMAIL_SEM_DOMINIO, Motivo.USERNAME_VAZIO,
+            Motivo.SENHA_CURTA, Motivo.SEM_PASSWORD, Motivo.CAMPOS_NULOS
+    };
+
+    public static Registro registroValido() {
+        return registro(Motivo.VALIDO);
+    }
+
+    public static Registro registroInvalidoAleatorio() {
+        return registro(INVALIDOS[ThreadLocalRandom.current().nextInt(INVALIDOS.length)]);
+    }
+
+    // fracaoInvalidos entre 0 e 1
+    public static Registro registroMisto(double fracaoInvalidos) {
+        return ThreadLocalRandom.current().nextDouble() < fracaoInvalidos ? registroInvalidoAleatorio() : registroValido();
+    }
+
+    public static Registro registro(Motivo motivo) {
+        String id = IdentityGenerator.proximo();
+        String username = "user" + id;
+        String email = "user_" + id + "@teste.com";
+        String password = Userfactory.gerarPassword();
+
+        JsonWriter json = JsonWriter.local().abrirObjeto();
+        switch (motivo) {
+            case VALIDO -> json.campo("username", username).campo("email", email).campo("password", password);
+            case EMAIL_SEM_ARROBA -> json.campo("username", username).campo("email", "user_" + id + "teste.com").campo("password", password);
+            case EMAIL_SEM_DOMINIO -> json.campo("username", username).campo("email", "user_" + id + "@teste").campo("password", password);
+            case USERNAME_VAZIO -> json.campo("username", "").campo("email", email).campo("password", password);
+            case SENHA_CURTA -> json.campo("username", username).campo("email", email).campo("password", "12345");
+            case SEM_PASSWORD -> json.campo("username", username).campo("email", email);
+            case CAMPOS_NULOS -> json.campo("username", (String) null).campo("email", (String) null).campo("password", (String) null);
+        }
+        json.campo("nome_completo", Userfactory.gerarNomeCompleto()).fecharObjeto();
+        return new Registro(motivo, json.toByteArray());
+    }
+}
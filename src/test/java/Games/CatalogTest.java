@@ -1,5 +1,6 @@
 package Games;
 
+import Contracts.CatalogContract;
 import config.BaseTests;
 import org.junit.jupiter.api.Tag;
 import payloads.GamesServices;
@@ -8,10 +9,20 @@ import validators.ResponseValidator;
 import io.qameta.allure.Story;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsStringIgnoringCase;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+
 public class CatalogTest extends BaseTests {
 
     ResponseValidator validator = new ResponseValidator();
     GamesServices games = new GamesServices();
+    CatalogContract contract = new CatalogContract();
 
     @Tag("smoke")
     @Test
@@ -44,6 +55,66 @@ public class CatalogTest extends BaseTests {
         validator.validarStatusCode(response, 200);
     }
 
+    @Test
+    @Story("SLA jogos populares")
+    public void DeveExibirJogosPopularesDentroDoBudgetDeLatencia() {
+
+        validator.validarLatencia(GAMESPOPULAR_ENDPOINT, 200,
+                () -> games.listarTodosJogos(GAMESPOPULAR_ENDPOINT));
+    }
+
+    @Test
+    @Story("Buscar jogos por título")
+    public void DeveBuscarJogosPeloTitulo() {
+
+        Response response = games.buscarJogos("ring");
+
+        validator.validarStatusCode(response, 200);
+        List<String> titulos = response.jsonPath().getList("title", String.class);
+        assertThat(titulos, not(empty()));
+        assertThat(titulos, everyItem(containsStringIgnoringCase("ring")));
+    }
+
+    @Test
+    @Story("SLA busca de jogos")
+    public void DeveBuscarJogosDentroDoBudgetDeLatencia() {
+
+        validator.validarLatencia(SEARCH_ENDPOINT, 200, () -> games.buscarJogos("ring"));
+    }
+
+    @Test
+    @Story("Revalidação condicional do catálogo")
+    public void DeveResponder304QuandoOCatalogoNaoMudou() {
+
+        Response response = games.listarTodosJogos(GAMES_ENDPOINT);
+        validator.validarStatusCode(response, 200);
+        String etag = response.header("ETag");
+        assertThat("ETag do catálogo", etag, notNullValue());
+
+        validator.validarNaoModificado(games.listarJogosSeModificado(GAMES_ENDPOINT, etag), etag);
+        validator.validarStatusCode(games.listarJogosSeModificado(GAMES_ENDPOINT, "\"outra-versao\""), 200);
+    }
+
+    @Test
+    @Story("Contrato de cada jogo do catálogo")
+    public void DeveValidarContratoDeCadaJogoDoCatalogo() {
+
+        Response response = games.listarJogosEmStreaming(GAMES_ENDPOINT);
+
+        // o contrato confere o status e fecha o stream
+        contract.validarCatalogoEmStreaming(response);
+    }
+
+    @Test
+    @Story("Contrato de cada jogo da RAWG")
+    public void DeveValidarContratoDeCadaJogoDaAPI() {
+
+        Response response = games.listarJogosEmStreaming(RAWG_ENDPOINT);
+
+        // o contrato confere o status e fecha o stream
+        contract.validarCatalogoRawgEmStreaming(response);
+    }
+
     @Test
     @Story("ListarJogosdaAPI")
     public void DeveExibirlistadeJogosdaAPI() {
@@ -3,10 +3,15 @@ import config.BaseTests;
 import static io.restassured.RestAssured.*;
 
 import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import datasets.Caso;
+import datasets.DatasetSource;
+import datasets.Lote;
 import payloads.AuthServices;
 import io.restassured.response.Response;
 import validators.ResponseValidator;
 import Contracts.LoginContract;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
 import org.junit.jupiter.api.Test;
@@ -27,63 +32,37 @@ public class LoginTest extends BaseTests {
     @Story("Login bem-sucedido")
     public void deveLogarComSucesso(){
 
-        Response response = auth.fazerLogin("qa_user@gamestore.com", "123456789");
+        Response response = auth.fazerLogin(QA_USER_EMAIL, QA_USER_PASSWORD);
         validator.validarStatusCode(response,200);
         contract.validarContratoLoginComSucesso(response);
-        token = auth.extrairToken(response);
+        assertThat(auth.extrairToken(response), not(emptyOrNullString()));
 
 
     }
-    @Tag("smoke")
-    @Test
-    @Story("Erro de credenciais")
-
-    public void deveRetornar401QuandoEmailNaoEstiverCadastrado(){
-
-        Response response = auth.fazerLogin("dev_incorreto@email.com", "123456");
-        validator.validarStatusCode(response,401);
-        contract.validarContratoLoginNegativo(response);
-    }
-    @Tag("smoke")
-    @Test
-    @Story("EmailSem@")
-
-    public void deveRetornar401QuandoEmailTiverFormatoInvalido(){
-
-        Response response = auth.fazerLogin("dev_incorretoemail.com", "123456");
-        validator.validarStatusCode(response,401);
-        contract.validarContratoLoginNegativo(response);
-    }
-    @Tag("smoke")
-    @Test
-    @Story("SenhaVazia")
-
-    public void deveRetornar401QuandoSenhaEstiverVazia(){
 
-        Response response = auth.fazerLogin("qa_user@gamestore.com", "");
-        validator.validarStatusCode(response,400);
-        contract.validarContratoLoginNegativo(response);
-    }
+    // Email não cadastrado, sem arroba e campos vazios: um caso por linha, com o contrato de erro
     @Tag("smoke")
-    @Test
-    @Story("EmailVazio")
-
-    public void deveRetornar400QuandoEmailEstiverVazio(){
-
-        Response response = auth.fazerLogin("", "123456");
-        validator.validarStatusCode(response,400);
-        contract.validarContratoLoginNegativo(response);
+    @ParameterizedTest(name = "{0}")
+    @Story("Permutações de credenciais (dataset)")
+    @DatasetSource("datasets/login.csv")
+    public void deveResponderLoginDoDataset(Caso caso){
+
+        Response response = auth.fazerLogin(caso.texto("email"), caso.texto("password"));
+        validator.validarCaso(response, caso);
+        if (caso.status() == 200) {
+            contract.validarContratoLoginComSucesso(response);
+        } else {
+            contract.validarContratoLoginNegativo(response);
+        }
     }
 
-    @Tag("smoke")
-    @Test
-    @Story("Erro de payload")
-    public void deveRetornar400QuandoBodyForVazio(){
-
-        Response response = auth.fazerLogin("", "");
-        validator.validarStatusCode(response,400);
-        contract.validarContratoLoginNegativo(response);
+    // Lotes de 200 linhas em paralelo: -Ddataset.login=<arquivo.jsonl> roda um dataset de 100k linhas sem carregá-lo
+    @ParameterizedTest(name = "{0}")
+    @Story("Limites e fuzz de login (dataset)")
+    @DatasetSource(value = "datasets/login-limites.jsonl", propriedade = "dataset.login", lote = 200)
+    public void deveResponderLoginDoDatasetDeLimites(Lote lote){
 
+        lote.executar(caso -> validator.validarCaso(auth.fazerLogin(caso.texto("email"), caso.texto("password")), caso));
     }
 
 
@@ -4,6 +4,8 @@ import io.restassured.response.Response;
 import Contracts.RefreshContract;
 import org.junit.jupiter.api.Test;
 import payloads.AuthServices;
+import payloads.UserPool;
+import performance.FanOut;
 import validators.ResponseValidator;
 import Factories.RefreshFactory;
 import Factories.Userfactory;
@@ -25,15 +27,26 @@ public class RefreshTest extends BaseTests {
     @Story("RefreshTokenBemSucedido")
     public void DeveRetornar200ComTokenValido() {
 
-        Response response = auth.fazerLogin("qa_user@gamestore.com", "123456789");
-        token = auth.extrairToken(response);
-
-        Response Refreshresponse = auth.RefreshToken(token);
+        Response Refreshresponse;
+        try (UserPool.Lease usuario = UserPool.padrao().emprestar()) {
+            Refreshresponse = auth.RefreshToken(usuario.token());
+        }
         validator.validarStatusCode(Refreshresponse,200);
 
         contract.validarContratoRefreshComSucesso(Refreshresponse);
     }
 
+    @Test
+    @Story("RefreshConcorrente")
+    public void DeveRenovarOMesmoTokenEmParalelo() {
+
+        FanOut.Resultado resultado;
+        try (UserPool.Lease usuario = UserPool.padrao().emprestar()) {
+            resultado = FanOut.disparar(10, () -> auth.RefreshToken(usuario.token()));
+        }
+        validator.validarTodosComStatus(resultado, 200);
+    }
+
     @Test
     @Story("TokenCorrompido")
     public void DeveRetornar401CasoTokenSejaCorrompido(){
@@ -8,8 +8,11 @@ import io.restassured.response.Response;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Order;
+import org.junit.jupiter.params.ParameterizedTest;
 
 import Factories.Userfactory;
+import datasets.Caso;
+import datasets.DatasetSource;
 import payloads.RegisterServices;
 import validators.ResponseValidator;
 
@@ -41,47 +44,17 @@ public class RegisterTest extends BaseTests {
  }
 
 
+    // Limites das validações do authController (email inválido, duplicado, campos em branco), um caso por linha do dataset
     @Tag("smoke")
-  @Test
-    @Story("RegistroEmailInvalido")
-  @Order(2)
-    public void deveExibirMensagemDeErroRegistroNegativo() {
-
-       String body = Userfactory.registroEmailInvalido();
-
-        Response response = register.RealizarRegistroNegativo(body);
-
-        validator.validarStatusCode(response, 400);
-
-  }
-
-  @Test
-    @Story("RegistroEmailDuplicado")
-  @Order(3)
-    public void deveExibirMensagemDeErroRegistroEmailDuplicado() {
-
-        String body = Userfactory.registroEmailDuplicado();
-
-        Response response = register.RealizarRegistroNegativo(body);
-
-        validator.validarStatusCode(response, 409);
-  }
-    @Tag("smoke")
-@Test
-    @Story("RegistroUsernameDuplicado")
-@Order(4)
-    public void DeveexibirMensagemDeErroRegistroSemBody() {
-
-        String body = Userfactory.registroSemBody();
-
-        Response response = register.RealizarRegistroNegativo(body);
-
-        validator.validarStatusCode(response, 400);
-
-
-
-}
+    @ParameterizedTest(name = "{0}")
+    @Story("Registro negativo (dataset)")
+    @Order(2)
+    @DatasetSource(value = "datasets/registro-negativo.jsonl", propriedade = "dataset.registro")
+    public void deveRejeitarRegistroDoDataset(Caso caso) {
 
+        Response response = register.RealizarRegistroNegativo(caso.body());
 
+        validator.validarCaso(response, caso);
+    }
 
     }
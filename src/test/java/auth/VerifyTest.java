@@ -1,9 +1,11 @@
 package auth;
 import config.BaseTests;
 import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import payloads.AuthServices;
+import payloads.UserPool;
 import validators.ResponseValidator;
 import Factories.TokenFactory;
 
@@ -19,11 +21,22 @@ public class VerifyTest  extends BaseTests {
     AuthServices auth = new AuthServices();
     ResponseValidator validator = new ResponseValidator();
 
+    UserPool.Lease usuario;
+    String token;
+
     @BeforeEach
     public void LoginAPI () {
-        Response response = auth.fazerLogin("qa_user@gamestore.com", "123456789");
-        token = auth.extrairToken(response);
+        usuario = UserPool.padrao().emprestar();
+        token = usuario.token();
+
+    }
 
+    @AfterEach
+    public void devolverUsuario() {
+        // null quando o @BeforeEach falhou (ex. pool sem usuário livre): não esconder o erro original
+        if (usuario != null) {
+            usuario.close();
+        }
     }
 
     @Test
@@ -1,9 +1,15 @@
 package checkout;
 import config.BaseTests;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
-import payloads.AuthServices;
+import org.junit.jupiter.params.ParameterizedTest;
+import datasets.Caso;
+import datasets.DatasetSource;
 import payloads.CheckoutServices;
+import payloads.UserPool;
+import performance.CheckoutConsistency;
+import performance.FanOut;
 import validators.ResponseValidator;
 import io.restassured.response.Response;
 import Contracts.CheckoutContract;
@@ -19,16 +25,27 @@ import io.qameta.allure.Story;
 
 public class CheckoutTests  extends BaseTests {
 
-    AuthServices auth = new AuthServices();
     ResponseValidator validator = new ResponseValidator();
     CheckoutServices checkout = new CheckoutServices();
     CheckoutContract contract = new CheckoutContract();
 
+    // Conta própria do pool por teste: pedidos não se acumulam numa conta só
+    UserPool.Lease usuario;
+    String token;
+
     @BeforeEach
     public void LoginAPI () {
-        Response response = auth.fazerLogin("qa_user@gamestore.com", "123456789");
-        token = auth.extrairToken(response);
+        usuario = UserPool.padrao().emprestar();
+        token = usuario.token();
+
+    }
 
+    @AfterEach
+    public void devolverUsuario() {
+        // null quando o @BeforeEach falhou (ex. pool sem usuário livre): não esconder o erro original
+        if (usuario != null) {
+            usuario.close();
+        }
     }
 
 
@@ -50,6 +67,42 @@ public class CheckoutTests  extends BaseTests {
 
     }
 
+    @Test
+    @Story("SLA checkout")
+    public void DeveComprarDentroDoBudgetDeLatencia() {
+
+        String body = CarrinhoPayload.criarCheckout(1,1,"pix");
+
+        validator.validarLatencia(CHECKOUT_ENDPOINT, 200, () -> checkout.realizarCheckout(token, body));
+    }
+
+    @Test
+    @Story("Checkouts concorrentes")
+    public void DeveProcessarCheckoutsConcorrentesDoMesmoJogo() {
+
+        byte[] body = CarrinhoPayload.carrinho().item(1, 1).formaPagamento("pix").bytes();
+
+        FanOut.Resultado resultado = FanOut.disparar(10, () -> checkout.realizarCheckout(token, body));
+
+        // o backend não controla estoque: todas as compras simultâneas devem passar
+        validator.validarTodosComStatus(resultado, 200);
+    }
+
+    @Test
+    @Story("Consistência dos pedidos sob concorrência")
+    public void DeveGravarTodosOsPedidosConfirmadosSobConcorrencia() {
+
+        // contas emprestadas do pool da suíte (sem cadastrar contas novas): a deste teste fica de fora pelo lease,
+        // e a conferência parte do último pedido de cada conta
+        CheckoutConsistency.Relatorio relatorio = new CheckoutConsistency(BASE_URL, UserPool.padrao())
+                .niveis(1, 4)
+                .checkoutsPorUsuario(5)
+                .executar();
+
+        relatorio.imprimir();
+        validator.validarConsistencia(relatorio);
+    }
+
     @Test
     @Story("Checkout sem body")
     public void DeveExibirMensagemDeErroAoRealizarCheckoutSemBody() {
@@ -65,6 +118,16 @@ public class CheckoutTests  extends BaseTests {
 
     }
 
+    @ParameterizedTest(name = "{0}")
+    @Story("Validações do checkout (dataset)")
+    @DatasetSource(value = "datasets/checkout.jsonl", propriedade = "dataset.checkout")
+    public void DeveResponderCheckoutDoDataset(Caso caso) {
+
+        Response checkoutresponse = checkout.realizarCheckout(token, caso.body());
+
+        validator.validarCaso(checkoutresponse, caso);
+    }
+
     @Test
     @Story("Checkout com id inexistente")
     public void DeveExibirMensagemDeErroaoRealizarCheckoutComIDInexistente() {
@@ -0,0 +1,125 @@
+package config;
+
+import filters.CaptureFilter;
+import filters.LatencyFilter;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import metrics.LatencyRegistry;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Cliente HTTP não bloqueante (java.net.http) para as variantes *Async dos services.
+// Milhares de requisições em voo usam poucas threads: a espera fica no seletor do HttpClient, não numa thread
+// parada por requisição. A resposta é convertida num Response do RestAssured, então ResponseValidator e os
+// Contracts valem igual. A latência vai para o LatencyRegistry com a mesma chave do LatencyFilter (e a troca
+// para a captura de tráfego, quando ligada);
+// o log por falha (CapturedLogFilter) é por thread e não se aplica aqui.
+// cancel() no future devolvido (ou num dependente) aborta a troca no HttpClient, como o AbortController do browser;
+// a requisição cancelada não entra no LatencyRegistry.
+public final class AsyncHttp {
+
+    // Threads que completam os futures (conversão da resposta e callbacks do chamador)
+    static final int THREADS = Integer.getInteger("http.async.threads", Math.max(2, Runtime.getRuntime().availableProcessors()));
+
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(THREADS,
+            Thread.ofPlatform().name("http-async-", 0).daemon().factory());
+
+    private static final HttpClient CLIENTE = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofMillis(ConnectionPool.TIMEOUT_CONEXAO))
+            .executor(EXECUTOR)
+            .build();
+
+    private final String baseUrl;
+
+    public AsyncHttp(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    // token null = sem header Authorization
+    public CompletableFuture<Response> get(String path, String token) {
+        return enviar(path, null, requisicao(path, token).GET());
+    }
+
+    // body null = POST sem corpo (ex. /auth/refresh)
+    public CompletableFuture<Response> post(String path, String token, byte[] body) {
+        HttpRequest.Builder builder = requisicao(path, token);
+        if (body == null) {
+            return enviar(path, null, builder.POST(HttpRequest.BodyPublishers.noBody()));
+        }
+        return enviar(path, body, builder
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body)));
+    }
+
+    private HttpRequest.Builder requisicao(String path, String token) {
+        // como o RestAssured: "rawg-games" e "/rawg-games" vão para o mesmo lugar
+        String caminho = path.startsWith("/") ? path : "/" + path;
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + caminho))
+                .timeout(Duration.ofMillis(ConnectionPool.TIMEOUT_LEITURA));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    // body só para a captura de tráfego (o publisher do builder já o carrega)
+    private static CompletableFuture<Response> enviar(String path, byte[] body, HttpRequest.Builder builder) {
+        String endpoint = LatencyFilter.endpoint(path);
+        HttpRequest requisicao = builder.build();
+        CaptureFilter captura = CaptureFilter.padrao();
+        long inicioCaptura = captura == null ? 0 : captura.agora();
+        long inicio = System.nanoTime();
+        return CLIENTE.sendAsync(requisicao, HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((r, erro) -> {
+                    if (cancelada(erro)) {
+                        return;
+                    }
+                    long duracao = System.nanoTime() - inicio;
+                    LatencyRegistry.registrar(endpoint, duracao);
+                    if (erro != null || r.statusCode() >= 500) {
+                        LatencyRegistry.registrarErro(endpoint);
+                    }
+                    if (captura != null) {
+                        Map<String, String> headers = new LinkedHashMap<>();
+                        requisicao.headers().map().forEach((nome, valores) -> headers.put(nome, valores.get(0)));
+                        captura.registrar(requisicao.method(), path, headers, body,
+                                erro == null ? r.statusCode() : -1, erro == null ? r.body() : null, inicioCaptura, duracao);
+                    }
+                })
+                .thenApply(AsyncHttp::paraResponse);
+    }
+
+    // O HttpClient completa os dependentes com CompletionException(CancellationException) antes de marcar o cancel
+    public static boolean cancelada(Throwable erro) {
+        Throwable causa = erro instanceof CompletionException && erro.getCause() != null ? erro.getCause() : erro;
+        return causa instanceof CancellationException;
+    }
+
+    static Response paraResponse(HttpResponse<byte[]> http) {
+        List<Header> headers = new ArrayList<>();
+        http.headers().map().forEach((nome, valores) -> valores.forEach(v -> headers.add(new Header(nome, v))));
+        ResponseBuilder builder = new ResponseBuilder()
+                .setStatusCode(http.statusCode())
+                .setStatusLine("HTTP/1.1 " + http.statusCode())
+                .setHeaders(new Headers(headers))
+                .setBody(http.body());
+        http.headers().firstValue("Content-Type").ifPresent(builder::setContentType);
+        return builder.build();
+    }
+}
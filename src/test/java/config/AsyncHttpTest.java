@@ -0,0 +1,115 @@
+package config;
+
+import Contracts.LoginContract;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import payloads.AuthServices;
+import payloads.GamesServices;
+import payloads.RegisterServices;
+import stub.LocalServer;
+import validators.ResponseValidator;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static stub.LocalServer.dormir;
+import static stub.LocalServer.responder;
+
+// Self-test das variantes assíncronas dos services contra um servidor local (não precisa do backend Node)
+public class AsyncHttpTest {
+
+    static LocalServer servidor;
+    static String baseUrl;
+    static final AtomicInteger emVoo = new AtomicInteger();
+    static final AtomicInteger picoEmVoo = new AtomicInteger();
+
+    ResponseValidator validator = new ResponseValidator();
+    LoginContract loginContract = new LoginContract();
+
+    @BeforeAll
+    public static void subirServidorLocal() {
+        servidor = LocalServer.com(Map.of(
+                // 300 ms por requisição: em série, 400 requisições levariam 2 minutos
+                "/api/games", ex -> {
+                    picoEmVoo.accumulateAndGet(emVoo.incrementAndGet(), Math::max);
+                    dormir(300);
+                    emVoo.decrementAndGet();
+                    responder(ex, 200, "[{\"id\":1,\"title\":\"Zelda\"}]");
+                },
+                "/api/rawg-games", ex -> responder(ex, 200, "{\"results\":[]}"),
+                "/api/auth/register", ex -> {
+                    String body = new String(ex.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+                    responder(ex, body.contains("\"email\"") ? 201 : 400, "{}");
+                },
+                "/api/auth/login", ex -> responder(ex, 200,
+                        "{\"success\":true,\"token\":\"abc\",\"user\":{\"id\":1,\"email\":\"qa@teste.com\"}}"),
+                "/api/auth/verify", ex -> {
+                    String auth = ex.getRequestHeaders().getFirst("Authorization");
+                    responder(ex, "Bearer abc".equals(auth) ? 200 : 401, "{}");
+                }));
+        baseUrl = servidor.baseUrl();
+    }
+
+    @AfterAll
+    public static void derrubarServidorLocal() {
+        servidor.close();
+    }
+
+    @Test
+    public void deveManterCentenasDeRequisicoesEmVooComPoucasThreads() throws Exception {
+        GamesServices games = new GamesServices(baseUrl);
+        int requisicoes = 400;
+
+        long inicio = System.nanoTime();
+        List<CompletableFuture<Response>> futuros = new ArrayList<>(requisicoes);
+        for (int i = 0; i < requisicoes; i++) {
+            futuros.add(games.listarTodosJogosAsync("/games"));
+        }
+        CompletableFuture.allOf(futuros.toArray(CompletableFuture[]::new)).get(60, TimeUnit.SECONDS);
+        long ms = (System.nanoTime() - inicio) / 1_000_000;
+
+        for (CompletableFuture<Response> futuro : futuros) {
+            validator.validarStatusCode(futuro.join(), 200);
+        }
+        assertThat(picoEmVoo.get(), greaterThan(50));
+        assertThat(ms, lessThan(30_000L));
+        assertThat(futuros.get(0).join().jsonPath().getString("[0].title"), equalTo("Zelda"));
+    }
+
+    @Test
+    public void deveAplicarContratosEValidadoresNasRespostasAssincronas() {
+        AuthServices auth = new AuthServices(baseUrl);
+
+        Response login = auth.fazerLoginAsync("qa@teste.com", "123456").join();
+        validator.validarStatusCode(login, 200);
+        loginContract.validarContratoLoginComSucesso(login);
+
+        validator.validarStatusCode(auth.VerificarTokenAsync(auth.extrairToken(login)).join(), 200);
+        validator.validarStatusCode(auth.VerificarTokenAsync("").join(), 401);
+    }
+
+    @Test
+    public void deveAceitarPathSemBarraComoOServicoSincrono() {
+        GamesServices games = new GamesServices(baseUrl);
+
+        validator.validarStatusCode(games.listarTodosJogosAsync("rawg-games").join(), 200);
+        validator.validarStatusCode(games.listarTodosJogos("rawg-games"), 200);
+    }
+
+    @Test
+    public void deveRegistrarPelasVariantesAssincronas() {
+        RegisterServices registro = new RegisterServices(baseUrl);
+
+        validator.validarStatusCode(registro.RealizarRegistroAsync("qa", "qa@teste.com", "123456", "QA").join(), 201);
+        validator.validarStatusCode(registro.RealizarRegistroNegativoAsync("{\"username\":\"qa\"}").join(), 400);
+    }
+}
@@ -1,11 +1,20 @@
 package config;
-import io.restassured.RestAssured;
-import org.junit.jupiter.api.BeforeAll;
+import filters.CaptureFilter;
+import filters.CapturedLogFilter;
+import filters.LatencyFilter;
+import filters.LogOnFailureExtension;
+import filters.PooledConnectionFilter;
+import io.restassured.filter.Filter;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.extension.ExtendWith;
+import stub.StubBackend;
 
 
+@ExtendWith(LogOnFailureExtension.class)
 public class BaseTests {
 
-    protected static final String BASE_URL = "http://localhost:3000/api";
+    protected static final String BASE_URL = baseUrlPadrao();
 
     protected static final String REGISTER_ENDPOINT = "/auth/register";
     protected static final String LOGIN_ENDPOINT = "/auth/login";
@@ -13,14 +22,89 @@ public class BaseTests {
 
     protected static final String GAMES_ENDPOINT = "/games";
     protected static final String GAMESPOPULAR_ENDPOINT = "/games/popular";
+    protected static final String SEARCH_ENDPOINT = "/games/search";
     protected static final String CHECKOUT_ENDPOINT = "/checkout";
+    protected static final String ORDERS_ENDPOINT = "/orders/user/";
     protected static final String REFRESH_ENDPOINT = "/auth/refresh";
     protected static final String RAWG_ENDPOINT = "rawg-games";
 
-    protected static String token;
+    protected static final String QA_USER_EMAIL = "qa_user@gamestore.com";
+    protected static final String QA_USER_PASSWORD = "123456789";
 
-    @BeforeAll
-    public static void setup() {
-        RestAssured.baseURI = BASE_URL;
+    // Backend alvo desta instância (services podem apontar para um servidor local, ex. self-tests de carga)
+    protected final String baseUrl;
+
+    // -DbaseUrl=http://host:porta aponta a suíte para outro backend; -Dstub=true para o StubBackend embutido
+    public static String baseUrlPadrao() {
+        String base = Boolean.getBoolean("stub")
+                ? StubBackend.padrao().baseUrl()
+                : System.getProperty("baseUrl", "http://localhost:3000");
+        return base + "/api";
+    }
+
+    protected BaseTests() {
+        this(BASE_URL);
+    }
+
+    protected BaseTests(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    private static final LatencyFilter LATENCIA = new LatencyFilter();
+    private static final CapturedLogFilter LOG = new CapturedLogFilter();
+    private static final CapturedLogFilter LOG_EM_STREAMING = new CapturedLogFilter(false);
+    private static final PooledConnectionFilter CONEXAO = new PooledConnectionFilter();
+
+    // Spec nova a cada chamada: nada de estado global do RestAssured entre testes paralelos.
+    // As conexões HTTP vêm do pool compartilhado (ConnectionPool), com keep-alive entre requisições.
+    // Com -Dcaptura.gravar, cada troca também vai para a captura de tráfego (CaptureFilter).
+    // Filtros de fora para dentro; a LATENCIA vai por último e mede só a troca com o backend, sem a espera
+    // por conexão, o log, a captura ou o cache.
+    protected RequestSpecification requestSpec() {
+        return requestSpec(null);
+    }
+
+    // Filtro do próprio service (ex. o CachingFilter do catálogo) entra por fora da captura e da latência:
+    // as duas veem a troca que foi ao backend (o 304 da revalidação), não a cópia devolvida pelo cache
+    protected RequestSpecification requestSpec(Filter doService) {
+        return especificacao(doService, CaptureFilter.padrao());
+    }
+
+    // Igual ao requestSpec, mas nunca gravado: o replay não pode virar captura de si mesmo.
+    // O filtro (ex. o cronômetro do TrafficReplayer) ocupa o lugar da captura e mede no mesmo ponto da gravação.
+    protected RequestSpecification requestSpecSemCaptura(Filter noLugarDaCaptura) {
+        return especificacao(null, noLugarDaCaptura);
+    }
+
+    private RequestSpecification especificacao(Filter doService, Filter captura) {
+        RequestSpecBuilder builder = builder()
+                .addFilter(CONEXAO)
+                .addFilter(LOG);
+        if (doService != null) {
+            builder.addFilter(doService);
+        }
+        if (captura != null) {
+            builder.addFilter(captura);
+        }
+        return builder.addFilter(LATENCIA).build();
+    }
+
+    // Sem ler o body e fora do limite por rota: quem chama consome (ou fecha) o stream para devolver a conexão
+    protected RequestSpecification requestSpecEmStreaming() {
+        return builder()
+                .addFilter(LOG_EM_STREAMING)
+                .addFilter(LATENCIA)
+                .build();
+    }
+
+    // Variante não bloqueante para os métodos *Async dos services
+    protected AsyncHttp async() {
+        return new AsyncHttp(baseUrl);
+    }
+
+    private RequestSpecBuilder builder() {
+        return new RequestSpecBuilder()
+                .setBaseUri(baseUrl)
+                .setConfig(ConnectionPool.config());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,150 @@
+package config;
+
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import metrics.LatencyRegistry;
+import org.apache.http.HeaderElement;
+import org.apache.http.HeaderElementIterator;
+import org.apache.http.HttpResponse;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.message.BasicHeaderElementIterator;
+import org.apache.http.params.CoreConnectionPNames;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HTTP;
+import org.apache.http.protocol.HttpContext;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Conexões HTTP compartilhadas por todos os services (o padrão do RestAssured abre uma conexão por requisição).
+// Limites e timeouts vêm de -D na linha de comando. RestAssured 5 ainda exige AbstractHttpClient, por isso o
+// PoolingClientConnectionManager legado do HttpClient 4.
+//
+// O limite por rota é aplicado antes de entrar no HttpClient (semáforo em adquirir()): a espera do pool legado
+// acontece dentro de synchronized e prende a carrier thread, o que trava o fan-out em virtual threads.
+// A espera por uma vaga é medida à parte (LatencyRegistry, chave ESPERA) para não parecer latência do backend.
+@SuppressWarnings("deprecation")
+public final class ConnectionPool {
+
+    // Conexões simultâneas por host:porta e no total
+    static final int MAX_POR_ROTA = Integer.getInteger("http.pool.maxPorRota", 50);
+    static final int MAX_TOTAL = Integer.getInteger("http.pool.maxTotal", 200);
+
+    // Tempo máximo que uma conexão ociosa fica no pool (ms); abaixo dos 5 s de keep-alive padrão do Node
+    static final long KEEP_ALIVE = Long.getLong("http.keepAlive", 4_000);
+
+    // Timeouts em ms: abrir a conexão, esperar bytes da resposta e esperar uma vaga no pool
+    static final int TIMEOUT_CONEXAO = Integer.getInteger("http.timeout.conexao", 5_000);
+    static final int TIMEOUT_LEITURA = Integer.getInteger("http.timeout.leitura", 30_000);
+    static final long TIMEOUT_POOL = Long.getLong("http.pool.espera", 10_000);
+
+    // Chave da espera por conexão no latency-summary.json
+    public static final String ESPERA = "[pool] espera por conexão";
+
+    private static final PoolingClientConnectionManager GERENCIADOR = new PoolingClientConnectionManager();
+
+    static {
+        // o gerenciador só segura o total; o limite por rota fica nos semáforos
+        GERENCIADOR.setMaxTotal(MAX_TOTAL);
+        GERENCIADOR.setDefaultMaxPerRoute(MAX_TOTAL);
+    }
+
+    private static final Map<String, Semaphore> ROTAS = new ConcurrentHashMap<>();
+    private static final LongAdder ESPERAS = new LongAdder();
+
+    private static final RestAssuredConfig CONFIG = RestAssuredConfig.config().httpClient(
+            HttpClientConfig.httpClientConfig()
+                    .setParam(CoreConnectionPNames.CONNECTION_TIMEOUT, TIMEOUT_CONEXAO)
+                    .setParam(CoreConnectionPNames.SO_TIMEOUT, TIMEOUT_LEITURA)
+                    .setParam("http.conn-manager.timeout", TIMEOUT_POOL)
+                    .httpClientFactory(ConnectionPool::novoCliente));
+
+    private ConnectionPool() {
+    }
+
+    public static RestAssuredConfig config() {
+        return CONFIG;
+    }
+
+    // Reserva uma vaga na rota (host:porta) da URL; devolva com liberar() depois de ler o body
+    public static Vaga adquirir(String url) {
+        Semaphore rota = ROTAS.computeIfAbsent(URI.create(url).getAuthority(), k -> new Semaphore(MAX_POR_ROTA, true));
+        if (rota.tryAcquire()) {
+            LatencyRegistry.registrar(ESPERA, 0);
+            return new Vaga(rota);
+        }
+        ESPERAS.increment();
+        long inicio = System.nanoTime();
+        try {
+            if (!rota.tryAcquire(TIMEOUT_POOL, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Nenhuma conexão livre para " + url + " após " + TIMEOUT_POOL
+                        + " ms (" + MAX_POR_ROTA + " por rota); aumente -Dhttp.pool.maxPorRota");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Espera por conexão interrompida", e);
+        } finally {
+            LatencyRegistry.registrar(ESPERA, System.nanoTime() - inicio);
+        }
+        return new Vaga(rota);
+    }
+
+    // Conexões em uso e ociosas neste instante
+    public static PoolStats estatisticas() {
+        return GERENCIADOR.getTotalStats();
+    }
+
+    // Requisições que encontraram a rota cheia e tiveram que esperar
+    public static long esperas() {
+        return ESPERAS.sum();
+    }
+
+    public static String resumo() {
+        PoolStats stats = estatisticas();
+        return "pool HTTP: " + stats.getLeased() + " em uso, " + stats.getAvailable() + " ociosas (máx "
+                + MAX_POR_ROTA + "/rota, " + MAX_TOTAL + " total), "
+                + esperas() + " requisições tiveram que esperar por conexão";
+    }
+
+    // O cliente em si é descartável; o gerenciador (e as conexões abertas) é compartilhado
+    private static DefaultHttpClient novoCliente() {
+        DefaultHttpClient cliente = new DefaultHttpClient(GERENCIADOR);
+        cliente.setKeepAliveStrategy(KEEP_ALIVE_LIMITADO);
+        return cliente;
+    }
+
+    // Respeita o "Keep-Alive: timeout=N" do servidor, limitado a KEEP_ALIVE
+    private static final ConnectionKeepAliveStrategy KEEP_ALIVE_LIMITADO = (HttpResponse response, HttpContext context) -> {
+        HeaderElementIterator it = new BasicHeaderElementIterator(response.headerIterator(HTTP.CONN_KEEP_ALIVE));
+        while (it.hasNext()) {
+            HeaderElement elemento = it.nextElement();
+            if ("timeout".equalsIgnoreCase(elemento.getName()) && elemento.getValue() != null) {
+                try {
+                    return Math.min(Long.parseLong(elemento.getValue()) * 1000, KEEP_ALIVE);
+                } catch (NumberFormatException e) {
+                    break;
+                }
+            }
+        }
+        return KEEP_ALIVE;
+    };
+
+    public static final class Vaga {
+
+        private final Semaphore rota;
+
+        private Vaga(Semaphore rota) {
+            this.rota = rota;
+        }
+
+        public void liberar() {
+            rota.release();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package config;
+
+import com.sun.net.httpserver.HttpExchange;
+import metrics.LatencyRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import payloads.GamesServices;
+import performance.FanOut;
+import stub.LocalServer;
+import validators.ResponseValidator;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static stub.LocalServer.dormir;
+
+// Self-test do pool de conexões contra um servidor local (não precisa do backend Node)
+public class ConnectionPoolTest {
+
+    static LocalServer servidor;
+    static String baseUrl;
+    static final Set<Integer> portasDosClientes = ConcurrentHashMap.newKeySet();
+
+    ResponseValidator validator = new ResponseValidator();
+
+    @BeforeAll
+    public static void subirServidorLocal() {
+        servidor = LocalServer.com(Map.of(
+                "/api/games", ex -> responder(ex, 0),
+                // lento o bastante para as 50 vagas ainda estarem ocupadas quando as últimas requisições do fan-out
+                // chegam, mesmo com a montagem das specs disputando uma CPU só
+                "/api/games/popular", ex -> responder(ex, 1_000)));
+        baseUrl = servidor.baseUrl();
+    }
+
+    @AfterAll
+    public static void derrubarServidorLocal() {
+        servidor.close();
+    }
+
+    private static void responder(HttpExchange ex, long atrasoMs) throws IOException {
+        portasDosClientes.add(ex.getRemoteAddress().getPort());
+        dormir(atrasoMs);
+        LocalServer.responder(ex, 200, "[{\"id\":1}]");
+    }
+
+    @Test
+    public void deveReaproveitarAConexaoEntreRequisicoesSequenciais() {
+        GamesServices games = new GamesServices(baseUrl);
+        games.listarTodosJogos("/games");
+        portasDosClientes.clear();
+
+        for (int i = 0; i < 30; i++) {
+            validator.validarStatusCode(games.listarTodosJogos("/games"), 200);
+        }
+
+        assertThat(portasDosClientes, hasSize(1));
+        assertThat(ConnectionPool.estatisticas().getLeased(), equalTo(0));
+    }
+
+    @Test
+    public void deveMedirEsperaQuandoARotaEstaCheia() {
+        GamesServices games = new GamesServices(baseUrl);
+        long esperasAntes = ConnectionPool.esperas();
+
+        FanOut.Resultado resultado = FanOut.disparar(ConnectionPool.MAX_POR_ROTA + 10,
+                () -> games.listarTodosJogos("/games/popular"));
+
+        validator.validarTodosComStatus(resultado, 200);
+        assertThat(ConnectionPool.esperas() - esperasAntes, greaterThan(0L));
+        assertThat(LatencyRegistry.acumulado().get(ConnectionPool.ESPERA).getMaxValue(), greaterThan(0L));
+        assertThat(ConnectionPool.estatisticas().getLeased(), equalTo(0));
+    }
+}
@@ -0,0 +1,59 @@
+package datasets;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+// Uma linha do dataset. Convenções dos campos:
+// - "caso": descrição curta, usada no nome do teste no relatório;
+// - "status": status HTTP esperado;
+// - "body": objeto JSON enviado como está, ou texto cru (permite JSON malformado nos datasets de fuzz).
+public record Caso(String origem, long linha, ObjectNode campos) {
+
+    public boolean tem(String campo) {
+        JsonNode no = campos.get(campo);
+        return no != null && !no.isNull();
+    }
+
+    // null quando o campo não existe
+    public String texto(String campo) {
+        return tem(campo) ? campos.get(campo).asText() : null;
+    }
+
+    public int inteiro(String campo) {
+        JsonNode no = obrigatorio(campo);
+        if (no.isIntegralNumber()) {
+            return no.intValue();
+        }
+        try {
+            return Integer.parseInt(no.asText().trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(this + ": campo " + campo + " não é inteiro: " + no.asText());
+        }
+    }
+
+    public boolean booleano(String campo) {
+        return tem(campo) && Boolean.parseBoolean(campos.get(campo).asText());
+    }
+
+    public int status() {
+        return inteiro("status");
+    }
+
+    public String body() {
+        JsonNode body = obrigatorio("body");
+        return body.isTextual() ? body.asText() : body.toString();
+    }
+
+    private JsonNode obrigatorio(String campo) {
+        if (!tem(campo)) {
+            throw new IllegalArgumentException(this + ": campo " + campo + " ausente");
+        }
+        return campos.get(campo);
+    }
+
+    @Override
+    public String toString() {
+        String nome = texto("caso");
+        return "linha " + linha + (nome == null ? "" : ": " + nome);
+    }
+}
@@ -0,0 +1,218 @@
+package datasets;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Lê casos de teste linha a linha de um JSONL (um objeto por linha) ou CSV (cabeçalho na primeira linha),
+// sem carregar o arquivo: o Stream devolvido puxa do disco conforme é consumido e fecha o arquivo no close().
+// Linhas em branco e começando com # são ignoradas. A origem é um arquivo em disco ou, se não existir,
+// um recurso do classpath (src/test/resources). -Ddataset.limite=N corta cada dataset nas N primeiras linhas.
+public final class Dataset {
+
+    static final ObjectMapper JSON = new ObjectMapper();
+
+    static final long LIMITE = Long.getLong("dataset.limite", Long.MAX_VALUE);
+
+    private Dataset() {
+    }
+
+    public static Stream<Caso> ler(String origem) {
+        BufferedReader leitor = abrir(origem);
+        Iterator<Caso> casos = origem.endsWith(".csv") ? new Csv(origem, leitor) : new Jsonl(origem, leitor);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(casos, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .limit(LIMITE)
+                .onClose(() -> fechar(leitor));
+    }
+
+    private static BufferedReader abrir(String origem) {
+        try {
+            Path arquivo = Path.of(origem);
+            InputStream in = Files.isRegularFile(arquivo)
+                    ? Files.newInputStream(arquivo)
+                    : Dataset.class.getClassLoader().getResourceAsStream(origem);
+            if (in == null) {
+                throw new IllegalArgumentException("dataset não encontrado (nem em disco nem no classpath): " + origem);
+            }
+            return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void fechar(BufferedReader leitor) {
+        try {
+            leitor.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Uma linha útil por vez; a subclasse transforma a linha em caso
+    private abstract static class Linhas implements Iterator<Caso> {
+
+        final String origem;
+        private final BufferedReader leitor;
+        private long numero;
+        private Caso proximo;
+
+        Linhas(String origem, BufferedReader leitor) {
+            this.origem = origem;
+            this.leitor = leitor;
+        }
+
+        // null pula a linha (ex.: cabeçalho do CSV)
+        abstract Caso converter(String linha, long numero);
+
+        // Linha crua seguinte (null no fim), contando o número da linha no arquivo
+        String linhaCrua() {
+            try {
+                String linha = leitor.readLine();
+                if (linha != null) {
+                    numero++;
+                }
+                return linha;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        long numero() {
+            return numero;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (proximo == null) {
+                String linha = linhaCrua();
+                if (linha == null) {
+                    return false;
+                }
+                if (!linha.isBlank() && !linha.stripLeading().startsWith("#")) {
+                    proximo = converter(linha, numero);
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Caso next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Caso caso = proximo;
+            proximo = null;
+            return caso;
+        }
+    }
+
+    private static final class Jsonl extends Linhas {
+
+        Jsonl(String origem, BufferedReader leitor) {
+            super(origem, leitor);
+        }
+
+        @Override
+        Caso converter(String linha, long numero) {
+            try {
+                JsonNode no = JSON.readTree(linha);
+                if (!no.isObject()) {
+                    throw new IllegalArgumentException(origem + ":" + numero + ": esperado um objeto JSON por linha");
+                }
+                return new Caso(origem, numero, (ObjectNode) no);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException(origem + ":" + numero + ": JSON inválido: " + e.getOriginalMessage(), e);
+            }
+        }
+    }
+
+    // CSV no formato RFC 4180: campos entre aspas podem ter vírgula, aspas dobradas e quebra de linha.
+    // Os valores entram no caso como texto; inteiro()/booleano() convertem na leitura.
+    private static final class Csv extends Linhas {
+
+        private List<String> cabecalho;
+
+        Csv(String origem, BufferedReader leitor) {
+            super(origem, leitor);
+        }
+
+        @Override
+        Caso converter(String linha, long numero) {
+            List<String> valores = campos(linha);
+            if (cabecalho == null) {
+                cabecalho = valores;
+                return null;
+            }
+            if (valores.size() != cabecalho.size()) {
+                throw new IllegalArgumentException(origem + ":" + numero + ": " + valores.size()
+                        + " colunas, o cabeçalho tem " + cabecalho.size());
+            }
+            ObjectNode campos = JSON.createObjectNode();
+            for (int i = 0; i < valores.size(); i++) {
+                campos.put(cabecalho.get(i), valores.get(i));
+            }
+            return new Caso(origem, numero, campos);
+        }
+
+        private List<String> campos(String linha) {
+            List<String> valores = new ArrayList<>();
+            StringBuilder atual = new StringBuilder();
+            boolean entreAspas = false;
+            int i = 0;
+            while (true) {
+                if (i == linha.length()) {
+                    if (!entreAspas) {
+                        break;
+                    }
+                    // quebra de linha dentro de aspas: o campo continua na próxima linha do arquivo
+                    String continuacao = linhaCrua();
+                    if (continuacao == null) {
+                        throw new IllegalArgumentException(origem + ":" + numero() + ": aspas sem fechar");
+                    }
+                    atual.append('\n');
+                    linha = continuacao;
+                    i = 0;
+                    continue;
+                }
+                char c = linha.charAt(i++);
+                if (entreAspas) {
+                    if (c == '"' && i < linha.length() && linha.charAt(i) == '"') {
+                        atual.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        entreAspas = false;
+                    } else {
+                        atual.append(c);
+                    }
+                } else if (c == '"') {
+                    entreAspas = true;
+                } else if (c == ',') {
+                    valores.add(atual.toString());
+                    atual.setLength(0);
+                } else {
+                    atual.append(c);
+                }
+            }
+            valores.add(atual.toString());
+            return valores;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package datasets;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.ArgumentsProvider;
+import org.junit.jupiter.params.support.AnnotationConsumer;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// O JUnit consome o Stream de argumentos uma invocação por vez e fecha no fim do teste,
+// então o dataset nunca fica inteiro em memória.
+class DatasetArgumentsProvider implements ArgumentsProvider, AnnotationConsumer<DatasetSource> {
+
+    private String origem;
+    private int lote;
+
+    @Override
+    public void accept(DatasetSource fonte) {
+        String sobrescrita = fonte.propriedade().isBlank() ? null : System.getProperty(fonte.propriedade());
+        this.origem = sobrescrita == null || sobrescrita.isBlank() ? fonte.value() : sobrescrita;
+        if (fonte.lote() < 1) {
+            throw new IllegalArgumentException("lote deve ser >= 1: " + fonte.lote());
+        }
+        this.lote = fonte.lote();
+    }
+
+    @Override
+    public Stream<? extends Arguments> provideArguments(ExtensionContext context) {
+        Stream<Caso> casos = Dataset.ler(origem);
+        if (lote == 1) {
+            return casos.map(Arguments::of);
+        }
+        return emLotes(casos, lote).map(Arguments::of);
+    }
+
+    static Stream<Lote> emLotes(Stream<Caso> casos, int tamanho) {
+        Iterator<Caso> fonte = casos.iterator();
+        Iterator<Lote> lotes = new Iterator<>() {
+            private int numero;
+
+            @Override
+            public boolean hasNext() {
+                return fonte.hasNext();
+            }
+
+            @Override
+            public Lote next() {
+                if (!fonte.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                List<Caso> bloco = new ArrayList<>(tamanho);
+                while (bloco.size() < tamanho && fonte.hasNext()) {
+                    bloco.add(fonte.next());
+                }
+                return new Lote(++numero, bloco);
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(lotes, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(casos::close);
+    }
+}
@@ -0,0 +1,30 @@
+package datasets;
+
+import org.junit.jupiter.params.provider.ArgumentsSource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Alimenta um @ParameterizedTest com as linhas de um dataset JSONL/CSV (ver Dataset), lidas sob demanda.
+//
+// lote = 1 (padrão): uma invocação por linha, parâmetro Caso; bom para datasets curados, cada caso
+// aparece no relatório. lote > 1: uma invocação por bloco de N linhas, parâmetro Lote, que roda os casos
+// em paralelo (dataset.paralelo); é o modo para os datasets grandes de limites e fuzz, com no máximo
+// um bloco em memória por invocação.
+//
+// propriedade: nome de uma system property que, se definida, troca a origem (ex.: -Ddataset.login=/tmp/login-100k.jsonl).
+@Target({ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@ArgumentsSource(DatasetArgumentsProvider.class)
+public @interface DatasetSource {
+
+    String value();
+
+    String propriedade() default "";
+
+    int lote() default 1;
+}
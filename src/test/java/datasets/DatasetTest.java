@@ -0,0 +1,119 @@
+package datasets;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Self-test dos datasets: leitura preguiçosa de JSONL/CSV e execução dos lotes em paralelo
+public class DatasetTest {
+
+    @TempDir
+    Path pasta;
+
+    @Test
+    public void deveLerCsvComAspasVirgulaEQuebraDeLinha() throws IOException {
+        Path csv = pasta.resolve("casos.csv");
+        Files.writeString(csv, """
+                caso,email,status
+                # comentário
+                simples,qa_user@gamestore.com,200
+
+                "com vírgula, entre aspas","a""b@x.com",401
+                multilinha,"linha 1
+                linha 2",400
+                """);
+
+        try (Stream<Caso> casos = Dataset.ler(csv.toString())) {
+            List<Caso> lidos = casos.toList();
+
+            assertThat(lidos, hasSize(3));
+            assertThat(lidos.get(0).linha(), equalTo(3L));
+            assertThat(lidos.get(1).texto("caso"), equalTo("com vírgula, entre aspas"));
+            assertThat(lidos.get(1).texto("email"), equalTo("a\"b@x.com"));
+            assertThat(lidos.get(1).status(), equalTo(401));
+            assertThat(lidos.get(2).texto("email"), equalTo("linha 1\nlinha 2"));
+            assertThat(lidos.get(2).toString(), equalTo("linha 6: multilinha"));
+        }
+    }
+
+    @Test
+    public void deveLerSobDemandaSemTocarNoRestoDoArquivo() throws IOException {
+        Path jsonl = pasta.resolve("quebrado.jsonl");
+        Files.writeString(jsonl, """
+                {"caso":"ok","status":200,"body":{"a":1}}
+                {"caso":"texto cru","status":400,"body":"{\\"a\\":"}
+                isto não é JSON
+                """);
+
+        try (Stream<Caso> casos = Dataset.ler(jsonl.toString())) {
+            List<Caso> dois = casos.limit(2).toList();
+            assertThat(dois.get(0).body(), equalTo("{\"a\":1}"));
+            assertThat(dois.get(1).body(), equalTo("{\"a\":"));
+        }
+        try (Stream<Caso> casos = Dataset.ler(jsonl.toString())) {
+            IllegalArgumentException erro = assertThrows(IllegalArgumentException.class, casos::toList);
+            assertThat(erro.getMessage(), containsString(":3: JSON inválido"));
+        }
+    }
+
+    @Test
+    public void deveRodar100MilLinhasEmLotesComParalelismoLimitado() throws IOException {
+        Path jsonl = pasta.resolve("grande.jsonl");
+        try (BufferedWriter out = Files.newBufferedWriter(jsonl, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < 100_000; i++) {
+                out.write("{\"caso\":\"c" + i + "\",\"n\":" + i + "}\n");
+            }
+        }
+        LongAdder soma = new LongAdder();
+        AtomicInteger emExecucao = new AtomicInteger();
+        AtomicInteger pico = new AtomicInteger();
+
+        try (Stream<Lote> lotes = DatasetArgumentsProvider.emLotes(Dataset.ler(jsonl.toString()), 5_000)) {
+            long quantidade = lotes.peek(lote -> lote.executar(4, caso -> {
+                pico.accumulateAndGet(emExecucao.incrementAndGet(), Math::max);
+                soma.add(caso.inteiro("n"));
+                Thread.yield();
+                emExecucao.decrementAndGet();
+            })).count();
+
+            assertThat(quantidade, equalTo(20L));
+        }
+        assertThat(soma.sum(), equalTo(99_999L * 100_000 / 2));
+        assertThat(pico.get(), allOf(greaterThanOrEqualTo(1), lessThanOrEqualTo(4)));
+    }
+
+    @Test
+    public void deveFalharOLoteUmaVezListandoAsLinhas() throws IOException {
+        Path jsonl = pasta.resolve("lote.jsonl");
+        StringBuilder linhas = new StringBuilder();
+        for (int i = 1; i <= 50; i++) {
+            linhas.append("{\"caso\":\"c").append(i).append("\",\"status\":").append(i % 20 == 0 ? 500 : 200).append("}\n");
+        }
+        Files.writeString(jsonl, linhas);
+
+        try (Stream<Lote> lotes = DatasetArgumentsProvider.emLotes(Dataset.ler(jsonl.toString()), 100)) {
+            Lote lote = lotes.findFirst().orElseThrow();
+            AssertionError erro = assertThrows(AssertionError.class, () -> lote.executar(caso -> {
+                if (caso.status() != 200) {
+                    throw new AssertionError("status " + caso.status());
+                }
+            }));
+
+            assertThat(erro.getMessage(), startsWith("2 de 50 casos falharam no lote 1 (linhas 1-50)"));
+            assertThat(erro.getMessage(), stringContainsInOrder("linha 20: c20: status 500", "linha 40: c40: status 500"));
+        }
+    }
+}
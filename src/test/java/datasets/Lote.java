@@ -0,0 +1,75 @@
+package datasets;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+// Bloco de casos de um @DatasetSource(lote = N). executar() roda a verificação de cada caso numa virtual thread,
+// no máximo dataset.paralelo (8) ao mesmo tempo, e falha uma vez só no fim listando as linhas que quebraram.
+public record Lote(int numero, List<Caso> casos) {
+
+    static final int PARALELO = Integer.getInteger("dataset.paralelo", 8);
+
+    // Mensagens listadas no AssertionError; as demais falhas só entram na contagem
+    static final int MAX_LISTADAS = 20;
+
+    public void executar(Consumer<Caso> verificacao) {
+        executar(PARALELO, verificacao);
+    }
+
+    public void executar(int paralelo, Consumer<Caso> verificacao) {
+        List<Falha> falhas = Collections.synchronizedList(new ArrayList<>());
+        Semaphore vagas = new Semaphore(paralelo);
+        try (ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("dataset-", 0).factory())) {
+            for (Caso caso : casos) {
+                vagas.acquire();
+                executor.execute(() -> {
+                    try {
+                        verificacao.accept(caso);
+                    } catch (Throwable e) {
+                        // o RestAssured (Groovy) relança IOException sem declarar: vira falha do caso também
+                        falhas.add(new Falha(caso, e));
+                    } finally {
+                        vagas.release();
+                    }
+                });
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("lote " + numero + " interrompido", e);
+        }
+        if (!falhas.isEmpty()) {
+            throw erro(falhas);
+        }
+    }
+
+    @Override
+    public String toString() {
+        if (casos.isEmpty()) {
+            return "lote " + numero + " (vazio)";
+        }
+        return "lote " + numero + " (linhas " + casos.get(0).linha() + "-" + casos.get(casos.size() - 1).linha() + ")";
+    }
+
+    private AssertionError erro(List<Falha> falhas) {
+        List<Falha> ordenadas = new ArrayList<>(falhas);
+        ordenadas.sort((a, b) -> Long.compare(a.caso().linha(), b.caso().linha()));
+        StringBuilder mensagem = new StringBuilder()
+                .append(ordenadas.size()).append(" de ").append(casos.size()).append(" casos falharam no ").append(this);
+        for (Falha falha : ordenadas.subList(0, Math.min(MAX_LISTADAS, ordenadas.size()))) {
+            mensagem.append("\n  ").append(falha.caso()).append(": ").append(falha.erro().getMessage());
+        }
+        if (ordenadas.size() > MAX_LISTADAS) {
+            mensagem.append("\n  ... e mais ").append(ordenadas.size() - MAX_LISTADAS);
+        }
+        return new AssertionError(mensagem.toString(), ordenadas.get(0).erro());
+    }
+
+    private record Falha(Caso caso, Throwable erro) {
+    }
+}
@@ -0,0 +1,59 @@
+package filters;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+// Escreve logs capturados fora da thread do teste: console + anexo no Allure.
+// O anexo é registrado e entregue ao writer na hora (prepareAttachment precisa do contexto da thread;
+// o disco já fica com o AsyncAllureWriter, e assim o anexo chega antes do resultado que o cita);
+// só a impressão vai para a fila.
+public final class AsyncLogWriter {
+
+    private static final BlockingQueue<Runnable> FILA = new ArrayBlockingQueue<>(Integer.getInteger("log.fila", 1024));
+
+    static {
+        Thread escritor = new Thread(AsyncLogWriter::consumir, "log-writer");
+        escritor.setDaemon(true);
+        escritor.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(AsyncLogWriter::esvaziar, "log-writer-flush"));
+    }
+
+    private AsyncLogWriter() {
+    }
+
+    public static void emitir(String titulo, String texto) {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String anexo = lifecycle.prepareAttachment(titulo, "text/plain", ".txt");
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        lifecycle.writeAttachment(anexo, new ByteArrayInputStream(bytes));
+        Runnable tarefa = () -> System.out.println("===== " + titulo + " =====\n" + texto);
+        // fila cheia: escreve na própria thread em vez de perder o log
+        if (!FILA.offer(tarefa)) {
+            tarefa.run();
+        }
+    }
+
+    private static void consumir() {
+        while (true) {
+            try {
+                FILA.take().run();
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                System.err.println("Falha ao escrever log capturado: " + e);
+            }
+        }
+    }
+
+    static void esvaziar() {
+        Runnable tarefa;
+        while ((tarefa = FILA.poll()) != null) {
+            tarefa.run();
+        }
+    }
+}
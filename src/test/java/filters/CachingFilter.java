@@ -0,0 +1,236 @@
+package filters;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+// Cache de respostas para GETs idempotentes do catálogo, com revalidação condicional.
+// Só guarda respostas 200 com ETag ou Last-Modified; na próxima chamada manda If-None-Match/If-Modified-Since e,
+// se o backend responder 304, devolve a cópia guardada como 200. LRU limitado pelo tamanho total dos bodies.
+//
+// No modo verificar, cada revalidação também confere o 304 do backend: sem body, mesmo ETag, e um 200 com o mesmo
+// validador ou o mesmo body (revalidação ignorada) vira AssertionError no teste.
+//
+// Opt-in: -Dcache.catalogo=true liga o cache compartilhado dos GamesServices; -Dcache.verificar304=true o modo verificar.
+public class CachingFilter implements Filter {
+
+    static final boolean ATIVO = Boolean.getBoolean("cache.catalogo");
+    static final boolean VERIFICAR_304 = Boolean.getBoolean("cache.verificar304");
+    // Soma dos bodies guardados (bytes)
+    static final long MAX_BYTES = Long.getLong("cache.maxBytes", 8L * 1024 * 1024);
+
+    // Custo fixo estimado por entrada (chave, headers, objetos) somado ao body no limite de tamanho
+    private static final int CUSTO_ENTRADA = 512;
+
+    private static final CachingFilter PADRAO = ATIVO ? new CachingFilter(MAX_BYTES, VERIFICAR_304) : null;
+
+    private final long maxBytes;
+    private final boolean verificar;
+    private final LinkedHashMap<String, Entrada> entradas = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytesEmCache;
+
+    private final LongAdder requisicoes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder naoCacheaveis = new LongAdder();
+    private final LongAdder bytesEconomizados = new LongAdder();
+    private final LongAdder remocoes = new LongAdder();
+
+    public CachingFilter(long maxBytes, boolean verificar) {
+        this.maxBytes = maxBytes;
+        this.verificar = verificar;
+    }
+
+    // Cache compartilhado da suíte; null quando -Dcache.catalogo não está ligado
+    public static CachingFilter padrao() {
+        return PADRAO;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (!"GET".equalsIgnoreCase(requestSpec.getMethod())) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        requisicoes.increment();
+        String chave = chave(requestSpec);
+        Entrada guardada = buscar(chave);
+        if (guardada != null) {
+            if (guardada.etag != null) {
+                requestSpec.header("If-None-Match", guardada.etag);
+            }
+            if (guardada.lastModified != null) {
+                requestSpec.header("If-Modified-Since", guardada.lastModified);
+            }
+        }
+
+        Response response = ctx.next(requestSpec, responseSpec);
+
+        if (guardada != null && response.statusCode() == 304) {
+            // a resposta devolvida é a cópia guardada: lê a do backend para liberar a conexão
+            byte[] corpo304 = response.asByteArray();
+            if (verificar) {
+                verificar304(requestSpec, guardada, response, corpo304);
+            }
+            hits.increment();
+            bytesEconomizados.add(guardada.body.length);
+            return guardada.paraResponse();
+        }
+        if (response.statusCode() != 200 || naoArmazenavel(response)) {
+            naoCacheaveis.increment();
+            return response;
+        }
+        byte[] body = response.asByteArray();
+        Entrada nova = new Entrada(response.header("ETag"), response.header("Last-Modified"), body,
+                response.getHeaders(), response.getContentType(), response.getStatusLine());
+        if (verificar && guardada != null) {
+            verificarRevalidacao(requestSpec, guardada, nova);
+        }
+        guardar(chave, nova);
+        return response;
+    }
+
+    public Estatisticas estatisticas() {
+        synchronized (entradas) {
+            return new Estatisticas(requisicoes.sum(), hits.sum(), naoCacheaveis.sum(), bytesEconomizados.sum(),
+                    remocoes.sum(), entradas.size(), bytesEmCache);
+        }
+    }
+
+    public String resumo() {
+        Estatisticas e = estatisticas();
+        return String.format(Locale.ROOT, "cache do catálogo: %d GETs, %d hits (%.1f%%), %d KiB economizados, "
+                        + "%d entradas (%d KiB), %d removidas por tamanho, %d não cacheáveis",
+                e.requisicoes(), e.hits(), e.taxaDeAcerto() * 100, e.bytesEconomizados() / 1024,
+                e.entradas(), e.bytesEmCache() / 1024, e.remocoes(), e.naoCacheaveis());
+    }
+
+    public void limpar() {
+        synchronized (entradas) {
+            entradas.clear();
+            bytesEmCache = 0;
+        }
+    }
+
+    private Entrada buscar(String chave) {
+        synchronized (entradas) {
+            return entradas.get(chave);
+        }
+    }
+
+    private void guardar(String chave, Entrada entrada) {
+        long tamanho = entrada.tamanho();
+        synchronized (entradas) {
+            Entrada anterior = entradas.remove(chave);
+            if (anterior != null) {
+                bytesEmCache -= anterior.tamanho();
+            }
+            if (tamanho > maxBytes) {
+                return; // maior que o cache inteiro: não vale despejar tudo por ela
+            }
+            // despeja as menos usadas até caber
+            Iterator<Entrada> it = entradas.values().iterator();
+            while (bytesEmCache + tamanho > maxBytes && it.hasNext()) {
+                bytesEmCache -= it.next().tamanho();
+                it.remove();
+                remocoes.increment();
+            }
+            entradas.put(chave, entrada);
+            bytesEmCache += tamanho;
+        }
+    }
+
+    // Token faz parte da chave: a mesma URL pode responder diferente por usuário
+    private static String chave(FilterableRequestSpecification requestSpec) {
+        String authorization = requestSpec.getHeaders().getValue("Authorization");
+        return authorization == null ? requestSpec.getURI() : requestSpec.getURI() + " " + authorization;
+    }
+
+    private static boolean naoArmazenavel(Response response) {
+        String cacheControl = response.header("Cache-Control");
+        if (cacheControl != null && cacheControl.toLowerCase(Locale.ROOT).contains("no-store")) {
+            return true;
+        }
+        return response.header("ETag") == null && response.header("Last-Modified") == null;
+    }
+
+    private static void verificar304(FilterableRequestSpecification requestSpec, Entrada guardada, Response response,
+                                     byte[] body) {
+        if (body.length > 0) {
+            throw new AssertionError("304 com body (" + body.length + " bytes) em " + requestSpec.getURI());
+        }
+        String etag = response.header("ETag");
+        if (etag != null && guardada.etag != null && !etag.equals(guardada.etag)) {
+            throw new AssertionError("304 com ETag " + etag + " diferente do revalidado (" + guardada.etag + ") em "
+                    + requestSpec.getURI());
+        }
+    }
+
+    private static void verificarRevalidacao(FilterableRequestSpecification requestSpec, Entrada guardada, Entrada nova) {
+        if (guardada.etag != null && guardada.etag.equals(nova.etag)) {
+            throw new AssertionError("200 com o mesmo ETag enviado em If-None-Match (" + nova.etag
+                    + "): backend ignorou a revalidação em " + requestSpec.getURI());
+        }
+        if (Arrays.equals(guardada.body, nova.body)) {
+            throw new AssertionError("200 com body idêntico ao revalidado (" + nova.body.length
+                    + " bytes): deveria ser 304 em " + requestSpec.getURI());
+        }
+    }
+
+    public record Estatisticas(long requisicoes, long hits, long naoCacheaveis, long bytesEconomizados,
+                               long remocoes, int entradas, long bytesEmCache) {
+
+        public double taxaDeAcerto() {
+            return requisicoes == 0 ? 0 : (double) hits / requisicoes;
+        }
+    }
+
+    private static final class Entrada {
+
+        final String etag;
+        final String lastModified;
+        final byte[] body;
+        final List<Header> headers;
+        final String contentType;
+        final String statusLine;
+
+        Entrada(String etag, String lastModified, byte[] body, Headers headers, String contentType, String statusLine) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.body = body;
+            this.headers = new ArrayList<>(headers.asList());
+            this.contentType = contentType;
+            this.statusLine = statusLine;
+        }
+
+        long tamanho() {
+            return body.length + CUSTO_ENTRADA;
+        }
+
+        // Cópia nova a cada hit: Response do RestAssured guarda estado de leitura
+        Response paraResponse() {
+            ResponseBuilder builder = new ResponseBuilder()
+                    .setStatusCode(200)
+                    .setStatusLine(statusLine)
+                    .setHeaders(new Headers(headers))
+                    .setBody(body);
+            if (contentType != null && !contentType.isEmpty()) {
+                builder.setContentType(contentType);
+            }
+            return builder.build();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package filters;
+
+import com.sun.net.httpserver.HttpExchange;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import payloads.GamesServices;
+import stub.LocalServer;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Self-test do cache condicional contra um servidor local (não precisa do backend Node)
+public class CachingFilterTest {
+
+    static LocalServer servidor;
+    static String baseUrl;
+    static final AtomicInteger versao = new AtomicInteger(1);
+    // respostas 200 completas por path
+    static final Map<String, AtomicInteger> completas = new ConcurrentHashMap<>();
+
+    @BeforeAll
+    public static void subirServidorLocal() {
+        servidor = LocalServer.com(Map.of(
+                // revalidação correta: 304 quando o If-None-Match bate com a versão atual
+                "/api/games", ex -> {
+                    String etag = "W/\"v" + versao.get() + "\"";
+                    if (etag.equals(ex.getRequestHeaders().getFirst("If-None-Match"))) {
+                        responder(ex, 304, etag, null);
+                    } else {
+                        responder(ex, 200, etag, "{\"versao\":" + versao.get() + ",\"jogos\":[\"a\",\"b\"]}");
+                    }
+                },
+                "/api/grande/", ex -> {
+                    String etag = "\"" + ex.getRequestURI().getPath() + "\"";
+                    if (etag.equals(ex.getRequestHeaders().getFirst("If-None-Match"))) {
+                        responder(ex, 304, etag, null);
+                    } else {
+                        responder(ex, 200, etag, "{\"dados\":\"" + "x".repeat(3000) + "\"}");
+                    }
+                },
+                "/api/sem-validador", ex -> responder(ex, 200, null, "{\"aleatorio\":true}"),
+                // ignora If-None-Match: sempre 200 com o mesmo ETag
+                "/api/ignora-revalidacao", ex -> responder(ex, 200, "\"fixo\"", "{\"ok\":true}")));
+        baseUrl = servidor.baseUrl();
+    }
+
+    @AfterAll
+    public static void derrubarServidorLocal() {
+        servidor.close();
+    }
+
+    private static void responder(HttpExchange ex, int status, String etag, String body) throws IOException {
+        if (etag != null) {
+            ex.getResponseHeaders().set("ETag", etag);
+        }
+        if (body != null) {
+            completas.computeIfAbsent(ex.getRequestURI().getPath(), k -> new AtomicInteger()).incrementAndGet();
+        }
+        LocalServer.responder(ex, status, body);
+    }
+
+    private static int completas(String path) {
+        return completas.getOrDefault(path, new AtomicInteger()).get();
+    }
+
+    @Test
+    public void deveServirDoCacheQuandoOBackendResponde304() {
+        CachingFilter cache = new CachingFilter(1024 * 1024, true);
+        GamesServices games = new GamesServices(baseUrl, cache);
+        int antes = completas("/api/games");
+
+        Response primeira = games.listarTodosJogos("/games");
+        Response segunda = games.listarTodosJogos("/games");
+        Response terceira = games.listarTodosJogos("/games");
+
+        assertThat(completas("/api/games") - antes, equalTo(1));
+        assertThat(segunda.statusCode(), equalTo(200));
+        assertThat(terceira.asString(), equalTo(primeira.asString()));
+        assertThat(terceira.jsonPath().getList("jogos"), contains("a", "b"));
+        CachingFilter.Estatisticas stats = cache.estatisticas();
+        assertThat(stats.hits(), equalTo(2L));
+        assertThat(stats.bytesEconomizados(), equalTo(2L * primeira.asByteArray().length));
+
+        // backend mudou: ETag novo, body novo
+        versao.incrementAndGet();
+        Response nova = games.listarTodosJogos("/games");
+        assertThat(nova.jsonPath().getInt("versao"), equalTo(versao.get()));
+        assertThat(completas("/api/games") - antes, equalTo(2));
+    }
+
+    @Test
+    public void deveDespejarAsMenosUsadasQuandoPassaDoTamanho() {
+        // cabem duas respostas de ~3 KiB
+        CachingFilter cache = new CachingFilter(8_000, false);
+        GamesServices games = new GamesServices(baseUrl, cache);
+
+        games.listarTodosJogos("/grande/1");
+        games.listarTodosJogos("/grande/2");
+        games.listarTodosJogos("/grande/1");
+        games.listarTodosJogos("/grande/3");
+
+        CachingFilter.Estatisticas stats = cache.estatisticas();
+        assertThat(stats.entradas(), equalTo(2));
+        assertThat(stats.remocoes(), equalTo(1L));
+        assertThat(stats.bytesEmCache(), lessThanOrEqualTo(8_000L));
+
+        // /grande/2 foi a menos usada: volta a ser buscada inteira, /grande/1 continua no cache
+        int antes = completas("/api/grande/2");
+        games.listarTodosJogos("/grande/2");
+        assertThat(completas("/api/grande/2") - antes, equalTo(1));
+        long hitsAntes = cache.estatisticas().hits();
+        games.listarTodosJogos("/grande/3");
+        assertThat(cache.estatisticas().hits() - hitsAntes, equalTo(1L));
+    }
+
+    @Test
+    public void naoDeveGuardarRespostaSemValidador() {
+        CachingFilter cache = new CachingFilter(1024 * 1024, true);
+        GamesServices games = new GamesServices(baseUrl, cache);
+
+        games.listarTodosJogos("/sem-validador");
+        games.listarTodosJogos("/sem-validador");
+
+        assertThat(cache.estatisticas().entradas(), equalTo(0));
+        assertThat(cache.estatisticas().naoCacheaveis(), equalTo(2L));
+    }
+
+    @Test
+    public void modoVerificarDeveFalharQuandoOBackendIgnoraARevalidacao() {
+        GamesServices games = new GamesServices(baseUrl, new CachingFilter(1024 * 1024, true));
+
+        games.listarTodosJogos("/ignora-revalidacao");
+        AssertionError erro = assertThrows(AssertionError.class, () -> games.listarTodosJogos("/ignora-revalidacao"));
+
+        assertThat(erro.getMessage(), containsString("ignorou a revalidação"));
+    }
+}
@@ -0,0 +1,228 @@
+package filters;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Formato binário da captura de tráfego (CaptureFilter grava, TrafficReplayer lê).
+//
+// Cabeçalho: magic "GSCP", versão (short), início da captura em epoch ms (long).
+// Cada troca: tamanho (int, bytes a seguir), início em ns desde o cabeçalho (long), duração em ns (long),
+// status (short, -1 = falha de conexão), método, path relativo à base com query, headers da requisição,
+// body da requisição e body da resposta. Strings são short + UTF-8; bodies, int + bytes.
+//
+// O arquivo é escrito por regiões mapeadas em memória; tamanho 0 marca o fim (resto de região não usada,
+// ou captura interrompida sem close()), então o que já foi gravado continua legível.
+public final class CaptureFile {
+
+    static final int MAGIC = 0x47534350;
+    static final short VERSAO = 1;
+    static final int CABECALHO = 4 + 2 + 8;
+
+    // Tamanho de cada região mapeada (bytes)
+    static final int REGIAO = Integer.getInteger("captura.regiao", 4 * 1024 * 1024);
+
+    private CaptureFile() {
+    }
+
+    public static Captura ler(Path arquivo) {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            if (buffer.remaining() < CABECALHO || buffer.getInt() != MAGIC) {
+                throw new IllegalArgumentException(arquivo + " não é uma captura de tráfego");
+            }
+            short versao = buffer.getShort();
+            if (versao != VERSAO) {
+                throw new IllegalArgumentException(arquivo + ": versão " + versao + " da captura não suportada");
+            }
+            long inicio = buffer.getLong();
+            List<Troca> trocas = new ArrayList<>();
+            while (buffer.remaining() >= 4) {
+                int tamanho = buffer.getInt();
+                if (tamanho <= 0 || tamanho > buffer.remaining()) {
+                    break;
+                }
+                trocas.add(lerTroca(buffer.slice(buffer.position(), tamanho)));
+                buffer.position(buffer.position() + tamanho);
+            }
+            return new Captura(inicio, trocas);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Troca lerTroca(ByteBuffer b) {
+        try {
+            long inicio = b.getLong();
+            long duracao = b.getLong();
+            int status = b.getShort();
+            String metodo = texto(b);
+            String path = texto(b);
+            int quantidade = b.getShort();
+            Map<String, String> headers = new LinkedHashMap<>();
+            for (int i = 0; i < quantidade; i++) {
+                headers.put(texto(b), texto(b));
+            }
+            return new Troca(inicio, duracao, status, metodo, path, headers, bytes(b), bytes(b));
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("troca corrompida na captura", e);
+        }
+    }
+
+    static byte[] serializar(Troca t) {
+        List<byte[]> textos = new ArrayList<>();
+        textos.add(t.metodo().getBytes(StandardCharsets.UTF_8));
+        textos.add(t.path().getBytes(StandardCharsets.UTF_8));
+        t.headers().forEach((nome, valor) -> {
+            textos.add(nome.getBytes(StandardCharsets.UTF_8));
+            textos.add(valor.getBytes(StandardCharsets.UTF_8));
+        });
+        int tamanho = 8 + 8 + 2 + 2 + 4 + t.body().length + 4 + t.resposta().length;
+        for (byte[] texto : textos) {
+            if (texto.length > Short.MAX_VALUE) {
+                throw new IllegalArgumentException("texto grande demais para a captura: " + texto.length + " bytes");
+            }
+            tamanho += 2 + texto.length;
+        }
+        ByteBuffer b = ByteBuffer.allocate(4 + tamanho)
+                .putInt(tamanho)
+                .putLong(t.inicioNanos())
+                .putLong(t.duracaoNanos())
+                .putShort((short) t.status());
+        escrever(b, textos.get(0));
+        escrever(b, textos.get(1));
+        b.putShort((short) t.headers().size());
+        for (int i = 2; i < textos.size(); i++) {
+            escrever(b, textos.get(i));
+        }
+        b.putInt(t.body().length).put(t.body());
+        b.putInt(t.resposta().length).put(t.resposta());
+        return b.array();
+    }
+
+    private static void escrever(ByteBuffer b, byte[] texto) {
+        b.putShort((short) texto.length).put(texto);
+    }
+
+    private static String texto(ByteBuffer b) {
+        byte[] bytes = new byte[b.getShort()];
+        b.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] bytes(ByteBuffer b) {
+        byte[] bytes = new byte[b.getInt()];
+        b.get(bytes);
+        return bytes;
+    }
+
+    public record Captura(long inicioEpochMs, List<Troca> trocas) {
+
+        // Do início da primeira troca ao fim da última (ns)
+        public long duracaoNanos() {
+            long fim = 0;
+            for (Troca t : trocas) {
+                fim = Math.max(fim, t.inicioNanos() + t.duracaoNanos());
+            }
+            return trocas.isEmpty() ? 0 : fim - trocas.get(0).inicioNanos();
+        }
+    }
+
+    public record Troca(long inicioNanos, long duracaoNanos, int status, String metodo, String path,
+                        Map<String, String> headers, byte[] body, byte[] resposta) {
+    }
+
+    // Escrita sequencial no arquivo mapeado; cada troca entra inteira sob o lock
+    static final class Gravador implements AutoCloseable {
+
+        private final Path arquivo;
+        private final FileChannel canal;
+        private final long inicioNanos = System.nanoTime();
+        private MappedByteBuffer regiao;
+        private long inicioRegiao;
+        private long trocas;
+        private boolean fechado;
+
+        Gravador(Path arquivo) {
+            this.arquivo = arquivo;
+            try {
+                if (arquivo.getParent() != null) {
+                    Files.createDirectories(arquivo.getParent());
+                }
+                canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                mapear(0, REGIAO);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            regiao.putInt(MAGIC).putShort(VERSAO).putLong(System.currentTimeMillis());
+        }
+
+        long agora() {
+            return System.nanoTime() - inicioNanos;
+        }
+
+        synchronized void gravar(Troca troca) {
+            if (fechado) {
+                return;
+            }
+            byte[] registro = serializar(troca);
+            // deixa 4 bytes zerados depois do registro: o leitor para neles
+            if (regiao.remaining() < registro.length + 4) {
+                try {
+                    mapear(inicioRegiao + regiao.position(), Math.max(REGIAO, registro.length + 4));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            regiao.put(registro);
+            trocas++;
+        }
+
+        synchronized long trocas() {
+            return trocas;
+        }
+
+        synchronized long bytes() {
+            return inicioRegiao + regiao.position();
+        }
+
+        Path arquivo() {
+            return arquivo;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (fechado) {
+                return;
+            }
+            fechado = true;
+            try {
+                regiao.force();
+                canal.truncate(inicioRegiao + regiao.position());
+                canal.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void mapear(long posicao, long tamanho) throws IOException {
+            if (regiao != null) {
+                regiao.force();
+            }
+            regiao = canal.map(FileChannel.MapMode.READ_WRITE, posicao, tamanho);
+            inicioRegiao = posicao;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package filters;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Grava cada troca feita pelos services (requisição, resposta, início e duração) num CaptureFile,
+// para depois repetir a mesma carga com o TrafficReplayer contra outro backend.
+// Fica por dentro do CachingFilter (ver BaseTests): um hit revalidado é gravado como o 304 que veio do backend.
+//
+// Opt-in: -Dcaptura.gravar=target/capturas/funcional.bin liga a captura compartilhada da suíte
+// (fechada pelo LatencySummaryListener no fim da execução).
+public class CaptureFilter implements Filter {
+
+    static final String ARQUIVO = System.getProperty("captura.gravar");
+
+    private static final CaptureFilter PADRAO = ARQUIVO == null || ARQUIVO.isBlank() ? null : new CaptureFilter(Path.of(ARQUIVO));
+
+    private final CaptureFile.Gravador gravador;
+
+    public CaptureFilter(Path arquivo) {
+        this.gravador = new CaptureFile.Gravador(arquivo);
+    }
+
+    // Captura compartilhada da suíte; null quando -Dcaptura.gravar não está ligado
+    public static CaptureFilter padrao() {
+        return PADRAO;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (Header h : requestSpec.getHeaders()) {
+            headers.put(h.getName(), h.getValue());
+        }
+        String contentType = requestSpec.getContentType();
+        if (contentType != null && !headers.containsKey("Content-Type")) {
+            headers.put("Content-Type", contentType);
+        }
+        String path = path(requestSpec.getUserDefinedPath(), requestSpec.getURI());
+        byte[] body = body(requestSpec.getBody());
+        long inicio = gravador.agora();
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            registrar(requestSpec.getMethod(), path, headers, body, response.statusCode(), response.asByteArray(),
+                    inicio, gravador.agora() - inicio);
+            return response;
+        } catch (RuntimeException | Error e) {
+            registrar(requestSpec.getMethod(), path, headers, body, -1, new byte[0], inicio, gravador.agora() - inicio);
+            throw e;
+        }
+    }
+
+    // Também usado pelo AsyncHttp; início em ns no relógio da captura (agora())
+    public void registrar(String metodo, String path, Map<String, String> headers, byte[] body,
+                          int status, byte[] resposta, long inicio, long duracao) {
+        gravador.gravar(new CaptureFile.Troca(inicio, duracao, status, metodo.toUpperCase(Locale.ROOT),
+                path.startsWith("/") ? path : "/" + path, headers, body == null ? new byte[0] : body,
+                resposta == null ? new byte[0] : resposta));
+    }
+
+    public long agora() {
+        return gravador.agora();
+    }
+
+    public String resumo() {
+        return String.format(Locale.ROOT, "captura de tráfego: %d trocas, %d KiB em %s",
+                gravador.trocas(), gravador.bytes() / 1024, gravador.arquivo());
+    }
+
+    public void fechar() {
+        gravador.close();
+    }
+
+    // Path relativo à base (como os services chamam) mais a query da URI final
+    private static String path(String definido, String uri) {
+        String query = URI.create(uri).getRawQuery();
+        String semQuery = definido.contains("?") ? definido.substring(0, definido.indexOf('?')) : definido;
+        return query == null ? semQuery : semQuery + "?" + query;
+    }
+
+    private static byte[] body(Object body) {
+        if (body == null) {
+            return new byte[0];
+        }
+        if (body instanceof byte[] bytes) {
+            return bytes;
+        }
+        return body.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
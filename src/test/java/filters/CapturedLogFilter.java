@@ -0,0 +1,129 @@
+package filters;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+// Guarda as últimas requisições/respostas da thread atual em vez de imprimir tudo com log().all().
+// O LogOnFailureExtension só emite o que foi capturado quando o teste falha.
+// Cada troca vira um snapshot em texto já truncado em log.corpo.max: o deque por thread vive enquanto a thread
+// vive (carga, soak, replay não drenam), então não pode segurar o Response nem bodies inteiros.
+// Com -Dlog.modo=nunca nada é capturado.
+public class CapturedLogFilter implements Filter {
+
+    static final int MAX_TROCAS = Integer.getInteger("log.trocas.max", 20);
+    static final int MAX_CORPO = Integer.getInteger("log.corpo.max", 4096);
+    static final boolean DESLIGADO = LogOnFailureExtension.MODO.equals("nunca");
+
+    private static final ThreadLocal<Deque<Troca>> TROCAS = ThreadLocal.withInitial(ArrayDeque::new);
+
+    // false = respostas em streaming: o body fica para quem chamou e não entra no snapshot
+    private final boolean lerCorpo;
+
+    public CapturedLogFilter() {
+        this(true);
+    }
+
+    public CapturedLogFilter(boolean lerCorpo) {
+        this.lerCorpo = lerCorpo;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (DESLIGADO) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        long inicio = System.nanoTime();
+        Response response = null;
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+            return response;
+        } finally {
+            Deque<Troca> trocas = TROCAS.get();
+            if (trocas.size() == MAX_TROCAS) {
+                trocas.removeFirst();
+            }
+            trocas.addLast(new Troca(requestSpec.getMethod(), requestSpec.getURI(),
+                    requestSpec.getHeaders().toString(), corpoDaRequisicao(requestSpec.getBody()),
+                    response == null ? null : response.getStatusLine(),
+                    response == null ? null : response.getHeaders().toString(),
+                    response == null ? null : corpoDaResposta(response), (System.nanoTime() - inicio) / 1_000_000));
+        }
+    }
+
+    private static String corpoDaRequisicao(Object body) {
+        if (body instanceof byte[] bytes) {
+            return truncar(bytes);
+        }
+        return body == null ? null : truncar(String.valueOf(body));
+    }
+
+    private String corpoDaResposta(Response response) {
+        if (!lerCorpo) {
+            return "<streaming: body não capturado>";
+        }
+        try {
+            return truncar(response.asByteArray());
+        } catch (RuntimeException e) {
+            return "<body indisponível: " + e.getMessage() + ">";
+        }
+    }
+
+    static String truncar(byte[] bytes) {
+        if (bytes.length <= MAX_CORPO) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        return new String(bytes, 0, MAX_CORPO, StandardCharsets.UTF_8) + "... [+" + (bytes.length - MAX_CORPO) + " bytes]";
+    }
+
+    static String truncar(String texto) {
+        if (texto.length() <= MAX_CORPO) {
+            return texto;
+        }
+        return texto.substring(0, MAX_CORPO) + "... [+" + (texto.length() - MAX_CORPO) + " chars]";
+    }
+
+    // Devolve e limpa o que a thread atual capturou
+    public static List<Troca> drenar() {
+        Deque<Troca> trocas = TROCAS.get();
+        List<Troca> copia = new ArrayList<>(trocas);
+        trocas.clear();
+        return copia;
+    }
+
+    public static void limpar() {
+        TROCAS.get().clear();
+    }
+
+    // status null = sem resposta (falha de conexão, timeout)
+    public record Troca(String metodo, String uri, String headers, String body, String status,
+                        String headersDaResposta, String corpo, long ms) {
+
+        public String formatar() {
+            StringBuilder sb = new StringBuilder()
+                    .append(">>> ").append(metodo).append(' ').append(uri).append('\n');
+            if (!headers.isEmpty()) {
+                sb.append(headers).append('\n');
+            }
+            if (body != null) {
+                sb.append(body).append('\n');
+            }
+            if (status == null) {
+                return sb.append("<<< sem resposta (").append(ms).append(" ms)\n").toString();
+            }
+            return sb.append("<<< ").append(status).append(" (").append(ms).append(" ms)\n")
+                    .append(headersDaResposta).append('\n')
+                    .append(corpo).append('\n').toString();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package filters;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import metrics.LatencyRegistry;
+
+import java.util.regex.Pattern;
+
+// Mede cada requisição feita pelos services e grava no LatencyRegistry.
+// A chave é o path relativo à base (/games/popular), com ids numéricos normalizados (/games/:id/details).
+public class LatencyFilter implements Filter {
+
+    private static final Pattern SEGMENTO_NUMERICO = Pattern.compile("/\\d+(?=/|$)");
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        long inicio = System.nanoTime();
+        boolean erro = true;
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            erro = response.statusCode() >= 500;
+            return response;
+        } finally {
+            String endpoint = endpoint(requestSpec.getUserDefinedPath());
+            LatencyRegistry.registrar(endpoint, System.nanoTime() - inicio);
+            if (erro) {
+                LatencyRegistry.registrarErro(endpoint);
+            }
+        }
+    }
+
+    public static String endpoint(String path) {
+        String semQuery = path;
+        int q = semQuery.indexOf('?');
+        if (q >= 0) {
+            semQuery = semQuery.substring(0, q);
+        }
+        if (!semQuery.startsWith("/")) {
+            semQuery = "/" + semQuery;
+        }
+        return SEGMENTO_NUMERICO.matcher(semQuery).replaceAll("/:id");
+    }
+}
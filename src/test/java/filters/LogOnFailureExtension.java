@@ -0,0 +1,33 @@
+package filters;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.util.List;
+
+// Emite as requisições capturadas pelo CapturedLogFilter só quando o teste falha.
+// -Dlog.modo=sempre emite em todo teste; -Dlog.modo=nunca desliga.
+public class LogOnFailureExtension implements BeforeEachCallback, AfterTestExecutionCallback {
+
+    static final String MODO = System.getProperty("log.modo", "falha");
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        CapturedLogFilter.limpar();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        List<CapturedLogFilter.Troca> trocas = CapturedLogFilter.drenar();
+        boolean falhou = context.getExecutionException().isPresent();
+        if (trocas.isEmpty() || MODO.equals("nunca") || (!falhou && !MODO.equals("sempre"))) {
+            return;
+        }
+        StringBuilder texto = new StringBuilder();
+        for (CapturedLogFilter.Troca troca : trocas) {
+            texto.append(troca.formatar()).append('\n');
+        }
+        AsyncLogWriter.emitir("HTTP - " + context.getDisplayName(), texto.toString());
+    }
+}
@@ -0,0 +1,28 @@
+package filters;
+
+import config.ConnectionPool;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+// Reserva uma vaga no pool de conexões e lê o body até o fim para devolver a conexão (ConnectionPool).
+// Sem a leitura, testes que só olham o status code seguram a conexão até o GC e esgotam o pool.
+// Fica por fora do LatencyFilter: a espera pela vaga não entra na latência do endpoint.
+public class PooledConnectionFilter implements Filter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        ConnectionPool.Vaga vaga = ConnectionPool.adquirir(requestSpec.getBaseUri());
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            response.asByteArray();
+            return response;
+        } finally {
+            vaga.liberar();
+        }
+    }
+}
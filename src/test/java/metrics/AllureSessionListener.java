@@ -0,0 +1,42 @@
+package metrics;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import org.junit.platform.launcher.LauncherSession;
+import org.junit.platform.launcher.LauncherSessionListener;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Troca o lifecycle do Allure por um com o AsyncAllureWriter antes de o AllureJunitPlatform ser criado
+// (ele guarda Allure.getLifecycle() no construtor; o JUnit instancia os LauncherSessionListener antes
+// dos TestExecutionListener). Registrado via META-INF/services; -Dallure.async=false volta ao writer síncrono.
+public class AllureSessionListener implements LauncherSessionListener {
+
+    static final boolean ASYNC = Boolean.parseBoolean(System.getProperty("allure.async", "true"));
+
+    private static final AsyncAllureWriter WRITER = ASYNC ? instalar() : null;
+
+    private static AsyncAllureWriter instalar() {
+        AsyncAllureWriter writer = new AsyncAllureWriter(
+                Path.of(System.getProperty("allure.results.directory", "allure-results")));
+        Allure.setLifecycle(new AllureLifecycle(writer));
+        return writer;
+    }
+
+    // null com -Dallure.async=false
+    public static AsyncAllureWriter writer() {
+        return WRITER;
+    }
+
+    @Override
+    public void launcherSessionClosed(LauncherSession session) {
+        if (WRITER == null) {
+            return;
+        }
+        if (!WRITER.descarregar(30, TimeUnit.SECONDS)) {
+            System.err.println("allure: fila não esvaziou em 30 s, o shutdown hook termina a escrita");
+        }
+        System.out.println(WRITER.resumo());
+    }
+}
@@ -0,0 +1,275 @@
+package metrics;
+
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.FileSystemResultsWriter;
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.FixtureResult;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Writer do Allure fora da thread do teste: resultados, containers e anexos vão para uma fila limitada
+// e uma thread daemon escreve em lotes no FileSystemResultsWriter. Fila cheia bloqueia quem escreve
+// (a ordem anexo -> resultado precisa ser mantida), e um shutdown hook esvazia o que sobrou.
+//
+// Para o relatório não crescer junto com a suíte:
+// - anexos a partir de allure.dedupBytes (4 KiB) com o mesmo conteúdo (SHA-256) viram um arquivo só,
+//   e os resultados passam a apontar para ele;
+// - containers sem before/after (o allure-junit-platform cria um por teste) não são gravados;
+//   -Dallure.containersVazios=true volta a gravá-los.
+public final class AsyncAllureWriter implements AllureResultsWriter, AutoCloseable {
+
+    static final int FILA = Integer.getInteger("allure.fila", 4096);
+    static final int LOTE = Integer.getInteger("allure.lote", 256);
+    static final int DEDUP_BYTES = Integer.getInteger("allure.dedupBytes", 4096);
+    static final boolean CONTAINERS_VAZIOS = Boolean.getBoolean("allure.containersVazios");
+
+    private final AllureResultsWriter destino;
+    private final BlockingQueue<Runnable> fila;
+    private final Thread escritor;
+
+    // Guardados pelo lock de executar (normalmente só a thread do escritor passa por lá)
+    private final Map<String, String> fontePorHash = new HashMap<>();
+    private final Map<String, String> canonica = new HashMap<>();
+    private final Set<String> referenciadas = new HashSet<>();
+
+    private final AtomicLong resultados = new AtomicLong();
+    private final AtomicLong anexos = new AtomicLong();
+    private final AtomicLong duplicados = new AtomicLong();
+    private final AtomicLong bytesEconomizados = new AtomicLong();
+    private final AtomicLong containersOmitidos = new AtomicLong();
+    private final AtomicLong esperas = new AtomicLong();
+    private final AtomicLong erros = new AtomicLong();
+    private volatile boolean fechado;
+
+    public AsyncAllureWriter(Path pasta) {
+        this(new FileSystemResultsWriter(pasta), FILA);
+    }
+
+    AsyncAllureWriter(AllureResultsWriter destino, int capacidade) {
+        this.destino = destino;
+        this.fila = new ArrayBlockingQueue<>(capacidade);
+        this.escritor = new Thread(this::consumir, "allure-writer");
+        escritor.setDaemon(true);
+        escritor.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "allure-writer-flush"));
+    }
+
+    @Override
+    public void write(TestResult resultado) {
+        enfileirar(() -> {
+            redirecionar(resultado.getAttachments());
+            redirecionarPassos(resultado.getSteps());
+            destino.write(resultado);
+            resultados.incrementAndGet();
+        });
+    }
+
+    @Override
+    public void write(TestResultContainer container) {
+        if (!CONTAINERS_VAZIOS && vazio(container.getBefores()) && vazio(container.getAfters())) {
+            containersOmitidos.incrementAndGet();
+            return;
+        }
+        enfileirar(() -> {
+            redirecionarFixtures(container.getBefores());
+            redirecionarFixtures(container.getAfters());
+            destino.write(container);
+        });
+    }
+
+    // O stream é de quem chamou: lê os bytes aqui (cópia em memória), o hash e o disco ficam na fila
+    @Override
+    public void write(String fonte, InputStream conteudo) {
+        byte[] bytes;
+        try (InputStream in = conteudo) {
+            bytes = in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        enfileirar(() -> gravarAnexo(fonte, bytes));
+    }
+
+    // Espera a fila esvaziar (até o timeout); false se o escritor não deu conta
+    public boolean descarregar(long timeout, TimeUnit unidade) {
+        if (!escritor.isAlive()) {
+            esvaziarNaThread();
+            return true;
+        }
+        CountDownLatch marcador = new CountDownLatch(1);
+        enfileirar(marcador::countDown);
+        try {
+            return marcador.await(timeout, unidade);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (fechado) {
+            return;
+        }
+        descarregar(30, TimeUnit.SECONDS);
+        fechado = true;
+        escritor.interrupt();
+    }
+
+    public String resumo() {
+        return String.format(Locale.ROOT,
+                "allure: %d resultados, %d anexos (%d duplicados, %d KiB economizados), %d containers vazios omitidos, %d esperas na fila, %d erros",
+                resultados.get(), anexos.get(), duplicados.get(), bytesEconomizados.get() / 1024,
+                containersOmitidos.get(), esperas.get(), erros.get());
+    }
+
+    long anexosDuplicados() {
+        return duplicados.get();
+    }
+
+    long containersOmitidos() {
+        return containersOmitidos.get();
+    }
+
+    long esperas() {
+        return esperas.get();
+    }
+
+    private void enfileirar(Runnable tarefa) {
+        if (fechado) {
+            // depois do shutdown hook não há mais escritor
+            executar(tarefa);
+            return;
+        }
+        if (fila.offer(tarefa)) {
+            return;
+        }
+        esperas.incrementAndGet();
+        try {
+            fila.put(tarefa);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executar(tarefa);
+        }
+    }
+
+    private void consumir() {
+        List<Runnable> lote = new ArrayList<>(LOTE);
+        while (true) {
+            try {
+                lote.add(fila.take());
+            } catch (InterruptedException e) {
+                esvaziarNaThread();
+                return;
+            }
+            fila.drainTo(lote, LOTE - 1);
+            for (Runnable tarefa : lote) {
+                executar(tarefa);
+            }
+            lote.clear();
+        }
+    }
+
+    private void esvaziarNaThread() {
+        Runnable tarefa;
+        while ((tarefa = fila.poll()) != null) {
+            executar(tarefa);
+        }
+    }
+
+    private synchronized void executar(Runnable tarefa) {
+        try {
+            tarefa.run();
+        } catch (RuntimeException e) {
+            erros.incrementAndGet();
+            System.err.println("Falha ao escrever resultado do Allure: " + e);
+        }
+    }
+
+    private void gravarAnexo(String fonte, byte[] bytes) {
+        anexos.incrementAndGet();
+        if (bytes.length < DEDUP_BYTES) {
+            destino.write(fonte, new ByteArrayInputStream(bytes));
+            return;
+        }
+        String hash = sha256(bytes);
+        String existente = fontePorHash.get(hash);
+        // anexo que chega depois do resultado que o cita (ex.: AsyncLogWriter) precisa do próprio arquivo
+        if (existente != null && !referenciadas.contains(fonte)) {
+            canonica.put(fonte, existente);
+            duplicados.incrementAndGet();
+            bytesEconomizados.addAndGet(bytes.length);
+            return;
+        }
+        fontePorHash.putIfAbsent(hash, fonte);
+        destino.write(fonte, new ByteArrayInputStream(bytes));
+    }
+
+    private void redirecionar(List<Attachment> lista) {
+        if (lista == null) {
+            return;
+        }
+        for (Attachment anexo : lista) {
+            String fonte = anexo.getSource();
+            String nova = fonte == null ? null : canonica.remove(fonte);
+            if (nova != null) {
+                anexo.setSource(nova);
+            } else if (fonte != null) {
+                referenciadas.add(fonte);
+            }
+        }
+    }
+
+    private void redirecionarPassos(List<StepResult> passos) {
+        if (passos == null) {
+            return;
+        }
+        for (StepResult passo : passos) {
+            redirecionar(passo.getAttachments());
+            redirecionarPassos(passo.getSteps());
+        }
+    }
+
+    private void redirecionarFixtures(List<FixtureResult> fixtures) {
+        if (fixtures == null) {
+            return;
+        }
+        for (FixtureResult fixture : fixtures) {
+            redirecionar(fixture.getAttachments());
+            redirecionarPassos(fixture.getSteps());
+        }
+    }
+
+    private static boolean vazio(List<?> lista) {
+        return lista == null || lista.isEmpty();
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package metrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.FileSystemResultsWriter;
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.FixtureResult;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+// Self-test do writer assíncrono do Allure: dedup de anexos, containers vazios e a fila sem travar o teste
+public class AsyncAllureWriterTest {
+
+    @TempDir
+    Path pasta;
+
+    @Test
+    public void deveGravarAnexoGrandeRepetidoUmaVezSo() throws IOException {
+        try (AsyncAllureWriter writer = new AsyncAllureWriter(pasta)) {
+            AllureLifecycle lifecycle = new AllureLifecycle(writer);
+            byte[] grande = new byte[64 * 1024];
+            Arrays.fill(grande, (byte) 'x');
+            for (int i = 0; i < 3; i++) {
+                String uuid = UUID.randomUUID().toString();
+                lifecycle.scheduleTestCase(new TestResult().setUuid(uuid).setName("caso " + i).setStatus(Status.PASSED));
+                lifecycle.startTestCase(uuid);
+                lifecycle.addAttachment("resumo", "application/json", "json", grande);
+                lifecycle.addAttachment("pequeno", "text/plain", "txt", ("caso " + i).getBytes());
+                lifecycle.stopTestCase(uuid);
+                lifecycle.writeTestCase(uuid);
+            }
+            assertThat(writer.descarregar(10, TimeUnit.SECONDS), is(true));
+
+            assertThat(arquivos("-attachment"), hasSize(4));
+            assertThat(writer.anexosDuplicados(), equalTo(2L));
+            List<String> fontes = arquivos("-result.json").stream()
+                    .map(this::fonteDoResumo)
+                    .distinct()
+                    .toList();
+            assertThat(fontes, hasSize(1));
+            assertThat(Files.size(pasta.resolve(fontes.get(0))), equalTo((long) grande.length));
+        }
+    }
+
+    @Test
+    public void deveManterAnexoQueChegaDepoisDoResultado() throws IOException {
+        try (AsyncAllureWriter writer = new AsyncAllureWriter(pasta)) {
+            byte[] grande = new byte[8 * 1024];
+            writer.write("a-attachment.txt", new ByteArrayInputStream(grande));
+            writer.write(new TestResult().setUuid("r1").setAttachments(List.of(
+                    new Attachment().setName("log").setSource("b-attachment.txt"))));
+            // mesmo conteúdo, mas o resultado que cita já foi escrito: precisa existir em disco
+            writer.write("b-attachment.txt", new ByteArrayInputStream(grande));
+            writer.descarregar(10, TimeUnit.SECONDS);
+
+            assertThat(Files.exists(pasta.resolve("b-attachment.txt")), is(true));
+            assertThat(writer.anexosDuplicados(), equalTo(0L));
+        }
+    }
+
+    @Test
+    public void deveOmitirContainerSemFixtures() throws IOException {
+        try (AsyncAllureWriter writer = new AsyncAllureWriter(pasta)) {
+            writer.write(new TestResultContainer().setUuid("vazio").setChildren(List.of("r1")));
+            writer.write(new TestResultContainer().setUuid("com-before")
+                    .setBefores(List.of(new FixtureResult().setName("setup"))));
+            writer.descarregar(10, TimeUnit.SECONDS);
+
+            assertThat(arquivos("-container.json"), hasSize(1));
+            assertThat(writer.containersOmitidos(), equalTo(1L));
+        }
+    }
+
+    @Test
+    public void naoDeveTravarQuemEscreveEnquantoODiscoEstaLento() {
+        AllureResultsWriter lento = new FileSystemResultsWriter(pasta) {
+            @Override
+            public void write(TestResult resultado) {
+                dormir(20);
+                super.write(resultado);
+            }
+        };
+        try (AsyncAllureWriter writer = new AsyncAllureWriter(lento, 64)) {
+            long inicio = System.nanoTime();
+            for (int i = 0; i < 20; i++) {
+                writer.write(new TestResult().setUuid("r" + i).setName("caso " + i));
+            }
+            long enfileirado = (System.nanoTime() - inicio) / 1_000_000;
+            assertThat(writer.descarregar(10, TimeUnit.SECONDS), is(true));
+            long total = (System.nanoTime() - inicio) / 1_000_000;
+
+            // 20 x 20 ms no disco, quase nada na thread do teste
+            assertThat(total, greaterThanOrEqualTo(400L));
+            assertThat(enfileirado, lessThan(total / 4));
+            assertThat(writer.esperas(), equalTo(0L));
+        }
+    }
+
+    private List<Path> arquivos(String sufixo) throws IOException {
+        try (Stream<Path> lista = Files.list(pasta)) {
+            return lista.filter(p -> p.getFileName().toString().contains(sufixo)).toList();
+        }
+    }
+
+    private String fonteDoResumo(Path resultado) {
+        try {
+            JsonNode json = new ObjectMapper().readTree(Files.readAllBytes(resultado));
+            for (JsonNode anexo : json.get("attachments")) {
+                if (anexo.get("name").asText().equals("resumo")) {
+                    return anexo.get("source").asText();
+                }
+            }
+            throw new AssertionError("resultado sem o anexo resumo: " + resultado);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static void dormir(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package metrics;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+// Budgets de latência lidos de latency-budgets.properties (classpath) uma única vez por JVM
+public final class LatencyBudgets {
+
+    private static final String SUFIXO_REPETICOES = ".repeticoes";
+
+    private static final LatencyBudgets PADRAO = carregar();
+
+    private final Map<String, Map<Double, Long>> budgets;
+    private final int aquecimento;
+    private final int repeticoes;
+    private final Map<String, Integer> repeticoesPorEndpoint;
+
+    LatencyBudgets(Properties props) {
+        Map<String, Map<Double, Long>> lidos = new HashMap<>();
+        Map<String, Integer> repeticoesLidas = new HashMap<>();
+        for (String chave : props.stringPropertyNames()) {
+            if (chave.endsWith(SUFIXO_REPETICOES)) {
+                repeticoesLidas.put(chave.substring(0, chave.length() - SUFIXO_REPETICOES.length()),
+                        Integer.parseInt(props.getProperty(chave).trim()));
+                continue;
+            }
+            int ponto = chave.lastIndexOf(".p");
+            if (ponto <= 0) {
+                continue;
+            }
+            String endpoint = chave.substring(0, ponto);
+            double percentil = percentil(chave.substring(ponto + 1));
+            lidos.computeIfAbsent(endpoint, k -> new TreeMap<>())
+                    .put(percentil, Long.parseLong(props.getProperty(chave).trim()));
+        }
+        lidos.replaceAll((k, v) -> Collections.unmodifiableMap(v));
+        this.budgets = Map.copyOf(lidos);
+        this.repeticoesPorEndpoint = Map.copyOf(repeticoesLidas);
+        this.aquecimento = Integer.parseInt(props.getProperty("aquecimento", "5").trim());
+        this.repeticoes = Integer.parseInt(props.getProperty("repeticoes", "30").trim());
+    }
+
+    public static LatencyBudgets padrao() {
+        return PADRAO;
+    }
+
+    // percentil -> budget em ms (vazio se o endpoint não tem budget)
+    public Map<Double, Long> budgets(String endpoint) {
+        return budgets.getOrDefault(endpoint, Map.of());
+    }
+
+    public int aquecimento() {
+        return aquecimento;
+    }
+
+    public int repeticoes() {
+        return repeticoes;
+    }
+
+    // <endpoint>.repeticoes quando declarado, senão o padrão
+    public int repeticoes(String endpoint) {
+        return repeticoesPorEndpoint.getOrDefault(endpoint, repeticoes);
+    }
+
+    static double percentil(String nome) {
+        return switch (nome) {
+            case "p50" -> 50;
+            case "p90" -> 90;
+            case "p95" -> 95;
+            case "p99" -> 99;
+            case "p999" -> 99.9;
+            default -> throw new IllegalArgumentException("Percentil não suportado em latency-budgets: " + nome);
+        };
+    }
+
+    private static LatencyBudgets carregar() {
+        Properties props = new Properties();
+        String arquivo = System.getProperty("latencia.budgets");
+        try (InputStream in = arquivo != null
+                ? Files.newInputStream(Path.of(arquivo))
+                : LatencyBudgets.class.getClassLoader().getResourceAsStream("latency-budgets.properties")) {
+            if (in != null) {
+                props.load(in);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new LatencyBudgets(props);
+    }
+}
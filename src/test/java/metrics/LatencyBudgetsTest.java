@@ -0,0 +1,36 @@
+package metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Properties;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+// Self-test do arquivo de budgets: repetições por endpoint para percentis altos
+public class LatencyBudgetsTest {
+
+    @Test
+    public void deveLerRepeticoesPorEndpointSemVirarPercentil() {
+        Properties props = new Properties();
+        props.setProperty("repeticoes", "30");
+        props.setProperty("/checkout.p99", "800");
+        props.setProperty("/checkout.repeticoes", "100");
+        props.setProperty("/games/popular.p95", "150");
+
+        LatencyBudgets budgets = new LatencyBudgets(props);
+
+        assertThat(budgets.budgets("/checkout"), equalTo(Map.of(99.0, 800L)));
+        assertThat(budgets.repeticoes("/checkout"), equalTo(100));
+        assertThat(budgets.repeticoes("/games/popular"), equalTo(30));
+    }
+
+    @Test
+    public void deveDarAoCheckoutAmostrasSuficientesParaOP99() {
+        LatencyBudgets budgets = LatencyBudgets.padrao();
+
+        assertThat(budgets.budgets("/checkout"), hasEntry(99.0, 800L));
+        assertThat((long) budgets.repeticoes("/checkout"), greaterThanOrEqualTo(100L));
+    }
+}
@@ -0,0 +1,79 @@
+package metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Histogramas de latência por endpoint, compartilhados por toda a JVM.
+// A gravação usa o Recorder do HdrHistogram (wait-free, sem alocação por amostra);
+// a leitura drena os recorders para um histograma acumulado.
+public final class LatencyRegistry {
+
+    // 1 µs .. 1 h com 3 dígitos significativos
+    private static final long MAIOR_VALOR = 3_600_000_000_000L;
+
+    private static final Map<String, Endpoint> ENDPOINTS = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> ERROS = new ConcurrentHashMap<>();
+
+    private LatencyRegistry() {
+    }
+
+    public static void registrar(String endpoint, long nanos) {
+        ENDPOINTS.computeIfAbsent(endpoint, k -> new Endpoint()).recorder.recordValue(Math.min(nanos, MAIOR_VALOR));
+    }
+
+    // Erro do lado do servidor ou da conexão (5xx, timeout, conexão recusada); 4xx esperados pelos testes não contam
+    public static void registrarErro(String endpoint) {
+        ERROS.computeIfAbsent(endpoint, k -> new LongAdder()).increment();
+    }
+
+    // Total de erros por endpoint desde o início da execução
+    public static Map<String, Long> erros() {
+        Map<String, Long> copia = new TreeMap<>();
+        ERROS.forEach((nome, erros) -> copia.put(nome, erros.sum()));
+        return copia;
+    }
+
+    // Cópia do acumulado desde o início da execução, ordenado por endpoint
+    public static Map<String, Histogram> acumulado() {
+        Map<String, Histogram> copia = new TreeMap<>();
+        ENDPOINTS.forEach((nome, endpoint) -> copia.put(nome, endpoint.drenar(false)));
+        return copia;
+    }
+
+    // Latências gravadas desde a última chamada a intervalo() (séries temporais)
+    public static Map<String, Histogram> intervalo() {
+        Map<String, Histogram> copia = new TreeMap<>();
+        ENDPOINTS.forEach((nome, endpoint) -> copia.put(nome, endpoint.drenar(true)));
+        return copia;
+    }
+
+    public static void limpar() {
+        ENDPOINTS.clear();
+        ERROS.clear();
+    }
+
+    private static final class Endpoint {
+
+        final Recorder recorder = new Recorder(MAIOR_VALOR, 3);
+        final Histogram acumulado = new Histogram(MAIOR_VALOR, 3);
+        Histogram desdeUltimoIntervalo = new Histogram(MAIOR_VALOR, 3);
+        Histogram reciclado;
+
+        synchronized Histogram drenar(boolean intervalo) {
+            reciclado = recorder.getIntervalHistogram(reciclado);
+            acumulado.add(reciclado);
+            desdeUltimoIntervalo.add(reciclado);
+            if (!intervalo) {
+                return acumulado.copy();
+            }
+            Histogram delta = desdeUltimoIntervalo;
+            desdeUltimoIntervalo = new Histogram(MAIOR_VALOR, 3);
+            return delta;
+        }
+    }
+}
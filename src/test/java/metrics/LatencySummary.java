@@ -0,0 +1,35 @@
+package metrics;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.Locale;
+import java.util.Map;
+
+// Resumo de percentis por endpoint em JSON (latências em ms)
+public final class LatencySummary {
+
+    private LatencySummary() {
+    }
+
+    public static String paraJson(Map<String, Histogram> histogramas) {
+        StringBuilder json = new StringBuilder("{\n");
+        int i = 0;
+        for (Map.Entry<String, Histogram> e : histogramas.entrySet()) {
+            Histogram h = e.getValue();
+            json.append("  \"").append(e.getKey().replace("\\", "\\\\").replace("\"", "\\\"")).append("\": {")
+                    .append("\"count\": ").append(h.getTotalCount())
+                    .append(", \"p50\": ").append(ms(h.getValueAtPercentile(50)))
+                    .append(", \"p95\": ").append(ms(h.getValueAtPercentile(95)))
+                    .append(", \"p99\": ").append(ms(h.getValueAtPercentile(99)))
+                    .append(", \"p999\": ").append(ms(h.getValueAtPercentile(99.9)))
+                    .append(", \"max\": ").append(ms(h.getMaxValue()))
+                    .append('}');
+            json.append(++i < histogramas.size() ? ",\n" : "\n");
+        }
+        return json.append('}').toString();
+    }
+
+    static String ms(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+}
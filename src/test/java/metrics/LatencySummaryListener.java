@@ -0,0 +1,68 @@
+package metrics;
+
+import filters.CachingFilter;
+import filters.CaptureFilter;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.TestResult;
+import org.HdrHistogram.Histogram;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.UUID;
+
+// Ao fim da execução grava o resumo de latência por endpoint em target/latencia/latency-summary.json
+// e como anexo no Allure (registrado via META-INF/services, autodetecção já ligada no surefire)
+// Com o cache do catálogo ligado, imprime também hits e bytes economizados.
+// Com a captura de tráfego ligada, fecha o arquivo.
+public class LatencySummaryListener implements TestExecutionListener {
+
+    static final Path SAIDA = Path.of(System.getProperty("latencia.saida", "target/latencia/latency-summary.json"));
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        CachingFilter cache = CachingFilter.padrao();
+        if (cache != null) {
+            System.out.println(cache.resumo());
+        }
+        CaptureFilter captura = CaptureFilter.padrao();
+        if (captura != null) {
+            captura.fechar();
+            System.out.println(captura.resumo());
+        }
+        Map<String, Histogram> histogramas = LatencyRegistry.acumulado();
+        if (histogramas.isEmpty()) {
+            return;
+        }
+        byte[] json = LatencySummary.paraJson(histogramas).getBytes(StandardCharsets.UTF_8);
+        try {
+            Files.createDirectories(SAIDA.getParent());
+            Files.write(SAIDA, json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        anexarNoAllure(json);
+    }
+
+    // Fora de um teste não há contexto do Allure, então o resumo vira um resultado próprio no relatório
+    private static void anexarNoAllure(byte[] json) {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String uuid = UUID.randomUUID().toString();
+        lifecycle.scheduleTestCase(new TestResult()
+                .setUuid(uuid)
+                .setName("Resumo de latência por endpoint")
+                .setFullName(LatencySummaryListener.class.getName())
+                .setStatus(Status.PASSED));
+        lifecycle.startTestCase(uuid);
+        lifecycle.addAttachment("latency-summary", "application/json", "json", json);
+        lifecycle.stopTestCase(uuid);
+        lifecycle.writeTestCase(uuid);
+    }
+}
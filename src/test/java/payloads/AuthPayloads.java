@@ -6,11 +6,18 @@ package payloads;
 public class AuthPayloads {
 
     public static String login(String email, String password) {
-        return """
-            {
-                "email": "%s",
-                "password": "%s"
-            }
-        """.formatted(email, password);
+        return escreverLogin(JsonWriter.local(), email, password).toString();
     }
-}
\ No newline at end of file
+
+    // Mesmo body em bytes, pronto para .body(byte[]) sem passar por String
+    public static byte[] loginBytes(String email, String password) {
+        return escreverLogin(JsonWriter.local(), email, password).toByteArray();
+    }
+
+    static JsonWriter escreverLogin(JsonWriter json, String email, String password) {
+        return json.abrirObjeto()
+                .campo("email", email)
+                .campo("password", password)
+                .fecharObjeto();
+    }
+}
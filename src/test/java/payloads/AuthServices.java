@@ -3,42 +3,67 @@ package payloads;
 import config.BaseTests;
 import io.restassured.response.Response;
 
+import java.util.concurrent.CompletableFuture;
+
 import static io.restassured.RestAssured.given;
 
 public class AuthServices extends BaseTests {
 
+    public AuthServices() {
+    }
+
+    public AuthServices(String baseUrl) {
+        super(baseUrl);
+    }
+
     public Response fazerLogin(String email, String password) {
         return
-                given()
+                given(requestSpec())
                         .contentType("application/json")
-                        .body(AuthPayloads.login(email, password))
-                        .log().all()
+                        .body(AuthPayloads.loginBytes(email, password))
                         .when()
                         .post(LOGIN_ENDPOINT);
     }
 
+    public CompletableFuture<Response> fazerLoginAsync(String email, String password) {
+        return async().post(LOGIN_ENDPOINT, null, AuthPayloads.loginBytes(email, password));
+    }
+
     public String extrairToken(Response response) {
         return response.jsonPath().getString("token");
     }
 
+    String baseUrl() {
+        return baseUrl;
+    }
+
+    String extrairTokenSeSucesso(Response response) {
+        return response.statusCode() == 200 ? extrairToken(response) : null;
+    }
+
     public Response VerificarToken(String token){
         return
-                given()
+                given(requestSpec())
 
                         .header("Authorization", "Bearer " + token)
-                        .log().all()
                         .when()
                         .get(VERIFY_ENDPOINT);
     }
 
+    public CompletableFuture<Response> VerificarTokenAsync(String token) {
+        return async().get(VERIFY_ENDPOINT, token);
+    }
+
     public Response RefreshToken(String token){
         return
-                given()
+                given(requestSpec())
 
                         .header("Authorization", "Bearer " + token)
-                        .log().all()
                         .when()
                         .post(REFRESH_ENDPOINT);
     }
-}
 
+    public CompletableFuture<Response> RefreshTokenAsync(String token) {
+        return async().post(REFRESH_ENDPOINT, token, null);
+    }
+}
@@ -1,17 +1,133 @@
 package payloads;
 
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
 public class CarrinhoPayload {
 
+    static final String[] FORMAS_PAGAMENTO = {"pix", "cartao", "boleto"};
+    static final String[] CUPONS = {"GAMER10", "BEMVINDO", "FRETEGRATIS"};
 
     public static String criarCheckout(int idProduto, int qtd , String formadePagamento){
 
-        return  "{\n" +
-                "  \"cart\": [\n" +
-                "    {\"id\": " + idProduto + ", \"qty\": " + qtd + "}\n" +
-                "  ],\n" +
-                "  \"formaPagamento\": \"" + formadePagamento + "\"\n" +
-                "}";
+        return carrinho()
+                .item(idProduto, qtd)
+                .formaPagamento(formadePagamento)
+                .json();
+    }
+
+    public static Carrinho carrinho() {
+        return new Carrinho();
     }
 
+    // Carrinho variado para carga/fuzz: 1..maxItens itens com ids entre 1 e maxId, cupom/cep/nome/email opcionais
+    public static Carrinho carrinhoAleatorio(int maxItens, int maxId) {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        Carrinho carrinho = carrinho().formaPagamento(FORMAS_PAGAMENTO[rnd.nextInt(FORMAS_PAGAMENTO.length)]);
+        int itens = 1 + rnd.nextInt(maxItens);
+        for (int i = 0; i < itens; i++) {
+            carrinho.item(1 + rnd.nextInt(maxId), 1 + rnd.nextInt(3));
+        }
+        if (rnd.nextBoolean()) {
+            carrinho.cupom(CUPONS[rnd.nextInt(CUPONS.length)]);
+        }
+        if (rnd.nextBoolean()) {
+            carrinho.cep(Integer.toString(10_000_000 + rnd.nextInt(90_000_000)))
+                    .nome("QA User")
+                    .email("qa_user@gamestore.com");
+        }
+        return carrinho;
     }
 
+    // Body do /api/checkout: { cart: [{id, qty}], formaPagamento, cupom, cep, nome, email }
+    public static class Carrinho {
+
+        private int[] ids = new int[4];
+        private int[] qtds = new int[4];
+        private int itens;
+        private String formaPagamento;
+        private String cupom;
+        private String cep;
+        private String nome;
+        private String email;
+
+        public Carrinho item(int id, int qty) {
+            if (itens == ids.length) {
+                ids = Arrays.copyOf(ids, itens * 2);
+                qtds = Arrays.copyOf(qtds, itens * 2);
+            }
+            ids[itens] = id;
+            qtds[itens] = qty;
+            itens++;
+            return this;
+        }
+
+        public Carrinho formaPagamento(String formaPagamento) {
+            this.formaPagamento = formaPagamento;
+            return this;
+        }
+
+        public Carrinho cupom(String cupom) {
+            this.cupom = cupom;
+            return this;
+        }
+
+        public Carrinho cep(String cep) {
+            this.cep = cep;
+            return this;
+        }
+
+        public Carrinho nome(String nome) {
+            this.nome = nome;
+            return this;
+        }
+
+        public Carrinho email(String email) {
+            this.email = email;
+            return this;
+        }
+
+        public int quantidadeDeItens() {
+            return itens;
+        }
+
+        public int id(int i) {
+            return ids[i];
+        }
+
+        public int qtd(int i) {
+            return qtds[i];
+        }
+
+        public JsonWriter escrever(JsonWriter json) {
+            json.abrirObjeto().campo("cart").abrirArray();
+            for (int i = 0; i < itens; i++) {
+                json.abrirObjeto().campo("id", ids[i]).campo("qty", qtds[i]).fecharObjeto();
+            }
+            json.fecharArray().campo("formaPagamento", formaPagamento);
+            // opcionais só entram no body quando preenchidos
+            if (cupom != null) {
+                json.campo("cupom", cupom);
+            }
+            if (cep != null) {
+                json.campo("cep", cep);
+            }
+            if (nome != null) {
+                json.campo("nome", nome);
+            }
+            if (email != null) {
+                json.campo("email", email);
+            }
+            return json.fecharObjeto();
+        }
+
+        public byte[] bytes() {
+            return escrever(JsonWriter.local()).toByteArray();
+        }
+
+        public String json() {
+            return escrever(JsonWriter.local()).toString();
+        }
+    }
+
+    }
@@ -2,26 +2,72 @@ package payloads;
 
 import config.BaseTests;
 import io.restassured.response.Response;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
 import static io.restassured.RestAssured.given;
 
 public class CheckoutServices  extends BaseTests {
 
+    public CheckoutServices() {
+    }
+
+    public CheckoutServices(String baseUrl) {
+        super(baseUrl);
+    }
+
     public Response realizarCheckout(String token,String body) {
 
-     return given()
+     return given(requestSpec())
+             .header("Authorization", "Bearer " + token)
+             .contentType("application/json")
+             .body(body)
+             .when()
+             .post(CHECKOUT_ENDPOINT)
+             .then()
+             .extract()
+             .response();
+
+    }
+
+    // Body já serializado (ex. CarrinhoPayload.carrinho()...bytes()), enviado sem conversão para String
+    public Response realizarCheckout(String token, byte[] body) {
+
+     return given(requestSpec())
              .header("Authorization", "Bearer " + token)
              .contentType("application/json")
              .body(body)
-             .log().all()
              .when()
              .post(CHECKOUT_ENDPOINT)
              .then()
-             .log().all()
              .extract()
              .response();
 
     }
 
+    // Histórico do usuário: { success, orders: [{orderId, totalPrice, createdAt, items}], total }, os 50 mais recentes
+    public Response listarPedidos(String token, long userId) {
 
+     return given(requestSpec())
+             .header("Authorization", "Bearer " + token)
+             .when()
+             .get(ORDERS_ENDPOINT + userId)
+             .then()
+             .extract()
+             .response();
 
+    }
+
+    public CompletableFuture<Response> realizarCheckoutAsync(String token, byte[] body) {
+        return async().post(CHECKOUT_ENDPOINT, token, body);
+    }
+
+    public CompletableFuture<Response> realizarCheckoutAsync(String token, String body) {
+        return realizarCheckoutAsync(token, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public CompletableFuture<Response> listarPedidosAsync(String token, long userId) {
+        return async().get(ORDERS_ENDPOINT + userId, token);
+    }
 }
@@ -1,19 +1,90 @@
 package payloads;
 
 import config.BaseTests;
+import filters.CachingFilter;
 import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
 import static io.restassured.RestAssured.given;
 
 public class GamesServices  extends BaseTests {
 
+    // null = sem cache (padrão); ligado com -Dcache.catalogo=true
+    private final CachingFilter cache;
+
+    public GamesServices() {
+        this.cache = CachingFilter.padrao();
+    }
+
+    public GamesServices(String baseUrl) {
+        this(baseUrl, CachingFilter.padrao());
+    }
+
+    public GamesServices(String baseUrl, CachingFilter cache) {
+        super(baseUrl);
+        this.cache = cache;
+    }
+
     public  Response listarTodosJogos(String endpoint) {
-       return given()
+       return given(especificacao())
                .get(endpoint)
                .then()
-               .log().all()
                .extract()
                .response();
 
 
     }
+
+    // Busca por título (ILIKE '%q%' ordenado por plays); fora do cache do catálogo, cada termo vai ao backend
+    public Response buscarJogos(String termo) {
+        return given(requestSpec())
+                .queryParam("q", termo)
+                .get(SEARCH_ENDPOINT)
+                .then()
+                .extract()
+                .response();
+    }
+
+    public Response buscarJogos(String termo, int limite) {
+        return given(requestSpec())
+                .queryParam("q", termo)
+                .queryParam("limit", limite)
+                .get(SEARCH_ENDPOINT)
+                .then()
+                .extract()
+                .response();
+    }
+
+    // cancel() no future aborta a requisição (ver AsyncHttp), como a busca digitada do front faz
+    public CompletableFuture<Response> buscarJogosAsync(String termo) {
+        return async().get(SEARCH_ENDPOINT + "?q=" + URLEncoder.encode(termo, StandardCharsets.UTF_8).replace("+", "%20"), null);
+    }
+
+    // GET condicional sem passar pelo cache: confere o 304 do próprio backend
+    public Response listarJogosSeModificado(String endpoint, String etag) {
+        return given(requestSpec())
+                .header("If-None-Match", etag)
+                .get(endpoint)
+                .then()
+                .extract()
+                .response();
+    }
+
+    public CompletableFuture<Response> listarTodosJogosAsync(String endpoint) {
+        return async().get(endpoint, null);
+    }
+
+    // Sem log nem extract: o body fica no stream para validação item a item (ver CatalogContract)
+    public Response listarJogosEmStreaming(String endpoint) {
+        return given(requestSpecEmStreaming())
+                .get(endpoint);
+    }
+
+    private RequestSpecification especificacao() {
+        return requestSpec(cache);
+    }
 }
@@ -0,0 +1,238 @@
+package payloads;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// Escreve JSON direto em UTF-8 num buffer de bytes reaproveitável, sem Strings intermediárias.
+// Faz o escape de aspas, barras e caracteres de controle (o que os templates com formatted() não faziam).
+// Não é thread-safe: use JsonWriter.local() para um buffer por thread.
+public final class JsonWriter {
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+    private static final int MAX_NIVEIS = 64;
+
+    private static final ThreadLocal<JsonWriter> LOCAL = ThreadLocal.withInitial(() -> new JsonWriter(512));
+
+    private byte[] buf;
+    private int pos;
+    private int nivel;
+    // bit n ligado = nível n ainda não recebeu nenhum elemento (não precisa de vírgula)
+    private long vazio;
+    private boolean depoisDeCampo;
+
+    public JsonWriter(int capacidade) {
+        buf = new byte[capacidade];
+    }
+
+    // Writer da thread atual, já limpo
+    public static JsonWriter local() {
+        return LOCAL.get().limpar();
+    }
+
+    public JsonWriter limpar() {
+        pos = 0;
+        nivel = 0;
+        vazio = 0;
+        depoisDeCampo = false;
+        return this;
+    }
+
+    public JsonWriter abrirObjeto() {
+        return abrir((byte) '{');
+    }
+
+    public JsonWriter fecharObjeto() {
+        return fechar((byte) '}');
+    }
+
+    public JsonWriter abrirArray() {
+        return abrir((byte) '[');
+    }
+
+    public JsonWriter fecharArray() {
+        return fechar((byte) ']');
+    }
+
+    public JsonWriter campo(String nome) {
+        separar();
+        texto(nome);
+        escrever((byte) ':');
+        depoisDeCampo = true;
+        return this;
+    }
+
+    public JsonWriter campo(String nome, String valor) {
+        return campo(nome).valor(valor);
+    }
+
+    public JsonWriter campo(String nome, long valor) {
+        return campo(nome).valor(valor);
+    }
+
+    public JsonWriter valor(String valor) {
+        separar();
+        if (valor == null) {
+            escrever(NULL);
+        } else {
+            texto(valor);
+        }
+        return this;
+    }
+
+    public JsonWriter valor(long valor) {
+        separar();
+        if (valor == Long.MIN_VALUE) {
+            escreverAscii(Long.toString(valor));
+            return this;
+        }
+        if (valor < 0) {
+            escrever((byte) '-');
+            valor = -valor;
+        }
+        garantir(20);
+        int inicio = pos;
+        do {
+            buf[pos++] = (byte) ('0' + valor % 10);
+            valor /= 10;
+        } while (valor > 0);
+        // dígitos saíram ao contrário
+        for (int i = inicio, j = pos - 1; i < j; i++, j--) {
+            byte t = buf[i];
+            buf[i] = buf[j];
+            buf[j] = t;
+        }
+        return this;
+    }
+
+    public JsonWriter valor(boolean valor) {
+        separar();
+        escrever(valor ? TRUE : FALSE);
+        return this;
+    }
+
+    public int tamanho() {
+        return pos;
+    }
+
+    // Cópia exata do que foi escrito (o buffer interno continua reaproveitável)
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buf, pos);
+    }
+
+    @Override
+    public String toString() {
+        return new String(buf, 0, pos, StandardCharsets.UTF_8);
+    }
+
+    private JsonWriter abrir(byte b) {
+        separar();
+        if (++nivel >= MAX_NIVEIS) {
+            throw new IllegalStateException("JSON aninhado demais");
+        }
+        vazio |= 1L << nivel;
+        escrever(b);
+        return this;
+    }
+
+    private JsonWriter fechar(byte b) {
+        if (nivel == 0) {
+            throw new IllegalStateException("Nada aberto para fechar");
+        }
+        nivel--;
+        escrever(b);
+        return this;
+    }
+
+    private void separar() {
+        if (depoisDeCampo) {
+            depoisDeCampo = false;
+            return;
+        }
+        long bit = 1L << nivel;
+        if ((vazio & bit) != 0) {
+            vazio &= ~bit;
+        } else if (nivel > 0) {
+            escrever((byte) ',');
+        }
+    }
+
+    private void texto(String s) {
+        int n = s.length();
+        garantir(n * 3 + 2);
+        buf[pos++] = '"';
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x20 && c < 0x80 && c != '"' && c != '\\') {
+                buf[pos++] = (byte) c;
+            } else if (c < 0x80) {
+                escape(c);
+            } else if (c < 0x800) {
+                buf[pos++] = (byte) (0xC0 | (c >> 6));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                garantir(4);
+                buf[pos++] = (byte) (0xF0 | (cp >> 18));
+                buf[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                buf[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                escape(c);
+            } else {
+                buf[pos++] = (byte) (0xE0 | (c >> 12));
+                buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        garantir(1);
+        buf[pos++] = '"';
+    }
+
+    private void escape(char c) {
+        garantir(6);
+        buf[pos++] = '\\';
+        switch (c) {
+            case '"' -> buf[pos++] = '"';
+            case '\\' -> buf[pos++] = '\\';
+            case '\n' -> buf[pos++] = 'n';
+            case '\r' -> buf[pos++] = 'r';
+            case '\t' -> buf[pos++] = 't';
+            case '\b' -> buf[pos++] = 'b';
+            case '\f' -> buf[pos++] = 'f';
+            default -> {
+                buf[pos++] = 'u';
+                buf[pos++] = HEX[(c >> 12) & 0xF];
+                buf[pos++] = HEX[(c >> 8) & 0xF];
+                buf[pos++] = HEX[(c >> 4) & 0xF];
+                buf[pos++] = HEX[c & 0xF];
+            }
+        }
+    }
+
+    private void escrever(byte b) {
+        garantir(1);
+        buf[pos++] = b;
+    }
+
+    private void escrever(byte[] bytes) {
+        garantir(bytes.length);
+        System.arraycopy(bytes, 0, buf, pos, bytes.length);
+        pos += bytes.length;
+    }
+
+    private void escreverAscii(String s) {
+        garantir(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            buf[pos++] = (byte) s.charAt(i);
+        }
+    }
+
+    private void garantir(int extra) {
+        if (pos + extra > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length * 2, pos + extra));
+        }
+    }
+}
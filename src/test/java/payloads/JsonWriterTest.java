@@ -0,0 +1,73 @@
+package payloads;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+// Self-test dos builders de payload (não precisa do backend)
+public class JsonWriterTest {
+
+    static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    public void deveEscaparAspasBarrasEUnicodeNoRegistro() throws IOException {
+        String nome = "João \"Joca\" \\ 🎮\n";
+
+        JsonNode json = MAPPER.readTree(RegisterPayloads.registroBytes("joca", "joca@teste.com", "123456", nome));
+
+        assertThat(json.get("nome_completo").asText(), equalTo(nome));
+        assertThat(json.get("username").asText(), equalTo("joca"));
+    }
+
+    @Test
+    public void deveMontarCarrinhoComVariosItensEOpcionais() throws IOException {
+        byte[] body = CarrinhoPayload.carrinho()
+                .item(1, 2)
+                .item(3, 1)
+                .formaPagamento("pix")
+                .cupom("GAMER10")
+                .cep("01001000")
+                .nome("QA User")
+                .email("qa_user@gamestore.com")
+                .bytes();
+
+        JsonNode json = MAPPER.readTree(body);
+        assertThat(json.get("cart").size(), equalTo(2));
+        assertThat(json.get("cart").get(1).get("id").asInt(), equalTo(3));
+        assertThat(json.get("cart").get(0).get("qty").asInt(), equalTo(2));
+        assertThat(json.get("cupom").asText(), equalTo("GAMER10"));
+        assertThat(json.get("cep").asText(), equalTo("01001000"));
+    }
+
+    @Test
+    public void deveManterFormatoDoCheckoutLegado() throws IOException {
+        JsonNode json = MAPPER.readTree(CarrinhoPayload.criarCheckout(25, 1, "pix"));
+
+        assertThat(json.get("cart").get(0).get("id").asInt(), equalTo(25));
+        assertThat(json.get("formaPagamento").asText(), equalTo("pix"));
+        assertThat(json.has("cupom"), is(false));
+    }
+
+    @Test
+    public void deveGerarCarrinhosAleatoriosValidos() throws IOException {
+        for (int i = 0; i < 1_000; i++) {
+            JsonNode json = MAPPER.readTree(CarrinhoPayload.carrinhoAleatorio(5, 20).bytes());
+            assertThat(json.get("cart").size(), allOf(greaterThanOrEqualTo(1), lessThanOrEqualTo(5)));
+            assertThat(json.get("formaPagamento").asText(), not(emptyString()));
+        }
+    }
+
+    @Test
+    public void deveEscreverNumerosNegativosEExtremos() throws IOException {
+        String json = new JsonWriter(4).abrirArray()
+                .valor(0).valor(-42).valor(Long.MAX_VALUE).valor(Long.MIN_VALUE).valor(true).valor((String) null)
+                .fecharArray().toString();
+
+        assertThat(json, equalTo("[0,-42,9223372036854775807,-9223372036854775808,true,null]"));
+    }
+}
@@ -6,14 +6,20 @@ public class RegisterPayloads {
 
 
     public static String registro(String username, String email, String password, String nomeCompleto) {
-        return """
-            {
-                "username": "%s",
-                "email": "%s",
-                "password": "%s",
-                "nome_completo": "%s"
-            }
-        """.formatted(username, email, password, nomeCompleto);
+        return escreverRegistro(JsonWriter.local(), username, email, password, nomeCompleto).toString();
+    }
+
+    public static byte[] registroBytes(String username, String email, String password, String nomeCompleto) {
+        return escreverRegistro(JsonWriter.local(), username, email, password, nomeCompleto).toByteArray();
+    }
+
+    static JsonWriter escreverRegistro(JsonWriter json, String username, String email, String password, String nomeCompleto) {
+        return json.abrirObjeto()
+                .campo("username", username)
+                .campo("email", email)
+                .campo("password", password)
+                .campo("nome_completo", nomeCompleto)
+                .fecharObjeto();
     }
 
 
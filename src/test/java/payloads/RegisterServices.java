@@ -1,38 +1,70 @@
 package payloads;
 import config.BaseTests;
+import utils.Utils;
 import io.restassured.response.Response;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
 import static io.restassured.RestAssured.given;
 
 
 public class RegisterServices extends BaseTests {
 
+    public RegisterServices() {
+    }
+
+    public RegisterServices(String baseUrl) {
+        super(baseUrl);
+    }
+
     public Response RealizarRegistro(String username ,String password, String nomeCompleto) {
 
-        String email = "user" + System.currentTimeMillis() + "@teste.com";
+        return RealizarRegistro(username, Utils.gerarEmailAleatorio(), password, nomeCompleto);
+    }
 
+    public Response RealizarRegistro(String username, String email, String password, String nomeCompleto) {
         return
-         given()
+         given(requestSpec())
                  .contentType("application/json")
-                 .body(RegisterPayloads.registro(username,email, password, nomeCompleto ))
+                 .body(RegisterPayloads.registroBytes(username,email, password, nomeCompleto ))
         .when()
                 .post(REGISTER_ENDPOINT);
+    }
 
+    // Body pronto em bytes (ex. RegistroFactory), para carga e fuzz
+    public Response RealizarRegistro(byte[] body) {
+        return
+                given(requestSpec())
+                        .contentType("application/json")
+                        .body(body)
+                        .when()
+                        .post(REGISTER_ENDPOINT);
+    }
 
+    public CompletableFuture<Response> RealizarRegistroAsync(String username, String password, String nomeCompleto) {
+        return async().post(REGISTER_ENDPOINT, null,
+                RegisterPayloads.registroBytes(username, Utils.gerarEmailAleatorio(), password, nomeCompleto));
+    }
 
+    public CompletableFuture<Response> RealizarRegistroAsync(String username, String email, String password, String nomeCompleto) {
+        return async().post(REGISTER_ENDPOINT, null, RegisterPayloads.registroBytes(username, email, password, nomeCompleto));
+    }
 
+    public CompletableFuture<Response> RealizarRegistroAsync(byte[] body) {
+        return async().post(REGISTER_ENDPOINT, null, body);
     }
 
     public Response RealizarRegistroNegativo(String body) {
         return
-                given()
+                given(requestSpec())
                         .contentType("application/json")
                         .body(body)
                         .when()
                         .post(REGISTER_ENDPOINT);
     }
 
-
-
-
-
+    public CompletableFuture<Response> RealizarRegistroNegativoAsync(String body) {
+        return async().post(REGISTER_ENDPOINT, null, body.getBytes(StandardCharsets.UTF_8));
+    }
 }
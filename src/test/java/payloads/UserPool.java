@@ -0,0 +1,255 @@
+package payloads;
+
+import Factories.Userfactory;
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.Response;
+import utils.IdentityGenerator;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Pool de usuários descartáveis para testes autenticados e workers de carga.
+// Registra N contas no início, faz login em paralelo e empresta pares (usuário, token) por uma fila sem lock;
+// uma thread de fundo renova os tokens via /auth/refresh antes do "exp".
+public final class UserPool implements AutoCloseable {
+
+    // Quantidade de contas do pool padrão (-Dpool.usuarios)
+    static final int TAMANHO_PADRAO = Integer.getInteger("pool.usuarios", 8);
+
+    // Tempo máximo esperando um usuário livre (ms)
+    static final long ESPERA_MAXIMA = Long.getLong("pool.espera", 30_000);
+
+    // Intervalo da varredura de renovação (segundos)
+    static final long INTERVALO_RENOVACAO = Long.getLong("pool.renovacao", 30);
+
+    // Renova o token quando faltar menos que isso para o "exp" (segundos)
+    static final long MARGEM_RENOVACAO = Long.getLong("pool.margem", 60);
+
+    // TTL usado quando o token não traz o claim "exp" (segundos)
+    static final long TTL_PADRAO = Long.getLong("pool.ttl", 300);
+
+    private static volatile UserPool padrao;
+
+    private final RegisterServices register;
+    private final AuthServices auth;
+    private final List<Usuario> usuarios;
+    private final ConcurrentLinkedQueue<Usuario> livres = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService renovador;
+
+    public UserPool(String baseUrl, int tamanho) {
+        this.register = new RegisterServices(baseUrl);
+        this.auth = new AuthServices(baseUrl);
+        this.usuarios = Collections.unmodifiableList(criarUsuarios(tamanho));
+        livres.addAll(usuarios);
+        renovador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "pool-renovador");
+            t.setDaemon(true);
+            return t;
+        });
+        renovador.scheduleWithFixedDelay(() -> renovarTokens(System.currentTimeMillis() / 1000),
+                INTERVALO_RENOVACAO, INTERVALO_RENOVACAO, TimeUnit.SECONDS);
+    }
+
+    // Pool compartilhado pela suíte, criado no primeiro uso contra o backend padrão
+    public static UserPool padrao() {
+        UserPool atual = padrao;
+        if (atual == null) {
+            synchronized (UserPool.class) {
+                atual = padrao;
+                if (atual == null) {
+                    atual = new UserPool(new AuthServices().baseUrl(), TAMANHO_PADRAO);
+                    padrao = atual;
+                }
+            }
+        }
+        return atual;
+    }
+
+    public Lease emprestar() {
+        long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ESPERA_MAXIMA);
+        long pausa = 1_000;
+        Usuario usuario;
+        while ((usuario = livres.poll()) == null) {
+            if (System.nanoTime() > limite) {
+                throw new IllegalStateException("Nenhum usuário livre no pool após " + ESPERA_MAXIMA + " ms ("
+                        + usuarios.size() + " contas); aumente -Dpool.usuarios");
+            }
+            LockSupport.parkNanos(pausa);
+            pausa = Math.min(pausa * 2, 1_000_000);
+        }
+        return new Lease(usuario);
+    }
+
+    public int tamanho() {
+        return usuarios.size();
+    }
+
+    public int livres() {
+        return livres.size();
+    }
+
+    @Override
+    public void close() {
+        renovador.shutdownNow();
+    }
+
+    private List<Usuario> criarUsuarios(int tamanho) {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(tamanho, 16)));
+        try {
+            List<Future<Usuario>> tarefas = new ArrayList<>();
+            for (int i = 0; i < tamanho; i++) {
+                tarefas.add(executor.submit(this::registrarELogar));
+            }
+            List<Usuario> criados = new ArrayList<>(tamanho);
+            for (Future<Usuario> tarefa : tarefas) {
+                criados.add(tarefa.get());
+            }
+            return criados;
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException r ? r : new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Criação do pool interrompida", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Usuario registrarELogar() {
+        String username = IdentityGenerator.username();
+        String email = IdentityGenerator.email();
+        String password = Userfactory.gerarPassword();
+
+        Response registro = register.RealizarRegistro(username, email, password, Userfactory.gerarNomeCompleto());
+        if (registro.statusCode() != 201) {
+            throw new IllegalStateException("Registro do pool falhou para " + email + ": status " + registro.statusCode());
+        }
+        Response login = auth.fazerLogin(email, password);
+        String token = auth.extrairTokenSeSucesso(login);
+        if (token == null) {
+            throw new IllegalStateException("Login do pool falhou para " + email + ": status " + login.statusCode());
+        }
+        Usuario usuario = new Usuario(login.jsonPath().getLong("user.id"), username, email, password);
+        usuario.guardar(token);
+        return usuario;
+    }
+
+    // Renova quem está perto do "exp"; token emprestado continua válido até expirar, então não precisa de lock
+    void renovarTokens(long agora) {
+        for (Usuario usuario : usuarios) {
+            if (agora < usuario.renovarEm) {
+                continue;
+            }
+            try {
+                String novo = agora < usuario.expiraEm
+                        ? auth.extrairTokenSeSucesso(auth.RefreshToken(usuario.token))
+                        : null;
+                if (novo == null) {
+                    novo = auth.extrairTokenSeSucesso(auth.fazerLogin(usuario.email, usuario.password));
+                }
+                if (novo != null) {
+                    usuario.guardar(novo);
+                }
+            } catch (RuntimeException e) {
+                // backend fora do ar: tenta de novo na próxima varredura
+            }
+        }
+    }
+
+    // Lê o claim "exp" (epoch em segundos) do payload do JWT, sem validar assinatura
+    static long extrairExpiracao(String token) {
+        String[] partes = token.split("\\.");
+        if (partes.length < 2) {
+            return -1;
+        }
+        try {
+            String json = new String(Base64.getUrlDecoder().decode(partes[1]), StandardCharsets.UTF_8);
+            return JsonPath.from(json).getLong("exp");
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+
+    static final class Usuario {
+
+        final long id;
+        final String username;
+        final String email;
+        final String password;
+
+        volatile String token;
+        volatile long expiraEm;   // epoch em segundos
+        volatile long renovarEm;  // epoch em segundos
+
+        Usuario(long id, String username, String email, String password) {
+            this.id = id;
+            this.username = username;
+            this.email = email;
+            this.password = password;
+        }
+
+        void guardar(String novo) {
+            long agora = System.currentTimeMillis() / 1000;
+            long exp = extrairExpiracao(novo);
+            if (exp <= 0) {
+                exp = agora + TTL_PADRAO;
+            }
+            // tokens curtos: renova na metade da vida em vez de ficar sempre dentro da margem
+            long margem = Math.min(MARGEM_RENOVACAO, (exp - agora) / 2);
+            expiraEm = exp;
+            renovarEm = exp - margem;
+            token = novo;
+        }
+    }
+
+    // Empréstimo de um usuário; devolva com close() (try-with-resources ou @AfterEach)
+    public final class Lease implements AutoCloseable {
+
+        private final Usuario usuario;
+        private boolean devolvido;
+
+        private Lease(Usuario usuario) {
+            this.usuario = usuario;
+        }
+
+        public long userId() {
+            return usuario.id;
+        }
+
+        public String username() {
+            return usuario.username;
+        }
+
+        public String email() {
+            return usuario.email;
+        }
+
+        public String password() {
+            return usuario.password;
+        }
+
+        // Sempre o token mais recente renovado em segundo plano
+        public String token() {
+            return usuario.token;
+        }
+
+        @Override
+        public void close() {
+            if (!devolvido) {
+                devolvido = true;
+                livres.offer(usuario);
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package payloads;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import stub.LocalServer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static stub.LocalServer.responder;
+
+// Self-test do pool de usuários contra um servidor local (não precisa do backend Node)
+public class UserPoolTest {
+
+    static LocalServer servidor;
+    static String baseUrl;
+    static final AtomicInteger registros = new AtomicInteger();
+    static final AtomicInteger ids = new AtomicInteger();
+    static final AtomicInteger refreshes = new AtomicInteger();
+
+    @BeforeAll
+    public static void subirServidorLocal() {
+        servidor = LocalServer.com(Map.of(
+                "/api/auth/register", ex -> {
+                    registros.incrementAndGet();
+                    responder(ex, 201, "{\"success\":true}");
+                },
+                "/api/auth/login", ex -> responder(ex, 200,
+                        "{\"token\":\"" + jwt(3600) + "\",\"user\":{\"id\":" + ids.incrementAndGet() + "}}"),
+                "/api/auth/refresh", ex -> {
+                    refreshes.incrementAndGet();
+                    responder(ex, 200, "{\"token\":\"" + jwt(7200) + "\"}");
+                }));
+        baseUrl = servidor.baseUrl();
+    }
+
+    @AfterAll
+    public static void derrubarServidorLocal() {
+        servidor.close();
+    }
+
+    private static String jwt(long segundos) {
+        long exp = System.currentTimeMillis() / 1000 + segundos;
+        String payload = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("{\"exp\":" + exp + "}").getBytes(StandardCharsets.UTF_8));
+        return "eyJhbGciOiJIUzI1NiJ9." + payload + ".assinatura";
+    }
+
+    @Test
+    public void naoDeveEmprestarOMesmoUsuarioParaDuasThreads() throws Exception {
+        try (UserPool pool = new UserPool(baseUrl, 4)) {
+            Set<Long> emUso = ConcurrentHashMap.newKeySet();
+            AtomicInteger conflitos = new AtomicInteger();
+            ExecutorService executor = Executors.newFixedThreadPool(16);
+            try {
+                List<Future<?>> tarefas = IntStream.range(0, 16).<Future<?>>mapToObj(i -> executor.submit(() -> {
+                    for (int j = 0; j < 200; j++) {
+                        try (UserPool.Lease usuario = pool.emprestar()) {
+                            if (!emUso.add(usuario.userId())) {
+                                conflitos.incrementAndGet();
+                            }
+                            Thread.onSpinWait();
+                            emUso.remove(usuario.userId());
+                        }
+                    }
+                })).toList();
+                for (Future<?> tarefa : tarefas) {
+                    tarefa.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+
+            assertThat(conflitos.get(), equalTo(0));
+            assertThat(pool.livres(), equalTo(4));
+        }
+    }
+
+    @Test
+    public void deveRegistrarContasDistintasERenovarTokensPertoDoExp() {
+        int antes = registros.get();
+        try (UserPool pool = new UserPool(baseUrl, 3)) {
+            assertThat(registros.get() - antes, equalTo(3));
+
+            UserPool.Lease usuario = pool.emprestar();
+            String tokenOriginal = usuario.token();
+            int refreshesAntes = refreshes.get();
+
+            // simula a varredura 10s antes do "exp" (dentro da margem de 60s)
+            pool.renovarTokens(System.currentTimeMillis() / 1000 + 3590);
+
+            assertThat(refreshes.get() - refreshesAntes, equalTo(3));
+            assertThat(usuario.token(), not(equalTo(tokenOriginal)));
+            assertThat(UserPool.extrairExpiracao(usuario.token()),
+                    greaterThan(System.currentTimeMillis() / 1000 + 3600));
+            usuario.close();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package performance;
+
+import config.BaseTests;
+import config.ConnectionPool;
+import payloads.UserPool;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+
+// Ponto de entrada da vazão de autenticação (perfil Maven "auth"):
+//   mvn test-compile exec:java -Pauth -Dauth.mix=valido:50,invalido:40,expirado:10 -Dauth.niveis=1,4,16,64 -Dauth.duracao=15
+public class AuthMain {
+
+    public static void main(String[] args) {
+        String baseUrl = BaseTests.baseUrlPadrao();
+        String mix = System.getProperty("auth.mix", "valido:70,invalido:20,expirado:10");
+        int[] niveis = Arrays.stream(System.getProperty("auth.niveis", "1,2,4,8,16,32,64").split(","))
+                .map(String::trim).mapToInt(Integer::parseInt).toArray();
+        AuthThroughput.Endpoint[] endpoints = Arrays.stream(System.getProperty("auth.endpoints", "verify,refresh").split(","))
+                .map(e -> AuthThroughput.Endpoint.valueOf(e.trim().toUpperCase(Locale.ROOT)))
+                .toArray(AuthThroughput.Endpoint[]::new);
+        long duracao = Long.getLong("auth.duracao", 10);
+        double ganhoMinimo = Double.parseDouble(System.getProperty("auth.ganhoMinimo", "0.05"));
+
+        System.out.printf("Vazão de autenticação: %s, mix %s, níveis %s, %ds por nível%n",
+                Arrays.toString(endpoints), mix, Arrays.toString(niveis), duracao);
+        AuthThroughput.Relatorio relatorio;
+        try (UserPool pool = new UserPool(baseUrl, Integer.getInteger("auth.usuarios", 8))) {
+            relatorio = new AuthThroughput(baseUrl, pool)
+                    .endpoints(endpoints)
+                    .mix(AuthThroughput.mix(mix))
+                    .niveis(niveis)
+                    .duracaoPorNivel(Duration.ofSeconds(duracao))
+                    .ganhoMinimo(ganhoMinimo)
+                    .executar();
+        }
+        relatorio.imprimir();
+        // espera por conexão do cliente: se alta, o teto é -Dhttp.pool.maxPorRota e não o backend
+        System.out.println(ConnectionPool.resumo());
+        System.exit(relatorio.inesperados() == 0 && relatorio.falhas() == 0 ? 0 : 1);
+    }
+}
@@ -0,0 +1,308 @@
+package performance;
+
+import Factories.TokenFactory;
+import Factories.Userfactory;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import payloads.AuthServices;
+import payloads.UserPool;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Vazão do caminho de autenticação (authMiddleware + verify/refresh): em cada nível, N clientes em laço fechado
+// disparam /auth/verify e /auth/refresh com uma mistura de tokens válidos, de assinatura inválida e expirados.
+// A rampa de níveis para quando a vazão deixa de crescer (ganhoMinimo); a maior vazão é a de saturação.
+//
+// Por endpoint e tipo de token o relatório compara a latência da rejeição com a da aceitação no nível de saturação:
+// o middleware recusa antes de ir ao banco, então rejeitar deveria sair mais barato (importante contra token spraying).
+public class AuthThroughput {
+
+    // Status esperado por tipo; qualquer outro conta como inesperado
+    public enum Tipo {
+        VALIDO(200), INVALIDO(401), EXPIRADO(401);
+
+        final int status;
+
+        Tipo(int status) {
+            this.status = status;
+        }
+    }
+
+    public enum Endpoint {
+        VERIFY, REFRESH
+    }
+
+    private final UserPool pool;
+    private final AuthServices auth;
+    private List<Endpoint> endpoints = List.of(Endpoint.VERIFY, Endpoint.REFRESH);
+    private Map<Tipo, Integer> mix = mix("valido:70,invalido:20,expirado:10");
+    private int[] niveis = {1, 2, 4, 8, 16, 32, 64};
+    private Duration duracaoPorNivel = Duration.ofSeconds(10);
+    private Duration aquecimento = Duration.ofSeconds(2);
+    private double ganhoMinimo = 0.05;
+
+    public AuthThroughput(String baseUrl, UserPool pool) {
+        this.pool = pool;
+        this.auth = new AuthServices(baseUrl);
+    }
+
+    public AuthThroughput endpoints(Endpoint... endpoints) {
+        if (endpoints.length == 0) {
+            throw new IllegalArgumentException("Pelo menos um endpoint");
+        }
+        this.endpoints = List.of(endpoints);
+        return this;
+    }
+
+    // Pesos por tipo de token, ex. "valido:70,invalido:20,expirado:10"; tipo ausente = peso 0
+    public AuthThroughput mix(Map<Tipo, Integer> mix) {
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("Mix sem nenhum peso positivo: " + mix);
+        }
+        this.mix = new EnumMap<>(mix);
+        return this;
+    }
+
+    public AuthThroughput niveis(int... niveis) {
+        this.niveis = niveis.clone();
+        return this;
+    }
+
+    public AuthThroughput duracaoPorNivel(Duration duracaoPorNivel) {
+        this.duracaoPorNivel = duracaoPorNivel;
+        return this;
+    }
+
+    // Rodado no primeiro nível sem medir (JIT do cliente, conexões do pool)
+    public AuthThroughput aquecimento(Duration aquecimento) {
+        this.aquecimento = aquecimento;
+        return this;
+    }
+
+    // Ganho mínimo de vazão de um nível para o seguinte; abaixo disso a rampa para
+    public AuthThroughput ganhoMinimo(double ganhoMinimo) {
+        this.ganhoMinimo = ganhoMinimo;
+        return this;
+    }
+
+    public static Map<Tipo, Integer> mix(String texto) {
+        Map<Tipo, Integer> pesos = new EnumMap<>(Tipo.class);
+        for (String parte : texto.split(",")) {
+            String[] chaveValor = parte.trim().split(":");
+            if (chaveValor.length != 2) {
+                throw new IllegalArgumentException("Mix inválido (use tipo:peso): " + parte);
+            }
+            int peso = Integer.parseInt(chaveValor[1].trim());
+            if (peso < 0) {
+                throw new IllegalArgumentException("Peso negativo no mix: " + parte);
+            }
+            pesos.put(Tipo.valueOf(chaveValor[0].trim().toUpperCase(Locale.ROOT)), peso);
+        }
+        return pesos;
+    }
+
+    public Relatorio executar() {
+        List<String> validos = tokensValidos();
+        if (!aquecimento.isZero()) {
+            executarNivel(niveis[0], aquecimento, validos);
+        }
+        List<Nivel> resultados = new ArrayList<>();
+        for (int nivel : niveis) {
+            Nivel resultado = executarNivel(nivel, duracaoPorNivel, validos);
+            resultados.add(resultado);
+            Nivel anterior = resultados.size() > 1 ? resultados.get(resultados.size() - 2) : null;
+            if (anterior != null && resultado.throughput() < anterior.throughput() * (1 + ganhoMinimo)) {
+                break;
+            }
+        }
+        return new Relatorio(resultados);
+    }
+
+    // Um token por conta do pool; o login (bcrypt) fica fora da medição
+    private List<String> tokensValidos() {
+        List<UserPool.Lease> contas = new ArrayList<>();
+        try {
+            for (int i = 0; i < pool.tamanho(); i++) {
+                contas.add(pool.emprestar());
+            }
+            return contas.stream().map(UserPool.Lease::token).toList();
+        } finally {
+            contas.forEach(UserPool.Lease::close);
+        }
+    }
+
+    private Nivel executarNivel(int concorrencia, Duration duracao, List<String> validos) {
+        Map<Chave, Recorder> latencias = new LinkedHashMap<>();
+        for (Endpoint endpoint : endpoints) {
+            for (Tipo tipo : Tipo.values()) {
+                if (mix.getOrDefault(tipo, 0) > 0) {
+                    latencias.put(new Chave(endpoint, tipo), new Recorder(3));
+                }
+            }
+        }
+        LongAdder inesperados = new LongAdder();
+        LongAdder falhas = new LongAdder();
+        double segundos;
+        try {
+            segundos = ClosedLoop.executar(concorrencia, duracao, "auth-" + concorrencia, indice -> {
+                // tokens válidos em rodízio, cada cliente começando numa conta
+                AtomicInteger proximoValido = new AtomicInteger(indice);
+                return () -> {
+                    Endpoint endpoint = endpoints.get(ThreadLocalRandom.current().nextInt(endpoints.size()));
+                    Tipo tipo = sortear();
+                    String token = switch (tipo) {
+                        case VALIDO -> validos.get(proximoValido.getAndIncrement() % validos.size());
+                        case INVALIDO -> TokenFactory.TokenComAssinaturaInvalida();
+                        case EXPIRADO -> Userfactory.TokenExpirado();
+                    };
+                    ClosedLoop.Chamada chamada = ClosedLoop.chamar(
+                            () -> endpoint == Endpoint.VERIFY ? auth.VerificarToken(token) : auth.RefreshToken(token));
+                    latencias.get(new Chave(endpoint, tipo)).recordValue(chamada.nanos());
+                    if (!chamada.respondeu()) {
+                        falhas.increment();
+                    } else if (chamada.status() != tipo.status) {
+                        inesperados.increment();
+                    }
+                };
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Nível " + concorrencia + " interrompido", e);
+        }
+
+        Histogram total = new Histogram(3);
+        List<Classe> classes = new ArrayList<>();
+        latencias.forEach((chave, recorder) -> {
+            Histogram h = recorder.getIntervalHistogram();
+            total.add(h);
+            classes.add(new Classe(chave.endpoint(), chave.tipo(), h.getTotalCount(), h.getTotalCount() / segundos,
+                    ms(h, 50), ms(h, 99), ms(h, 99.9)));
+        });
+        return new Nivel(concorrencia, total.getTotalCount(), inesperados.sum(), falhas.sum(),
+                total.getTotalCount() / segundos, ms(total, 50), ms(total, 99), ms(total, 99.9), classes);
+    }
+
+    private Tipo sortear() {
+        int soma = 0;
+        for (int peso : mix.values()) {
+            soma += peso;
+        }
+        int sorteio = ThreadLocalRandom.current().nextInt(soma);
+        for (Map.Entry<Tipo, Integer> peso : mix.entrySet()) {
+            sorteio -= peso.getValue();
+            if (sorteio < 0) {
+                return peso.getKey();
+            }
+        }
+        throw new IllegalStateException("mix vazio");
+    }
+
+    private static double ms(Histogram h, double percentil) {
+        return h.getTotalCount() == 0 ? 0 : h.getValueAtPercentile(percentil) / 1e6;
+    }
+
+    private record Chave(Endpoint endpoint, Tipo tipo) {
+    }
+
+    // Latências em milissegundos
+    public record Classe(Endpoint endpoint, Tipo tipo, long requisicoes, double throughput,
+                         double p50, double p99, double p999) {
+    }
+
+    public record Nivel(int concorrencia, long requisicoes, long inesperados, long falhas, double throughput,
+                        double p50, double p99, double p999, List<Classe> classes) {
+
+        public Classe classe(Endpoint endpoint, Tipo tipo) {
+            return classes.stream()
+                    .filter(c -> c.endpoint() == endpoint && c.tipo() == tipo)
+                    .findFirst()
+                    .orElse(null);
+        }
+    }
+
+    public record Relatorio(List<Nivel> niveis) {
+
+        // Nível de maior vazão
+        public Nivel saturacao() {
+            Nivel melhor = niveis.get(0);
+            for (Nivel n : niveis) {
+                if (n.throughput() > melhor.throughput()) {
+                    melhor = n;
+                }
+            }
+            return melhor;
+        }
+
+        public long inesperados() {
+            return niveis.stream().mapToLong(Nivel::inesperados).sum();
+        }
+
+        public long falhas() {
+            return niveis.stream().mapToLong(Nivel::falhas).sum();
+        }
+
+        // p50 do tipo / p50 do token válido no nível de saturação; < 1 = rejeitar custa menos que aceitar.
+        // NaN quando falta amostra de um dos dois.
+        public double custoRelativo(Endpoint endpoint, Tipo tipo) {
+            Nivel n = saturacao();
+            Classe rejeitado = n.classe(endpoint, tipo);
+            Classe valido = n.classe(endpoint, Tipo.VALIDO);
+            if (rejeitado == null || valido == null || rejeitado.requisicoes() == 0 || valido.p50() == 0) {
+                return Double.NaN;
+            }
+            return rejeitado.p50() / valido.p50();
+        }
+
+        // Todo tipo rejeitado com amostra sai mais barato que o válido, em todos os endpoints medidos
+        public boolean rejeicaoMaisBarata() {
+            boolean comparou = false;
+            for (Classe c : saturacao().classes()) {
+                if (c.tipo() == Tipo.VALIDO) {
+                    continue;
+                }
+                double custo = custoRelativo(c.endpoint(), c.tipo());
+                if (Double.isNaN(custo)) {
+                    continue;
+                }
+                comparou = true;
+                if (custo >= 1) {
+                    return false;
+                }
+            }
+            return comparou;
+        }
+
+        public void imprimir() {
+            System.out.printf("%6s %9s %9s %7s %9s %9s %9s %9s%n",
+                    "conc", "reqs", "inesper", "falhas", "req/s", "p50 ms", "p99 ms", "p999 ms");
+            for (Nivel n : niveis) {
+                System.out.printf("%6d %9d %9d %7d %9.1f %9.2f %9.2f %9.2f%n",
+                        n.concorrencia(), n.requisicoes(), n.inesperados(), n.falhas(), n.throughput(),
+                        n.p50(), n.p99(), n.p999());
+            }
+            Nivel saturacao = saturacao();
+            System.out.printf("%nSaturação: %.1f req/s com %d clientes (p99 %.2f ms)%n",
+                    saturacao.throughput(), saturacao.concorrencia(), saturacao.p99());
+            System.out.printf("%-9s %-9s %9s %9s %9s %9s %9s %10s%n",
+                    "endpoint", "token", "reqs", "req/s", "p50 ms", "p99 ms", "p999 ms", "x válido");
+            for (Classe c : saturacao.classes()) {
+                double custo = c.tipo() == Tipo.VALIDO ? 1 : custoRelativo(c.endpoint(), c.tipo());
+                System.out.printf("%-9s %-9s %9d %9.1f %9.2f %9.2f %9.2f %10.2f%n",
+                        c.endpoint().name().toLowerCase(Locale.ROOT), c.tipo().name().toLowerCase(Locale.ROOT),
+                        c.requisicoes(), c.throughput(), c.p50(), c.p99(), c.p999(), custo);
+            }
+            System.out.println(rejeicaoMaisBarata()
+                    ? "Rejeitar token inválido/expirado custa menos que aceitar um válido."
+                    : "ATENÇÃO: rejeitar token inválido/expirado não está mais barato que aceitar um válido.");
+        }
+    }
+}
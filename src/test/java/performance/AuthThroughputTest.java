@@ -0,0 +1,84 @@
+package performance;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import payloads.UserPool;
+import stub.StubBackend;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Self-test da vazão de autenticação contra o StubBackend (JWT HS256 de verdade, sem banco)
+public class AuthThroughputTest {
+
+    static StubBackend stub;
+    static String baseUrl;
+
+    @BeforeAll
+    public static void subirStub() {
+        stub = new StubBackend(0, StubBackend.Injecao.NENHUMA, 11);
+        baseUrl = stub.baseUrl() + "/api";
+    }
+
+    @AfterAll
+    public static void derrubarStub() {
+        stub.close();
+    }
+
+    @Test
+    public void deveMedirCadaTipoDeTokenComOStatusEsperado() {
+        AuthThroughput.Relatorio relatorio;
+        try (UserPool pool = new UserPool(baseUrl, 2)) {
+            relatorio = new AuthThroughput(baseUrl, pool)
+                    .mix(AuthThroughput.mix("valido:50,invalido:30,expirado:20"))
+                    .niveis(1, 4)
+                    .duracaoPorNivel(Duration.ofMillis(400))
+                    .aquecimento(Duration.ofMillis(200))
+                    .ganhoMinimo(-1)
+                    .executar();
+        }
+
+        assertThat(relatorio.niveis(), hasSize(2));
+        assertThat(relatorio.inesperados(), equalTo(0L));
+        assertThat(relatorio.falhas(), equalTo(0L));
+        AuthThroughput.Nivel nivel = relatorio.niveis().get(1);
+        assertThat(nivel.classes(), hasSize(6));
+        for (AuthThroughput.Classe classe : nivel.classes()) {
+            assertThat(classe.endpoint() + "/" + classe.tipo(), classe.requisicoes(), greaterThan(0L));
+        }
+        assertThat(nivel.requisicoes(), equalTo(nivel.classes().stream().mapToLong(AuthThroughput.Classe::requisicoes).sum()));
+        assertThat(relatorio.custoRelativo(AuthThroughput.Endpoint.VERIFY, AuthThroughput.Tipo.INVALIDO), greaterThan(0.0));
+    }
+
+    @Test
+    public void deveApontarASaturacaoEComparaRejeicaoComAceitacao() {
+        AuthThroughput.Classe valido = new AuthThroughput.Classe(AuthThroughput.Endpoint.VERIFY, AuthThroughput.Tipo.VALIDO, 100, 50, 4, 8, 9);
+        AuthThroughput.Classe invalido = new AuthThroughput.Classe(AuthThroughput.Endpoint.VERIFY, AuthThroughput.Tipo.INVALIDO, 40, 20, 1, 2, 3);
+        AuthThroughput.Classe caro = new AuthThroughput.Classe(AuthThroughput.Endpoint.VERIFY, AuthThroughput.Tipo.INVALIDO, 40, 20, 6, 9, 9);
+        AuthThroughput.Nivel um = new AuthThroughput.Nivel(1, 100, 0, 0, 100, 2, 4, 5, List.of(valido, invalido));
+        AuthThroughput.Nivel oito = new AuthThroughput.Nivel(8, 400, 0, 0, 400, 3, 7, 9, List.of(valido, invalido));
+        AuthThroughput.Nivel dezesseis = new AuthThroughput.Nivel(16, 390, 0, 0, 390, 6, 20, 30, List.of(valido, caro));
+
+        AuthThroughput.Relatorio relatorio = new AuthThroughput.Relatorio(List.of(um, oito, dezesseis));
+
+        assertThat(relatorio.saturacao(), sameInstance(oito));
+        assertThat(relatorio.custoRelativo(AuthThroughput.Endpoint.VERIFY, AuthThroughput.Tipo.INVALIDO), closeTo(0.25, 1e-9));
+        assertThat(relatorio.rejeicaoMaisBarata(), is(true));
+        assertThat(new AuthThroughput.Relatorio(List.of(dezesseis)).rejeicaoMaisBarata(), is(false));
+        assertThat(Double.isNaN(relatorio.custoRelativo(AuthThroughput.Endpoint.REFRESH, AuthThroughput.Tipo.EXPIRADO)), is(true));
+    }
+
+    @Test
+    public void deveLerOMixDaLinhaDeComando() {
+        assertThat(AuthThroughput.mix("valido:70, INVALIDO:20,expirado:10"),
+                equalTo(Map.of(AuthThroughput.Tipo.VALIDO, 70, AuthThroughput.Tipo.INVALIDO, 20, AuthThroughput.Tipo.EXPIRADO, 10)));
+        assertThrows(IllegalArgumentException.class, () -> AuthThroughput.mix("valido=70"));
+        assertThrows(IllegalArgumentException.class, () -> AuthThroughput.mix("spray:10"));
+    }
+}
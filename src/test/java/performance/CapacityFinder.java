@@ -0,0 +1,233 @@
+package performance;
+
+import io.restassured.response.Response;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Procura a capacidade de um endpoint subindo a carga em degraus até o SLO quebrar (p99 ou taxa de erro acima do limite).
+//
+// Modo TAXA: cada degrau é uma rodada do LoadRunner (modelo aberto, latência desde o instante agendado), com a taxa
+// de chegada multiplicada por "fator". Modo CONCORRENCIA: N clientes em laço fechado, N multiplicado por "fator".
+//
+// O relatório traz a curva carga -> vazão, o maior degrau dentro do SLO (capacidade sustentável) e o joelho da curva
+// de vazão: o ponto mais distante da reta entre o primeiro e o último degrau, onde mais carga passa a render pouca vazão.
+public class CapacityFinder {
+
+    public enum Modo {
+        TAXA, CONCORRENCIA
+    }
+
+    private final String endpoint;
+    private final Supplier<Response> passo;
+    private Modo modo = Modo.TAXA;
+    private double inicial = 5;
+    private double fator = 1.5;
+    private int maxDegraus = 12;
+    private Duration duracaoPorDegrau = Duration.ofSeconds(20);
+    private Duration aquecimento = Duration.ofSeconds(2);
+    private double sloP99 = 500;
+    private double sloErros = 0.01;
+
+    public CapacityFinder(String endpoint, Supplier<Response> passo) {
+        this.endpoint = endpoint;
+        this.passo = passo;
+    }
+
+    public CapacityFinder modo(Modo modo) {
+        this.modo = modo;
+        return this;
+    }
+
+    // req/s no modo TAXA, clientes no modo CONCORRENCIA
+    public CapacityFinder inicial(double inicial) {
+        if (inicial <= 0) {
+            throw new IllegalArgumentException("carga inicial deve ser positiva: " + inicial);
+        }
+        this.inicial = inicial;
+        return this;
+    }
+
+    public CapacityFinder fator(double fator) {
+        if (fator <= 1) {
+            throw new IllegalArgumentException("fator deve ser > 1: " + fator);
+        }
+        this.fator = fator;
+        return this;
+    }
+
+    // o relatório precisa de pelo menos um degrau (joelho, sustentável)
+    public CapacityFinder maxDegraus(int maxDegraus) {
+        if (maxDegraus < 1) {
+            throw new IllegalArgumentException("maxDegraus deve ser >= 1: " + maxDegraus);
+        }
+        this.maxDegraus = maxDegraus;
+        return this;
+    }
+
+    public CapacityFinder duracaoPorDegrau(Duration duracaoPorDegrau) {
+        this.duracaoPorDegrau = duracaoPorDegrau;
+        return this;
+    }
+
+    // um cliente em laço fechado antes do primeiro degrau (JIT, pool de conexões); não entra no relatório
+    public CapacityFinder aquecimento(Duration aquecimento) {
+        this.aquecimento = aquecimento;
+        return this;
+    }
+
+    // p99 máximo em ms e fração máxima de erros (inclui descartadas no modo TAXA)
+    public CapacityFinder slo(double p99Ms, double taxaDeErro) {
+        this.sloP99 = p99Ms;
+        this.sloErros = taxaDeErro;
+        return this;
+    }
+
+    public Relatorio executar() {
+        if (!aquecimento.isZero()) {
+            porConcorrencia(1, aquecimento);
+        }
+        List<Degrau> degraus = new ArrayList<>();
+        double carga = inicial;
+        String parada = "limite de " + maxDegraus + " degraus sem quebrar o SLO";
+        double anterior = 0;
+        for (int i = 0; i < maxDegraus; i++) {
+            // no modo concorrência a carga é inteira e sempre sobe pelo menos 1
+            double alvo = modo == Modo.CONCORRENCIA ? Math.max(Math.round(carga), (long) anterior + 1) : carga;
+            Degrau degrau = modo == Modo.TAXA ? porTaxa(alvo) : porConcorrencia((int) alvo, duracaoPorDegrau);
+            degraus.add(degrau);
+            System.out.printf(Locale.ROOT, "[capacidade] %s %s %.1f -> %.1f req/s, p99 %.1f ms, erros %.2f%%%s%n",
+                    endpoint, modo == Modo.TAXA ? "taxa" : "clientes", alvo, degrau.throughput(), degrau.p99(),
+                    degrau.taxaDeErro() * 100, degrau.dentroDoSlo() ? "" : "  <- SLO quebrado");
+            if (!degrau.dentroDoSlo()) {
+                parada = degrau.p99() > sloP99
+                        ? String.format(Locale.ROOT, "p99 %.1f ms > %.1f ms", degrau.p99(), sloP99)
+                        : String.format(Locale.ROOT, "erros %.2f%% > %.2f%%", degrau.taxaDeErro() * 100, sloErros * 100);
+                break;
+            }
+            anterior = alvo;
+            carga *= fator;
+        }
+        return new Relatorio(endpoint, modo, sloP99, sloErros, degraus, parada);
+    }
+
+    private Degrau porTaxa(double rps) {
+        LoadReport.EndpointResult r = new LoadRunner()
+                .duracao(duracaoPorDegrau)
+                .cenario(endpoint, rps, passo)
+                .executar()
+                .resultado(endpoint);
+        return degrau(rps, r.requisicoes() + r.descartadas(), r.erros() + r.descartadas(), r.throughput(), r.p50(), r.p99());
+    }
+
+    private Degrau porConcorrencia(int clientes, Duration duracao) {
+        Recorder latencias = new Recorder(3);
+        LongAdder erros = new LongAdder();
+        double segundos;
+        try {
+            segundos = ClosedLoop.executar(clientes, duracao, "capacidade-" + clientes, i -> () -> {
+                ClosedLoop.Chamada chamada = ClosedLoop.chamar(passo);
+                latencias.recordValue(chamada.nanos());
+                if (!chamada.respondeu() || chamada.status() >= 400) {
+                    erros.increment();
+                }
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Degrau de " + clientes + " clientes interrompido", e);
+        }
+        Histogram h = latencias.getIntervalHistogram();
+        long total = h.getTotalCount();
+        return degrau(clientes, total, erros.sum(), total / segundos,
+                total == 0 ? 0 : h.getValueAtPercentile(50) / 1e6, total == 0 ? 0 : h.getValueAtPercentile(99) / 1e6);
+    }
+
+    private Degrau degrau(double carga, long requisicoes, long erros, double throughput, double p50, double p99) {
+        double taxaDeErro = requisicoes == 0 ? 1 : (double) erros / requisicoes;
+        return new Degrau(carga, requisicoes, erros, throughput, p50, p99, taxaDeErro,
+                requisicoes > 0 && p99 <= sloP99 && taxaDeErro <= sloErros);
+    }
+
+    // carga = req/s alvo (TAXA) ou clientes (CONCORRENCIA); latências em ms
+    public record Degrau(double carga, long requisicoes, long erros, double throughput, double p50, double p99,
+                         double taxaDeErro, boolean dentroDoSlo) {
+    }
+
+    public record Relatorio(String endpoint, Modo modo, double sloP99, double sloErros, List<Degrau> degraus,
+                            String parada) {
+
+        // Maior vazão entre os degraus dentro do SLO; null se nem o primeiro passou
+        public Degrau sustentavel() {
+            Degrau melhor = null;
+            for (Degrau d : degraus) {
+                if (d.dentroDoSlo() && (melhor == null || d.throughput() > melhor.throughput())) {
+                    melhor = d;
+                }
+            }
+            return melhor;
+        }
+
+        // Joelho da curva carga -> vazão: com as duas escalas normalizadas em 0..1, o degrau mais acima da reta
+        // entre o primeiro e o último. Com menos de 3 degraus não há curva, e o joelho é o último.
+        public Degrau joelho() {
+            if (degraus.size() < 3) {
+                return degraus.get(degraus.size() - 1);
+            }
+            Degrau primeiro = degraus.get(0);
+            Degrau ultimo = degraus.get(degraus.size() - 1);
+            double minCarga = primeiro.carga();
+            double faixaCarga = ultimo.carga() - minCarga;
+            double minVazao = Double.MAX_VALUE;
+            double maxVazao = 0;
+            for (Degrau d : degraus) {
+                minVazao = Math.min(minVazao, d.throughput());
+                maxVazao = Math.max(maxVazao, d.throughput());
+            }
+            double faixaVazao = maxVazao - minVazao;
+            if (faixaCarga <= 0 || faixaVazao <= 0) {
+                return ultimo;
+            }
+            double yPrimeiro = (primeiro.throughput() - minVazao) / faixaVazao;
+            double yUltimo = (ultimo.throughput() - minVazao) / faixaVazao;
+            Degrau joelho = ultimo;
+            double maiorDistancia = 0;
+            for (Degrau d : degraus) {
+                double x = (d.carga() - minCarga) / faixaCarga;
+                double y = (d.throughput() - minVazao) / faixaVazao;
+                double distancia = y - (yPrimeiro + (yUltimo - yPrimeiro) * x);
+                if (distancia > maiorDistancia) {
+                    maiorDistancia = distancia;
+                    joelho = d;
+                }
+            }
+            return joelho;
+        }
+
+        public void imprimir() {
+            String unidade = modo == Modo.TAXA ? "alvo req/s" : "clientes";
+            System.out.printf("%n%s - SLO p99 <= %.0f ms e erros <= %.2f%%%n", endpoint, sloP99, sloErros * 100);
+            System.out.printf("%12s %9s %8s %10s %9s %9s %8s %5s%n",
+                    unidade, "reqs", "erros", "req/s", "p50 ms", "p99 ms", "erro %", "SLO");
+            Degrau joelho = joelho();
+            for (Degrau d : degraus) {
+                System.out.printf("%12.1f %9d %8d %10.1f %9.2f %9.2f %8.2f %5s%s%n",
+                        d.carga(), d.requisicoes(), d.erros(), d.throughput(), d.p50(), d.p99(), d.taxaDeErro() * 100,
+                        d.dentroDoSlo() ? "ok" : "FORA", d == joelho ? "  <- joelho" : "");
+            }
+            Degrau sustentavel = sustentavel();
+            System.out.println("Parada: " + parada);
+            if (sustentavel == null) {
+                System.out.println("Capacidade sustentável: nenhum degrau dentro do SLO (reduza a carga inicial)");
+            } else {
+                System.out.printf("Capacidade sustentável: %.1f req/s (p99 %.2f ms, %s %.1f); joelho em %.1f req/s%n",
+                        sustentavel.throughput(), sustentavel.p99(), unidade, sustentavel.carga(), joelho.throughput());
+            }
+        }
+    }
+}
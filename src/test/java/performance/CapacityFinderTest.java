@@ -0,0 +1,112 @@
+package performance;
+
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import payloads.GamesServices;
+import stub.LocalServer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static stub.LocalServer.dormir;
+import static stub.LocalServer.responder;
+
+// Self-test da busca de capacidade contra um servidor local com teto conhecido:
+// 1 worker e 40 ms por requisição = ~25 req/s, depois disso a fila cresce e o p99 explode
+public class CapacityFinderTest {
+
+    static LocalServer servidor;
+    static String baseUrl;
+
+    @BeforeAll
+    public static void subirServidorLocal() {
+        servidor = LocalServer.com(Map.of("/api/games/search", ex -> {
+            dormir(40);
+            responder(ex, 200, "[]");
+        }), Executors.newSingleThreadExecutor());
+        baseUrl = servidor.baseUrl();
+    }
+
+    @AfterAll
+    public static void derrubarServidorLocal() {
+        servidor.close();
+    }
+
+    private Supplier<Response> busca() {
+        GamesServices games = new GamesServices(baseUrl);
+        return () -> games.buscarJogos("zelda");
+    }
+
+    @Test
+    public void deveSubirATaxaAteOP99QuebrarEApontarOTeto() {
+        CapacityFinder.Relatorio relatorio = new CapacityFinder("/games/search", busca())
+                .inicial(5)
+                .fator(2)
+                .maxDegraus(6)
+                .duracaoPorDegrau(Duration.ofMillis(1500))
+                .aquecimento(Duration.ofSeconds(1))
+                .slo(200, 0.01)
+                .executar();
+        relatorio.imprimir();
+
+        CapacityFinder.Degrau ultimo = relatorio.degraus().get(relatorio.degraus().size() - 1);
+        assertThat(ultimo.dentroDoSlo(), is(false));
+        assertThat(relatorio.parada(), anyOf(startsWith("p99"), startsWith("erros")));
+        CapacityFinder.Degrau sustentavel = relatorio.sustentavel();
+        assertThat(sustentavel, notNullValue());
+        // teto teórico de 25 req/s: o sustentável fica abaixo e o degrau que quebrou está acima
+        assertThat(sustentavel.throughput(), allOf(greaterThan(3.0), lessThan(27.0)));
+        assertThat(ultimo.carga(), greaterThan(sustentavel.carga()));
+    }
+
+    @Test
+    public void deveSubirClientesNoModoConcorrencia() {
+        CapacityFinder.Relatorio relatorio = new CapacityFinder("/games/search", busca())
+                .modo(CapacityFinder.Modo.CONCORRENCIA)
+                .inicial(1)
+                .fator(2)
+                .maxDegraus(8)
+                .duracaoPorDegrau(Duration.ofMillis(800))
+                .aquecimento(Duration.ofSeconds(1))
+                .slo(200, 0.01)
+                .executar();
+        relatorio.imprimir();
+
+        List<CapacityFinder.Degrau> degraus = relatorio.degraus();
+        assertThat(degraus.get(0).carga(), equalTo(1.0));
+        assertThat(degraus.get(1).carga(), equalTo(2.0));
+        assertThat(degraus.get(degraus.size() - 1).dentroDoSlo(), is(false));
+        // com 1 worker, mais clientes só aumentam a fila: a vazão satura perto de 25 req/s
+        assertThat(relatorio.sustentavel().throughput(), lessThan(27.0));
+    }
+
+    @Test
+    public void deveAcharOJoelhoDaCurvaDeVazao() {
+        List<CapacityFinder.Degrau> curva = List.of(
+                degrau(10, 10), degrau(20, 20), degrau(40, 38), degrau(80, 45), degrau(160, 46));
+        CapacityFinder.Relatorio relatorio = new CapacityFinder.Relatorio("/checkout", CapacityFinder.Modo.TAXA,
+                800, 0.01, curva, "teste");
+
+        assertThat(relatorio.joelho(), sameInstance(curva.get(2)));
+        assertThat(relatorio.sustentavel(), sameInstance(curva.get(4)));
+        // curva reta não tem joelho: fica o último degrau
+        List<CapacityFinder.Degrau> reta = List.of(degrau(10, 10), degrau(20, 20), degrau(30, 30));
+        assertThat(new CapacityFinder.Relatorio("/checkout", CapacityFinder.Modo.TAXA, 800, 0.01, reta, "teste").joelho(),
+                sameInstance(reta.get(2)));
+        assertThrows(IllegalArgumentException.class, () -> new CapacityFinder("/checkout", busca()).fator(1));
+        // sem degraus não há joelho nem capacidade sustentável para relatar
+        assertThrows(IllegalArgumentException.class, () -> new CapacityFinder("/checkout", busca()).maxDegraus(0));
+    }
+
+    private static CapacityFinder.Degrau degrau(double carga, double vazao) {
+        return new CapacityFinder.Degrau(carga, (long) vazao * 10, 0, vazao, 5, 20, 0, true);
+    }
+}
@@ -0,0 +1,64 @@
+package performance;
+
+import config.ConnectionPool;
+import metrics.LatencyBudgets;
+
+import java.time.Duration;
+import java.util.Locale;
+
+// Ponto de entrada da busca de capacidade (perfil Maven "capacidade"):
+//   mvn test-compile exec:java -Pcapacidade -Dcapacidade.cenarios=search,checkout,login -Dcapacidade.inicial=10 -Dcapacidade.duracao=20
+public class CapacityMain {
+
+    public static void main(String[] args) {
+        // degraus fora do SLO geram muitas falhas de propósito; log de cada uma só atrapalha
+        if (System.getProperty("log.modo") == null) {
+            System.setProperty("log.modo", "nunca");
+        }
+        String[] nomes = System.getProperty("capacidade.cenarios", "search,checkout,login").split(",");
+        CapacityFinder.Modo modo = CapacityFinder.Modo.valueOf(
+                System.getProperty("capacidade.modo", "taxa").trim().toUpperCase(Locale.ROOT));
+        double inicial = Double.parseDouble(System.getProperty("capacidade.inicial", modo == CapacityFinder.Modo.TAXA ? "5" : "1"));
+        double fator = Double.parseDouble(System.getProperty("capacidade.fator", modo == CapacityFinder.Modo.TAXA ? "1.5" : "2"));
+        int passos = Integer.getInteger("capacidade.passos", 12);
+        long duracao = Long.getLong("capacidade.duracao", 20);
+        String p99 = System.getProperty("capacidade.p99");
+        double erros = Double.parseDouble(System.getProperty("capacidade.erros", "0.01"));
+
+        System.out.printf("Capacidade: %s, modo %s, de %.1f x%.2f até %d degraus de %ds%n",
+                String.join(",", nomes), modo, inicial, fator, passos, duracao);
+        Cenarios cenarios = new Cenarios();
+        StringBuilder resumo = new StringBuilder();
+        for (String nome : nomes) {
+            String n = nome.trim();
+            String endpoint = cenarios.endpoint(n);
+            CapacityFinder.Relatorio relatorio = new CapacityFinder(endpoint, cenarios.passo(n))
+                    .modo(modo)
+                    .inicial(inicial)
+                    .fator(fator)
+                    .maxDegraus(passos)
+                    .duracaoPorDegrau(Duration.ofSeconds(duracao))
+                    .slo(p99 != null ? Double.parseDouble(p99) : sloP99(endpoint), erros)
+                    .executar();
+            relatorio.imprimir();
+            CapacityFinder.Degrau sustentavel = relatorio.sustentavel();
+            resumo.append(String.format(Locale.ROOT, "  %-16s %10s req/s  (joelho %.1f req/s; %s)%n", endpoint,
+                    sustentavel == null ? "-" : String.format(Locale.ROOT, "%.1f", sustentavel.throughput()),
+                    relatorio.joelho().throughput(), relatorio.parada()));
+        }
+        System.out.printf("%nMáximo sustentável por endpoint:%n%s", resumo);
+        // espera por conexão do cliente: se alta, o teto medido é -Dhttp.pool.maxPorRota e não o backend
+        System.out.println(ConnectionPool.resumo());
+        System.exit(0);
+    }
+
+    // p99 do latency-budgets.properties; budget de outro percentil não vale como p99: sem p99 declarado, 500 ms
+    private static double sloP99(String endpoint) {
+        Long p99 = LatencyBudgets.padrao().budgets(endpoint).get(99.0);
+        if (p99 != null) {
+            return p99;
+        }
+        System.out.printf("%s sem budget p99 em latency-budgets.properties: SLO de p99 padrão, 500 ms%n", endpoint);
+        return 500;
+    }
+}
@@ -0,0 +1,64 @@
+package performance;
+
+import config.BaseTests;
+import io.restassured.response.Response;
+import payloads.AuthServices;
+import payloads.CarrinhoPayload;
+import payloads.CheckoutServices;
+import payloads.GamesServices;
+import payloads.UserPool;
+
+import java.util.function.Supplier;
+
+// Passos de carga montados sobre os services existentes
+public class Cenarios extends BaseTests {
+
+    public Cenarios() {
+    }
+
+    public Cenarios(String baseUrl) {
+        super(baseUrl);
+    }
+
+    // Nome curto usado em -Dcarga.cenarios -> endpoint que aparece no relatório
+    public String endpoint(String nome) {
+        return switch (nome) {
+            case "login" -> LOGIN_ENDPOINT;
+            case "games" -> GAMES_ENDPOINT;
+            case "search" -> SEARCH_ENDPOINT;
+            case "checkout" -> CHECKOUT_ENDPOINT;
+            default -> throw new IllegalArgumentException("Cenário desconhecido: " + nome);
+        };
+    }
+
+    public Supplier<Response> passo(String nome) {
+        switch (nome) {
+            case "login": {
+                AuthServices auth = new AuthServices(baseUrl);
+                return () -> auth.fazerLogin(QA_USER_EMAIL, QA_USER_PASSWORD);
+            }
+            case "games": {
+                GamesServices games = new GamesServices(baseUrl);
+                return () -> games.listarTodosJogos(GAMES_ENDPOINT);
+            }
+            case "search": {
+                GamesServices games = new GamesServices(baseUrl);
+                String termo = System.getProperty("carga.search.q", "a");
+                return () -> games.buscarJogos(termo);
+            }
+            case "checkout": {
+                // cada requisição usa uma conta do pool, como usuários reais concorrentes
+                UserPool pool = new UserPool(baseUrl, Integer.getInteger("carga.usuarios", 32));
+                CheckoutServices checkout = new CheckoutServices(baseUrl);
+                byte[] body = CarrinhoPayload.carrinho().item(1, 1).formaPagamento("pix").bytes();
+                return () -> {
+                    try (UserPool.Lease usuario = pool.emprestar()) {
+                        return checkout.realizarCheckout(usuario.token(), body);
+                    }
+                };
+            }
+            default:
+                throw new IllegalArgumentException("Cenário desconhecido: " + nome);
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package performance;
+
+import io.restassured.path.json.JsonPath;
+import io.restassured.path.json.config.JsonPathConfig;
+import io.restassured.response.Response;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import payloads.CarrinhoPayload;
+import payloads.CheckoutServices;
+import payloads.UserPool;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+// Consistência do /api/checkout sob concorrência: cada nível dispara N contas do pool em paralelo, cada uma com
+// carrinhos de vários itens sobre poucos jogos (mesmas linhas de "jogos" disputadas), e depois confere o que o
+// backend gravou em /api/orders/user/:id contra o que ele confirmou com 200.
+//
+// O banco não tem coluna de estoque; a "baixa de estoque" conferida é a soma de unidades por jogo nos pedidos
+// gravados contra a soma confirmada. Divergências procuradas:
+//   perdidos   - 200 com orderId que não aparece no histórico (update perdido)
+//   fantasmas  - pedido no histórico que não recebeu 200 (rollback que não desfez, venda a mais)
+//   divergentes - pedido gravado com itens, quantidades ou total diferentes do carrinho enviado
+public class CheckoutConsistency {
+
+    // O histórico devolve só os 50 pedidos mais recentes por usuário
+    static final int LIMITE_HISTORICO = 50;
+
+    private static final JsonPathConfig NUMEROS_EXATOS = JsonPathConfig.jsonPathConfig()
+            .numberReturnType(JsonPathConfig.NumberReturnType.BIG_DECIMAL);
+
+    private final UserPool pool;
+    private final CheckoutServices checkout;
+    private int[] niveis = {1, 4, 16};
+    private int checkoutsPorUsuario = 10;
+    private int[] jogos = {1, 2, 3, 4, 5};
+    private int maxItens = 3;
+
+    public CheckoutConsistency(String baseUrl, UserPool pool) {
+        this.pool = pool;
+        this.checkout = new CheckoutServices(baseUrl);
+    }
+
+    // Contas comprando ao mesmo tempo em cada nível; cada uma é um usuário distinto do pool
+    public CheckoutConsistency niveis(int... niveis) {
+        for (int nivel : niveis) {
+            if (nivel > pool.tamanho()) {
+                throw new IllegalArgumentException("Nível " + nivel + " maior que o pool (" + pool.tamanho()
+                        + " contas); aumente o pool");
+            }
+        }
+        this.niveis = niveis.clone();
+        return this;
+    }
+
+    public CheckoutConsistency checkoutsPorUsuario(int checkoutsPorUsuario) {
+        if (checkoutsPorUsuario > LIMITE_HISTORICO) {
+            throw new IllegalArgumentException("Máximo de " + LIMITE_HISTORICO
+                    + " checkouts por usuário por nível: o histórico não mostra além disso");
+        }
+        this.checkoutsPorUsuario = checkoutsPorUsuario;
+        return this;
+    }
+
+    // Ids existentes no catálogo; poucos ids = mais disputa pelas mesmas linhas
+    public CheckoutConsistency jogos(int... jogos) {
+        this.jogos = jogos.clone();
+        return this;
+    }
+
+    public CheckoutConsistency maxItens(int maxItens) {
+        this.maxItens = maxItens;
+        return this;
+    }
+
+    public Relatorio executar() {
+        List<Nivel> resultados = new ArrayList<>();
+        for (int nivel : niveis) {
+            resultados.add(executarNivel(nivel));
+        }
+        return new Relatorio(resultados);
+    }
+
+    private Nivel executarNivel(int concorrencia) {
+        List<Conta> contas = new ArrayList<>(concorrencia);
+        try {
+            for (int i = 0; i < concorrencia; i++) {
+                UserPool.Lease usuario = pool.emprestar();
+                contas.add(new Conta(usuario, ultimoPedido(usuario)));
+            }
+
+            Recorder latencias = new Recorder(3);
+            LongAdder falhas = new LongAdder();
+            CountDownLatch largada = new CountDownLatch(1);
+            List<Thread> threads = new ArrayList<>(concorrencia);
+            for (Conta conta : contas) {
+                threads.add(Thread.ofVirtual().name("consistencia-" + conta.usuario.userId())
+                        .start(() -> comprar(conta, largada, latencias, falhas)));
+            }
+            long inicio = System.nanoTime();
+            largada.countDown();
+            for (Thread t : threads) {
+                t.join();
+            }
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+
+            Conferencia conferencia = new Conferencia();
+            for (Conta conta : contas) {
+                conferir(conta, conferencia);
+            }
+            Histogram h = latencias.getIntervalHistogram();
+            long total = (long) concorrencia * checkoutsPorUsuario;
+            return new Nivel(concorrencia, total, total - falhas.sum(), falhas.sum(), total / segundos,
+                    h.getValueAtPercentile(50) / 1e6, h.getValueAtPercentile(95) / 1e6, h.getValueAtPercentile(99) / 1e6,
+                    conferencia.perdidos, conferencia.fantasmas, conferencia.divergentes,
+                    conferencia.unidadesConfirmadas, conferencia.unidadesGravadas);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Nível " + concorrencia + " interrompido", e);
+        } finally {
+            contas.forEach(c -> c.usuario.close());
+        }
+    }
+
+    private void comprar(Conta conta, CountDownLatch largada, Recorder latencias, LongAdder falhas) {
+        try {
+            largada.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        for (int i = 0; i < checkoutsPorUsuario; i++) {
+            CarrinhoPayload.Carrinho carrinho = carrinho();
+            long inicio = System.nanoTime();
+            try {
+                Response response = checkout.realizarCheckout(conta.usuario.token(), carrinho.bytes());
+                latencias.recordValue(System.nanoTime() - inicio);
+                if (response.statusCode() == 200) {
+                    conta.confirmados.put(response.jsonPath().getLong("orderId"), carrinho);
+                } else {
+                    falhas.increment();
+                }
+            } catch (Exception e) {
+                // timeout ou conexão caída: o pedido pode ou não ter sido gravado, a conferência decide
+                latencias.recordValue(System.nanoTime() - inicio);
+                falhas.increment();
+            }
+        }
+    }
+
+    private CarrinhoPayload.Carrinho carrinho() {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        CarrinhoPayload.Carrinho carrinho = CarrinhoPayload.carrinho().formaPagamento("pix");
+        int itens = 1 + rnd.nextInt(maxItens);
+        for (int i = 0; i < itens; i++) {
+            carrinho.item(jogos[rnd.nextInt(jogos.length)], 1 + rnd.nextInt(3));
+        }
+        return carrinho;
+    }
+
+    // Maior orderId já no histórico: o que vier acima dele é deste nível
+    private long ultimoPedido(UserPool.Lease usuario) {
+        long maior = 0;
+        for (Map<String, Object> pedido : pedidos(usuario)) {
+            maior = Math.max(maior, numero(pedido.get("orderId")).longValue());
+        }
+        return maior;
+    }
+
+    private List<Map<String, Object>> pedidos(UserPool.Lease usuario) {
+        Response response = checkout.listarPedidos(usuario.token(), usuario.userId());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Histórico de pedidos do usuário " + usuario.userId()
+                    + " falhou: status " + response.statusCode());
+        }
+        return new JsonPath(response.asString()).using(NUMEROS_EXATOS).getList("orders");
+    }
+
+    @SuppressWarnings("unchecked")
+    private void conferir(Conta conta, Conferencia conferencia) {
+        for (CarrinhoPayload.Carrinho carrinho : conta.confirmados.values()) {
+            for (int i = 0; i < carrinho.quantidadeDeItens(); i++) {
+                conferencia.unidadesConfirmadas.merge(carrinho.id(i), (long) carrinho.qtd(i), Long::sum);
+            }
+        }
+
+        Map<Long, CarrinhoPayload.Carrinho> pendentes = new HashMap<>(conta.confirmados);
+        for (Map<String, Object> pedido : pedidos(conta.usuario)) {
+            long orderId = numero(pedido.get("orderId")).longValue();
+            if (orderId <= conta.ultimoPedidoAntes) {
+                continue;
+            }
+            List<Map<String, Object>> itens = (List<Map<String, Object>>) pedido.get("items");
+            BigDecimal totalItens = BigDecimal.ZERO;
+            Map<Integer, Long> gravado = new TreeMap<>();
+            for (Map<String, Object> item : itens) {
+                if (item.get("game_id") == null) {
+                    continue; // LEFT JOIN de pedido sem itens
+                }
+                int jogo = numero(item.get("game_id")).intValue();
+                long qtd = numero(item.get("quantity")).longValue();
+                gravado.merge(jogo, qtd, Long::sum);
+                conferencia.unidadesGravadas.merge(jogo, qtd, Long::sum);
+                totalItens = totalItens.add(numero(item.get("price")).multiply(BigDecimal.valueOf(qtd)));
+            }
+
+            CarrinhoPayload.Carrinho enviado = pendentes.remove(orderId);
+            if (enviado == null) {
+                conferencia.fantasmas++;
+            } else if (!gravado.equals(unidades(enviado))
+                    || totalItens.subtract(numero(pedido.get("totalPrice"))).abs().compareTo(new BigDecimal("0.01")) > 0) {
+                conferencia.divergentes++;
+            }
+        }
+        conferencia.perdidos += pendentes.size();
+    }
+
+    private static Map<Integer, Long> unidades(CarrinhoPayload.Carrinho carrinho) {
+        Map<Integer, Long> unidades = new TreeMap<>();
+        for (int i = 0; i < carrinho.quantidadeDeItens(); i++) {
+            unidades.merge(carrinho.id(i), (long) carrinho.qtd(i), Long::sum);
+        }
+        return unidades;
+    }
+
+    // numeric do Postgres pode chegar como número ou string no JSON
+    private static BigDecimal numero(Object valor) {
+        return valor instanceof BigDecimal b ? b : new BigDecimal(String.valueOf(valor));
+    }
+
+    private static final class Conta {
+
+        final UserPool.Lease usuario;
+        final long ultimoPedidoAntes;
+        final Map<Long, CarrinhoPayload.Carrinho> confirmados = new ConcurrentHashMap<>();
+
+        Conta(UserPool.Lease usuario, long ultimoPedidoAntes) {
+            this.usuario = usuario;
+            this.ultimoPedidoAntes = ultimoPedidoAntes;
+        }
+    }
+
+    private static final class Conferencia {
+
+        long perdidos;
+        long fantasmas;
+        long divergentes;
+        final Map<Integer, Long> unidadesConfirmadas = new TreeMap<>();
+        final Map<Integer, Long> unidadesGravadas = new TreeMap<>();
+    }
+
+    // Latências em milissegundos; unidades por id de jogo
+    public record Nivel(int concorrencia, long checkouts, long confirmados, long falhas, double throughput,
+                        double p50, double p95, double p99, long perdidos, long fantasmas, long divergentes,
+                        Map<Integer, Long> unidadesConfirmadas, Map<Integer, Long> unidadesGravadas) {
+
+        public boolean consistente() {
+            return perdidos == 0 && fantasmas == 0 && divergentes == 0 && unidadesConfirmadas.equals(unidadesGravadas);
+        }
+    }
+
+    public record Relatorio(List<Nivel> niveis) {
+
+        public boolean consistente() {
+            return niveis.stream().allMatch(Nivel::consistente);
+        }
+
+        public void imprimir() {
+            System.out.printf("%6s %9s %9s %7s %9s %9s %9s %9s %9s %10s %12s%n",
+                    "conc", "checkouts", "ok", "falhas", "req/s", "p50 ms", "p95 ms", "p99 ms",
+                    "perdidos", "fantasmas", "divergentes");
+            for (Nivel n : niveis) {
+                System.out.printf("%6d %9d %9d %7d %9.1f %9.2f %9.2f %9.2f %9d %10d %12d%n",
+                        n.concorrencia(), n.checkouts(), n.confirmados(), n.falhas(), n.throughput(),
+                        n.p50(), n.p95(), n.p99(), n.perdidos(), n.fantasmas(), n.divergentes());
+                if (!n.unidadesConfirmadas().equals(n.unidadesGravadas())) {
+                    System.out.printf("%6s unidades por jogo: confirmadas %s, gravadas %s%n", "",
+                            n.unidadesConfirmadas(), n.unidadesGravadas());
+                }
+            }
+        }
+    }
+}
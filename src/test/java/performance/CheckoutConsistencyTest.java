@@ -0,0 +1,163 @@
+package performance;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import payloads.UserPool;
+import stub.LocalServer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static stub.LocalServer.responder;
+
+// Self-test da conferência de checkout contra um servidor local que perde e inventa pedidos de propósito
+public class CheckoutConsistencyTest {
+
+    static final ObjectMapper JSON = new ObjectMapper();
+
+    static LocalServer servidor;
+    static String baseUrl;
+    static final AtomicInteger ids = new AtomicInteger();
+    static final AtomicLong pedidos = new AtomicLong(100);
+    static final Map<Integer, List<ObjectNode>> historico = new ConcurrentHashMap<>();
+
+    // a cada N checkouts: N-ésimo responde 200 sem gravar (perdido) ou grava e responde 500 (fantasma)
+    static volatile int perderACada;
+    static volatile int inventarACada;
+    static final AtomicInteger checkouts = new AtomicInteger();
+    static final AtomicInteger perdidosInjetados = new AtomicInteger();
+    static final AtomicInteger fantasmasInjetados = new AtomicInteger();
+
+    @BeforeAll
+    public static void subirServidorLocal() {
+        servidor = LocalServer.com(Map.of(
+                "/api/auth/register", ex -> responder(ex, 201, "{\"success\":true}"),
+                "/api/auth/login", ex -> {
+                    int id = ids.incrementAndGet();
+                    responder(ex, 200, "{\"token\":\"" + jwt(id) + "\",\"user\":{\"id\":" + id + "}}");
+                },
+                "/api/checkout", CheckoutConsistencyTest::checkout,
+                "/api/orders/user/", ex -> {
+                    int id = Integer.parseInt(ex.getRequestURI().getPath().substring("/api/orders/user/".length()));
+                    ArrayNode orders = JSON.createArrayNode();
+                    List<ObjectNode> doUsuario = historico.getOrDefault(id, List.of());
+                    for (int i = doUsuario.size() - 1; i >= 0 && orders.size() < 50; i--) {
+                        orders.add(doUsuario.get(i));
+                    }
+                    ObjectNode body = JSON.createObjectNode().put("success", true);
+                    body.set("orders", orders);
+                    responder(ex, 200, body.put("total", orders.size()).toString());
+                }));
+        baseUrl = servidor.baseUrl();
+    }
+
+    @AfterAll
+    public static void derrubarServidorLocal() {
+        servidor.close();
+    }
+
+    @BeforeEach
+    public void zerarFalhasInjetadas() {
+        perderACada = 0;
+        inventarACada = 0;
+        perdidosInjetados.set(0);
+        fantasmasInjetados.set(0);
+    }
+
+    private static void checkout(HttpExchange ex) throws IOException {
+        JsonNode body = JSON.readTree(ex.getRequestBody().readAllBytes());
+        int usuario = idDoToken(ex.getRequestHeaders().getFirst("Authorization"));
+        long orderId = pedidos.incrementAndGet();
+        ArrayNode items = JSON.createArrayNode();
+        double total = 0;
+        for (JsonNode item : body.get("cart")) {
+            items.addObject().put("game_id", item.get("id").asInt()).put("price", 10.50).put("quantity", item.get("qty").asInt());
+            total += 10.50 * item.get("qty").asInt();
+        }
+        ObjectNode pedido = JSON.createObjectNode().put("orderId", orderId).put("totalPrice", total);
+        pedido.set("items", items);
+
+        int n = checkouts.incrementAndGet();
+        boolean perder = perderACada > 0 && n % perderACada == 0;
+        if (perder) {
+            perdidosInjetados.incrementAndGet();
+        } else {
+            historico.computeIfAbsent(usuario, k -> new CopyOnWriteArrayList<>()).add(pedido);
+        }
+        if (!perder && inventarACada > 0 && n % inventarACada == 0) {
+            fantasmasInjetados.incrementAndGet();
+            responder(ex, 500, "{\"error\":\"Erro ao processar compra\"}");
+        } else {
+            responder(ex, 200, "{\"sucesso\":true,\"orderId\":" + orderId + "}");
+        }
+    }
+
+    private static String jwt(int id) {
+        long exp = System.currentTimeMillis() / 1000 + 3600;
+        String payload = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("{\"id\":" + id + ",\"exp\":" + exp + "}").getBytes(StandardCharsets.UTF_8));
+        return "eyJhbGciOiJIUzI1NiJ9." + payload + ".assinatura";
+    }
+
+    private static int idDoToken(String authorization) throws IOException {
+        String payload = authorization.substring("Bearer ".length()).split("\\.")[1];
+        return JSON.readTree(Base64.getUrlDecoder().decode(payload)).get("id").asInt();
+    }
+
+    @Test
+    public void naoDeveApontarDivergenciaQuandoTudoFoiGravado() {
+        try (UserPool pool = new UserPool(baseUrl, 4)) {
+            CheckoutConsistency.Relatorio relatorio = new CheckoutConsistency(baseUrl, pool)
+                    .niveis(1, 4)
+                    .checkoutsPorUsuario(10)
+                    .executar();
+
+            assertThat(relatorio.toString(), relatorio.consistente(), is(true));
+            List<Integer> niveis = new ArrayList<>();
+            for (CheckoutConsistency.Nivel n : relatorio.niveis()) {
+                niveis.add(n.concorrencia());
+                assertThat(n.confirmados(), equalTo(n.concorrencia() * 10L));
+                assertThat(n.throughput(), greaterThan(0.0));
+            }
+            assertThat(niveis, contains(1, 4));
+        }
+    }
+
+    @Test
+    public void deveContarPedidosPerdidosEFantasmas() {
+        perderACada = 7;
+        inventarACada = 5;
+        try (UserPool pool = new UserPool(baseUrl, 4)) {
+            CheckoutConsistency.Nivel nivel = new CheckoutConsistency(baseUrl, pool)
+                    .niveis(4)
+                    .checkoutsPorUsuario(20)
+                    .executar()
+                    .niveis().get(0);
+
+            assertThat(perdidosInjetados.get(), greaterThan(0));
+            assertThat(fantasmasInjetados.get(), greaterThan(0));
+            assertThat(nivel.perdidos(), equalTo((long) perdidosInjetados.get()));
+            assertThat(nivel.fantasmas(), equalTo((long) fantasmasInjetados.get()));
+            assertThat(nivel.falhas(), equalTo((long) fantasmasInjetados.get()));
+            assertThat(nivel.divergentes(), equalTo(0L));
+            assertThat(nivel.consistente(), is(false));
+        }
+    }
+}
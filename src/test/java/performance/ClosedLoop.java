@@ -0,0 +1,77 @@
+package performance;
+
+import io.restassured.response.Response;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+// Clientes em laço fechado: N virtual threads largam juntas e repetem a chamada sem pausa até o fim da duração.
+// A vazão é a que o backend sustenta com N requisições em voo, ao contrário do LoadRunner (taxa fixa, laço aberto).
+public final class ClosedLoop {
+
+    private ClosedLoop() {
+    }
+
+    // A fábrica recebe o índice do cliente (0..N-1) e devolve uma iteração; estado por cliente fica na closure.
+    // Devolve os segundos medidos da largada até o último cliente terminar.
+    public static double executar(int clientes, Duration duracao, String nome, IntFunction<Runnable> cliente)
+            throws InterruptedException {
+        if (clientes < 1) {
+            throw new IllegalArgumentException("clientes deve ser >= 1: " + clientes);
+        }
+        CountDownLatch largada = new CountDownLatch(1);
+        long[] fim = new long[1];
+        List<Thread> threads = new ArrayList<>(clientes);
+        for (int i = 0; i < clientes; i++) {
+            Runnable iteracao = cliente.apply(i);
+            threads.add(Thread.ofVirtual().name(nome + "-" + i).start(() -> {
+                try {
+                    largada.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                while (System.nanoTime() < fim[0]) {
+                    iteracao.run();
+                }
+            }));
+        }
+        long inicio = System.nanoTime();
+        fim[0] = inicio + duracao.toNanos(); // visível aos clientes pela largada
+        largada.countDown();
+        try {
+            for (Thread t : threads) {
+                t.join();
+            }
+        } catch (InterruptedException e) {
+            threads.forEach(Thread::interrupt);
+            throw e;
+        }
+        return (System.nanoTime() - inicio) / 1e9;
+    }
+
+    // Uma chamada medida; status -1 = sem resposta
+    public static Chamada chamar(Supplier<Response> chamada) {
+        long inicio = System.nanoTime();
+        try {
+            Response response = chamada.get();
+            // lê o body: só assim a conexão volta para o pool
+            response.asByteArray();
+            return new Chamada(response.statusCode(), System.nanoTime() - inicio);
+        } catch (Exception e) {
+            // o RestAssured (Groovy) relança IOException sem declarar
+            return new Chamada(-1, System.nanoTime() - inicio);
+        }
+    }
+
+    public record Chamada(int status, long nanos) {
+
+        public boolean respondeu() {
+            return status >= 0;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package performance;
+
+import config.BaseTests;
+import config.ConnectionPool;
+import payloads.UserPool;
+
+import java.util.Arrays;
+
+// Ponto de entrada da conferência de checkout concorrente (perfil Maven "consistencia"):
+//   mvn test-compile exec:java -Pconsistencia -Dconsistencia.niveis=1,8,32 -Dconsistencia.checkouts=20
+public class ConsistencyMain {
+
+    public static void main(String[] args) {
+        String baseUrl = BaseTests.baseUrlPadrao();
+        int[] niveis = inteiros(System.getProperty("consistencia.niveis", "1,4,16,32"));
+        int[] jogos = inteiros(System.getProperty("consistencia.jogos", "1,2,3,4,5"));
+        int checkouts = Integer.getInteger("consistencia.checkouts", 20);
+        int maxItens = Integer.getInteger("consistencia.maxItens", 3);
+
+        System.out.printf("Consistência do checkout: níveis %s, %d checkouts por conta, jogos %s%n",
+                Arrays.toString(niveis), checkouts, Arrays.toString(jogos));
+        CheckoutConsistency.Relatorio relatorio;
+        try (UserPool pool = new UserPool(baseUrl, Arrays.stream(niveis).max().orElse(1))) {
+            relatorio = new CheckoutConsistency(baseUrl, pool)
+                    .niveis(niveis)
+                    .checkoutsPorUsuario(checkouts)
+                    .jogos(jogos)
+                    .maxItens(maxItens)
+                    .executar();
+        }
+        relatorio.imprimir();
+        System.out.println(ConnectionPool.resumo());
+        System.exit(relatorio.consistente() ? 0 : 1);
+    }
+
+    private static int[] inteiros(String lista) {
+        return Arrays.stream(lista.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+    }
+}
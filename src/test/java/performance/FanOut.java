@@ -0,0 +1,137 @@
+package performance;
+
+import io.restassured.response.Response;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+// Dispara N cópias de uma chamada de service ao mesmo tempo, uma virtual thread cada.
+// Todas esperam numa largada comum para que as requisições cheguem juntas no backend
+// (checkouts concorrentes do mesmo jogo, refresh paralelo com o mesmo token etc.).
+public final class FanOut {
+
+    private FanOut() {
+    }
+
+    public static Resultado disparar(int copias, Supplier<Response> chamada) {
+        return disparar(copias, i -> chamada.get());
+    }
+
+    // A função recebe o índice da cópia (0..N-1), útil para variar body ou usuário
+    public static Resultado disparar(int copias, IntFunction<Response> chamada) {
+        if (copias < 1) {
+            throw new IllegalArgumentException("copias deve ser >= 1: " + copias);
+        }
+        CountDownLatch prontas = new CountDownLatch(copias);
+        CountDownLatch largada = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("fanout-", 0).factory())) {
+            List<Future<Chamada>> tarefas = new ArrayList<>(copias);
+            for (int i = 0; i < copias; i++) {
+                int indice = i;
+                tarefas.add(executor.submit(() -> {
+                    prontas.countDown();
+                    largada.await();
+                    long inicio = System.nanoTime();
+                    try {
+                        return new Chamada(indice, chamada.apply(indice), null, inicio, System.nanoTime() - inicio);
+                    } catch (Exception e) {
+                        // o RestAssured (Groovy) relança IOException sem declarar: timeout também vira resultado
+                        return new Chamada(indice, null, e, inicio, System.nanoTime() - inicio);
+                    }
+                }));
+            }
+            prontas.await();
+            largada.countDown();
+
+            List<Chamada> chamadas = new ArrayList<>(copias);
+            for (Future<Chamada> tarefa : tarefas) {
+                chamadas.add(tarefa.get());
+            }
+            return new Resultado(Collections.unmodifiableList(chamadas));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Fan-out interrompido", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Fan-out falhou", e.getCause());
+        }
+    }
+
+    // Uma cópia: resposta ou exceção (conexão recusada, timeout), com instante de início e duração em nanos
+    public record Chamada(int indice, Response response, Exception erro, long inicioNanos, long duracaoNanos) {
+
+        public boolean falhou() {
+            return erro != null;
+        }
+
+        // -1 quando a chamada lançou exceção
+        public int statusCode() {
+            return erro == null ? response.statusCode() : -1;
+        }
+
+        public Duration duracao() {
+            return Duration.ofNanos(duracaoNanos);
+        }
+    }
+
+    public record Resultado(List<Chamada> chamadas) {
+
+        public int total() {
+            return chamadas.size();
+        }
+
+        public long quantidadeComStatus(int status) {
+            return chamadas.stream().filter(c -> c.statusCode() == status).count();
+        }
+
+        public List<Response> respostasComStatus(int status) {
+            return chamadas.stream().filter(c -> c.statusCode() == status).map(Chamada::response).toList();
+        }
+
+        public List<Exception> erros() {
+            return chamadas.stream().filter(Chamada::falhou).map(Chamada::erro).toList();
+        }
+
+        // status -> quantidade, em ordem (-1 = exceção)
+        public Map<Integer, Long> statusPorCodigo() {
+            Map<Integer, Long> contagem = new TreeMap<>();
+            for (Chamada c : chamadas) {
+                contagem.merge(c.statusCode(), 1L, Long::sum);
+            }
+            return contagem;
+        }
+
+        // Diferença entre a primeira e a última largada: quão simultâneas as cópias realmente foram
+        public Duration espalhamentoDaLargada() {
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            for (Chamada c : chamadas) {
+                min = Math.min(min, c.inicioNanos());
+                max = Math.max(max, c.inicioNanos());
+            }
+            return Duration.ofNanos(max - min);
+        }
+
+        public Duration maisLenta() {
+            return Duration.ofNanos(chamadas.stream().mapToLong(Chamada::duracaoNanos).max().orElse(0));
+        }
+
+        public String resumo() {
+            return total() + " chamadas, status " + statusPorCodigo()
+                    + ", largada em " + espalhamentoDaLargada().toNanos() / 1_000 + " µs"
+                    + ", mais lenta " + maisLenta().toMillis() + " ms";
+        }
+    }
+}
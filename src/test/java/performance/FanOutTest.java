@@ -0,0 +1,89 @@
+package performance;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import payloads.AuthServices;
+import payloads.CheckoutServices;
+import stub.LocalServer;
+import validators.ResponseValidator;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static stub.LocalServer.dormir;
+import static stub.LocalServer.responder;
+
+// Self-test do fan-out contra um servidor local (não precisa do backend Node)
+public class FanOutTest {
+
+    static LocalServer servidor;
+    static String baseUrl;
+    static final AtomicBoolean vendido = new AtomicBoolean();
+    static final AtomicInteger emVoo = new AtomicInteger();
+    static final AtomicInteger picoEmVoo = new AtomicInteger();
+
+    ResponseValidator validator = new ResponseValidator();
+
+    @BeforeAll
+    public static void subirServidorLocal() {
+        servidor = LocalServer.com(Map.of(
+                // última unidade em estoque: só o primeiro checkout leva
+                "/api/checkout", ex -> {
+                    if (vendido.compareAndSet(false, true)) {
+                        responder(ex, 200, "{\"success\":true}");
+                    } else {
+                        responder(ex, 409, "{\"error\":\"sem estoque\"}");
+                    }
+                },
+                // segura cada refresh por 200 ms para medir quantos chegam sobrepostos
+                "/api/auth/refresh", ex -> {
+                    picoEmVoo.accumulateAndGet(emVoo.incrementAndGet(), Math::max);
+                    dormir(200);
+                    emVoo.decrementAndGet();
+                    responder(ex, 200, "{\"token\":\"novo\"}");
+                }));
+        baseUrl = servidor.baseUrl();
+    }
+
+    @AfterAll
+    public static void derrubarServidorLocal() {
+        servidor.close();
+    }
+
+    @Test
+    public void deveDetectarExatamenteUmCheckoutVencedor() {
+        CheckoutServices checkout = new CheckoutServices(baseUrl);
+
+        FanOut.Resultado resultado = FanOut.disparar(20, () -> checkout.realizarCheckout("token", "{}"));
+
+        validator.validarExatamenteUmComStatus(resultado, 200);
+        validator.validarQuantidadeComStatus(resultado, 409, 19);
+        assertThat(resultado.statusPorCodigo(), equalTo(Map.of(200, 1L, 409, 19L)));
+    }
+
+    @Test
+    public void deveDispararTodasAsCopiasJuntas() {
+        AuthServices auth = new AuthServices(baseUrl);
+
+        FanOut.Resultado resultado = FanOut.disparar(50, i -> auth.RefreshToken("mesmo-token"));
+
+        validator.validarTodosComStatus(resultado, 200);
+        assertThat(resultado.erros(), empty());
+        // não serializou: várias cópias estiveram no servidor ao mesmo tempo
+        assertThat(picoEmVoo.get(), greaterThan(10));
+    }
+
+    @Test
+    public void deveRegistrarExcecoesComoStatusMenosUm() {
+        FanOut.Resultado resultado = FanOut.disparar(3, i -> {
+            throw new IllegalStateException("conexão recusada " + i);
+        });
+
+        assertThat(resultado.quantidadeComStatus(-1), equalTo(3L));
+        assertThat(resultado.erros(), hasSize(3));
+    }
+}
@@ -0,0 +1,31 @@
+package performance;
+
+import config.ConnectionPool;
+
+import java.time.Duration;
+
+// Ponto de entrada do modo carga (perfil Maven "carga"):
+//   mvn test-compile exec:java -Pcarga -Dcarga.cenarios=checkout,games -Dcarga.rps=50 -Dcarga.duracao=60
+public class LoadMain {
+
+    public static void main(String[] args) {
+        String[] nomes = System.getProperty("carga.cenarios", "games").split(",");
+        double rps = Double.parseDouble(System.getProperty("carga.rps", "10"));
+        long duracao = Long.getLong("carga.duracao", 30);
+        int maxEmVoo = Integer.getInteger("carga.maxEmVoo", 10_000);
+
+        Cenarios cenarios = new Cenarios();
+        LoadRunner runner = new LoadRunner()
+                .duracao(Duration.ofSeconds(duracao))
+                .maxEmVoo(maxEmVoo);
+        for (String nome : nomes) {
+            String n = nome.trim();
+            runner.cenario(cenarios.endpoint(n), rps, cenarios.passo(n));
+        }
+
+        System.out.printf("Carga: %s a %.1f req/s cada, por %ds%n", String.join(",", nomes), rps, duracao);
+        runner.executar().imprimir();
+        // espera por conexão do cliente: se alta, o gargalo é -Dhttp.pool.maxPorRota e não o backend
+        System.out.println(ConnectionPool.resumo());
+    }
+}
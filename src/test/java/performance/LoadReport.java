@@ -0,0 +1,43 @@
+package performance;
+
+import java.util.List;
+
+public class LoadReport {
+
+    // Latências em milissegundos
+    public record EndpointResult(String endpoint, long requisicoes, long erros, long descartadas,
+                                 double throughput, double p50, double p95, double p99, double p999, double max) {
+
+        public double taxaDeErro() {
+            long total = requisicoes + descartadas;
+            return total == 0 ? 0 : (double) (erros + descartadas) / total;
+        }
+    }
+
+    private final List<EndpointResult> resultados;
+
+    public LoadReport(List<EndpointResult> resultados) {
+        this.resultados = List.copyOf(resultados);
+    }
+
+    public List<EndpointResult> resultados() {
+        return resultados;
+    }
+
+    public EndpointResult resultado(String endpoint) {
+        return resultados.stream()
+                .filter(r -> r.endpoint().equals(endpoint))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Endpoint sem resultado: " + endpoint));
+    }
+
+    public void imprimir() {
+        System.out.printf("%-24s %8s %8s %8s %10s %9s %9s %9s %9s %9s%n",
+                "endpoint", "reqs", "erros", "descart", "req/s", "p50 ms", "p95 ms", "p99 ms", "p999 ms", "max ms");
+        for (EndpointResult r : resultados) {
+            System.out.printf("%-24s %8d %8d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    r.endpoint(), r.requisicoes(), r.erros(), r.descartadas(), r.throughput(),
+                    r.p50(), r.p95(), r.p99(), r.p999(), r.max());
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package performance;
+
+import io.restassured.response.Response;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+// Gerador de carga em modelo aberto: as chegadas seguem a taxa alvo independente do tempo de resposta.
+// A latência é medida a partir do instante agendado (não do envio), então atrasos do próprio
+// gerador aparecem no relatório em vez de sumirem (coordinated omission).
+public class LoadRunner {
+
+    private final List<LoadScenario> cenarios = new ArrayList<>();
+    private Duration duracao = Duration.ofSeconds(30);
+    private int maxEmVoo = 10_000;
+
+    public LoadRunner cenario(String nome, double rps, Supplier<Response> passo) {
+        cenarios.add(new LoadScenario(nome, rps, passo));
+        return this;
+    }
+
+    public LoadRunner duracao(Duration duracao) {
+        this.duracao = duracao;
+        return this;
+    }
+
+    // Limite de requisições simultâneas; chegadas acima disso são contadas como descartadas
+    public LoadRunner maxEmVoo(int maxEmVoo) {
+        this.maxEmVoo = maxEmVoo;
+        return this;
+    }
+
+    public LoadReport executar() {
+        if (cenarios.isEmpty()) {
+            throw new IllegalStateException("Nenhum cenário configurado");
+        }
+        // uma virtual thread por requisição: milhares em voo sem pool de plataforma
+        ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("carga-worker-", 0).factory());
+        Semaphore emVoo = new Semaphore(maxEmVoo);
+        List<Estatisticas> estatisticas = new ArrayList<>();
+        List<Thread> despachantes = new ArrayList<>();
+
+        long inicio = System.nanoTime();
+        long fim = inicio + duracao.toNanos();
+        for (LoadScenario cenario : cenarios) {
+            Estatisticas stats = new Estatisticas(cenario.nome());
+            estatisticas.add(stats);
+            Thread t = new Thread(() -> despachar(cenario, stats, inicio, fim, executor, emVoo), "carga-" + cenario.nome());
+            t.setDaemon(true);
+            despachantes.add(t);
+            t.start();
+        }
+
+        try {
+            for (Thread t : despachantes) {
+                t.join();
+            }
+            executor.shutdown();
+            if (!executor.awaitTermination(60, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        List<LoadReport.EndpointResult> resultados = new ArrayList<>();
+        for (Estatisticas stats : estatisticas) {
+            resultados.add(stats.resultado(segundos));
+        }
+        return new LoadReport(resultados);
+    }
+
+    private static void despachar(LoadScenario cenario, Estatisticas stats, long inicio, long fim,
+                                  ExecutorService executor, Semaphore emVoo) {
+        // instante de cada chegada calculado em double a partir do início: intervalo fracionário não trunca nem acumula erro
+        double intervalo = 1e9 / cenario.rps();
+        long n = 0;
+        for (long agendado = inicio; agendado < fim; agendado = inicio + (long) (++n * intervalo)) {
+            // parkNanos pode voltar antes (spurious wakeup): sair antes do agendado adiantaria a chegada
+            long espera;
+            while ((espera = agendado - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(espera);
+            }
+            if (!emVoo.tryAcquire()) {
+                stats.descartadas.increment();
+                continue;
+            }
+            long instante = agendado;
+            executor.execute(() -> {
+                boolean sucesso = false;
+                try {
+                    Response response = cenario.passo().get();
+                    sucesso = response.statusCode() < 400;
+                } catch (Exception e) {
+                    // conexão recusada, timeout etc. contam como erro (o Groovy relança IOException sem declarar)
+                } finally {
+                    stats.registrar(System.nanoTime() - instante, sucesso);
+                    emVoo.release();
+                }
+            });
+        }
+    }
+
+    private static final class Estatisticas {
+
+        final String nome;
+        final Histogram latencias = new ConcurrentHistogram(3);
+        final LongAdder erros = new LongAdder();
+        final LongAdder descartadas = new LongAdder();
+
+        Estatisticas(String nome) {
+            this.nome = nome;
+        }
+
+        void registrar(long nanos, boolean sucesso) {
+            latencias.recordValue(nanos);
+            if (!sucesso) {
+                erros.increment();
+            }
+        }
+
+        LoadReport.EndpointResult resultado(double segundos) {
+            long total = latencias.getTotalCount();
+            return new LoadReport.EndpointResult(nome, total, erros.sum(), descartadas.sum(),
+                    total / segundos,
+                    ms(latencias.getValueAtPercentile(50)),
+                    ms(latencias.getValueAtPercentile(95)),
+                    ms(latencias.getValueAtPercentile(99)),
+                    ms(latencias.getValueAtPercentile(99.9)),
+                    ms(latencias.getMaxValue()));
+        }
+
+        private static double ms(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
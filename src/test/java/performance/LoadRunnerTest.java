@@ -0,0 +1,76 @@
+package performance;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import payloads.CheckoutServices;
+import payloads.GamesServices;
+import stub.StubBackend;
+
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Self-test do gerador de carga contra o StubBackend (não precisa do backend Node)
+public class LoadRunnerTest {
+
+    static StubBackend stub;
+    static String baseUrl;
+
+    @BeforeAll
+    public static void subirStub() {
+        stub = new StubBackend(0, StubBackend.Injecao.NENHUMA, 42);
+        // todo checkout falha: a contagem de erros tem resultado exato
+        stub.injetar("POST /api/checkout", new StubBackend.Injecao(0, 0, 1));
+        baseUrl = stub.baseUrl() + "/api";
+    }
+
+    @AfterAll
+    public static void derrubarStub() {
+        stub.close();
+    }
+
+    @Test
+    public void deveManterTaxaDeChegadaEReportarPercentis() {
+        GamesServices games = new GamesServices(baseUrl);
+
+        LoadReport report = new LoadRunner()
+                .duracao(Duration.ofSeconds(2))
+                .cenario("/games", 50, () -> games.listarTodosJogos("/games"))
+                .executar();
+
+        LoadReport.EndpointResult resultado = report.resultado("/games");
+        assertThat(resultado.requisicoes(), allOf(greaterThanOrEqualTo(90L), lessThanOrEqualTo(101L)));
+        assertThat(resultado.erros(), equalTo(0L));
+        assertThat(resultado.p50(), greaterThan(0.0));
+        assertThat(resultado.p999(), greaterThanOrEqualTo(resultado.p99()));
+    }
+
+    @Test
+    public void deveContarErrosPorEndpoint() {
+        CheckoutServices checkout = new CheckoutServices(baseUrl);
+
+        LoadReport report = new LoadRunner()
+                .duracao(Duration.ofSeconds(1))
+                .cenario("/checkout", 20, () -> checkout.realizarCheckout("token", "{}"))
+                .executar();
+
+        LoadReport.EndpointResult r = report.resultado("/checkout");
+        assertThat(r.requisicoes(), greaterThan(0L));
+        assertThat(r.erros(), equalTo(r.requisicoes()));
+        assertThat(r.taxaDeErro(), equalTo(1.0));
+    }
+
+    @Test
+    public void deveRecusarTaxaForaDaResolucaoDoAgendamento() {
+        LoadRunner runner = new LoadRunner();
+
+        assertThrows(IllegalArgumentException.class, () -> runner.cenario("/games", 0, () -> null));
+        assertThrows(IllegalArgumentException.class, () -> runner.cenario("/games", Double.NaN, () -> null));
+        // intervalo abaixo de 1 ns truncaria para 0 e o despacho nunca sairia do lugar
+        assertThrows(IllegalArgumentException.class, () -> runner.cenario("/games", 2e9, () -> null));
+        runner.cenario("/games", 1e9, () -> null);
+    }
+}
@@ -0,0 +1,18 @@
+package performance;
+
+import io.restassured.response.Response;
+
+import java.util.function.Supplier;
+
+// Um passo de carga: nome do endpoint (chave do relatório), taxa de chegada alvo e a chamada ao service
+public record LoadScenario(String nome, double rps, Supplier<Response> passo) {
+
+    // Acima de 1e9 o intervalo entre chegadas fica abaixo de 1 ns, a resolução do agendamento
+    static final double RPS_MAXIMO = 1e9;
+
+    public LoadScenario {
+        if (!(rps > 0) || rps > RPS_MAXIMO) {
+            throw new IllegalArgumentException("rps deve estar em (0, 1e9]: " + rps);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package performance;
+
+import config.BaseTests;
+import config.ConnectionPool;
+import filters.CaptureFilter;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+// Ponto de entrada do replay de tráfego (perfil Maven "replay"):
+//   mvn test -Dtest=CheckoutTests,CatalogTest -Dcaptura.gravar=target/capturas/funcional.bin
+//   mvn test-compile exec:java -Preplay -Dreplay.captura=target/capturas/funcional.bin -DbaseUrl=http://outro:3000
+// Com -Dcaptura.gravar também no replay, a execução repetida vira uma captura nova (comparar dois builds).
+public class ReplayMain {
+
+    public static void main(String[] args) {
+        String captura = System.getProperty("replay.captura", "target/capturas/funcional.bin");
+        double velocidade = Double.parseDouble(System.getProperty("replay.velocidade", "1"));
+        // Piora de p95 aceita antes de acusar regressão (0.25 = 25%)
+        double tolerancia = Double.parseDouble(System.getProperty("replay.tolerancia", "0.25"));
+        // p95 de poucas amostras é ruído: endpoints com menos trocas não acusam regressão
+        long minTrocas = Long.getLong("replay.minTrocas", 5);
+
+        TrafficReplayer.Relatorio relatorio = new TrafficReplayer(BaseTests.baseUrlPadrao(), Path.of(captura))
+                .velocidade(velocidade)
+                .executar();
+        relatorio.imprimir();
+        System.out.println(ConnectionPool.resumo());
+        CaptureFilter gravacao = CaptureFilter.padrao();
+        if (gravacao != null) {
+            gravacao.fechar();
+            System.out.println(gravacao.resumo());
+        }
+
+        List<TrafficReplayer.Endpoint> regressoes = relatorio.regressoes(tolerancia, minTrocas);
+        for (TrafficReplayer.Endpoint e : regressoes) {
+            System.out.printf(Locale.ROOT, "REGRESSÃO %s: p95 %.1f ms -> %.1f ms (%+.0f%%)%n",
+                    e.nome(), e.p95Gravado(), e.p95(), e.variacaoP95() * 100);
+        }
+        System.exit(regressoes.isEmpty() && relatorio.falhas() == 0 ? 0 : 1);
+    }
+}
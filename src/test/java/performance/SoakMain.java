@@ -0,0 +1,39 @@
+package performance;
+
+import config.ConnectionPool;
+import utils.IdentityGenerator;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+// Ponto de entrada do modo soak (perfil Maven "soak"):
+//   mvn test-compile exec:java -Psoak -Dsoak.duracao=240 -Dsoak.iteracoesPorMinuto=12 -Dsoak.intervalo=30
+public class SoakMain {
+
+    public static void main(String[] args) {
+        // falhas viram contagem na série; log de cada troca por horas encheria o console
+        if (System.getProperty("log.modo") == null) {
+            System.setProperty("log.modo", "nunca");
+        }
+        String tag = System.getProperty("soak.tag", "smoke");
+        long minutos = Long.getLong("soak.duracao", 60);
+        long intervalo = Long.getLong("soak.intervalo", 60);
+        double taxa = Double.parseDouble(System.getProperty("soak.iteracoesPorMinuto", "6"));
+        Path saida = Path.of(System.getProperty("soak.saida", "target/soak/soak-" + IdentityGenerator.execucao() + ".csv"));
+
+        System.out.printf("Soak: tag %s, %.1f iterações/min por %d min, série a cada %ds em %s%n",
+                tag, taxa, minutos, intervalo, saida);
+        SoakRunner.Resultado r = new SoakRunner()
+                .tag(tag)
+                .duracao(Duration.ofMinutes(minutos))
+                .intervalo(Duration.ofSeconds(intervalo))
+                .iteracoesPorMinuto(taxa)
+                .saida(saida)
+                .executar();
+
+        System.out.printf("%d iterações, %d testes, %d falhas, %d iterações atrasadas%n",
+                r.iteracoes(), r.testes(), r.falhas(), r.atrasadas());
+        System.out.println(ConnectionPool.resumo());
+        System.exit(r.falhas() == 0 ? 0 : 1);
+    }
+}
@@ -0,0 +1,190 @@
+package performance;
+
+import metrics.LatencyRegistry;
+import org.HdrHistogram.Histogram;
+import org.junit.platform.engine.DiscoverySelector;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.TagFilter;
+import org.junit.platform.launcher.core.LauncherConfig;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClasspathRoots;
+
+// Soak: roda os testes de uma tag (smoke por padrão) em loop, a uma taxa fixa, por horas.
+// A cada intervalo grava throughput, percentis e erros por endpoint numa série temporal (TimeSeriesWriter),
+// para enxergar deriva lenta (latência subindo, pool do banco esgotando) que um teste único não pega.
+public class SoakRunner {
+
+    // Séries extras no CSV além dos endpoints
+    static final String SERIE_TESTES = "[testes]";
+    static final String SERIE_ATRASOS = "[iterações atrasadas]";
+
+    private String tag = "smoke";
+    private List<DiscoverySelector> selecao;
+    private Duration duracao = Duration.ofHours(1);
+    private Duration intervalo = Duration.ofMinutes(1);
+    private double iteracoesPorMinuto = 6;
+    private Path saida = Path.of("target/soak/soak.csv");
+
+    private final LongAdder testes = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder atrasadas = new LongAdder();
+
+    public SoakRunner tag(String tag) {
+        this.tag = tag;
+        return this;
+    }
+
+    // Onde procurar os testes; padrão: todas as classes de teste compiladas
+    public SoakRunner selecionar(DiscoverySelector... selecao) {
+        this.selecao = List.of(selecao);
+        return this;
+    }
+
+    public SoakRunner duracao(Duration duracao) {
+        this.duracao = duracao;
+        return this;
+    }
+
+    public SoakRunner intervalo(Duration intervalo) {
+        this.intervalo = intervalo;
+        return this;
+    }
+
+    public SoakRunner iteracoesPorMinuto(double iteracoesPorMinuto) {
+        this.iteracoesPorMinuto = iteracoesPorMinuto;
+        return this;
+    }
+
+    public SoakRunner saida(Path saida) {
+        this.saida = saida;
+        return this;
+    }
+
+    public Resultado executar() {
+        // sem autodetecção: o listener do Allure e o resumo de latência gravariam um resultado por iteração
+        Launcher launcher = LauncherFactory.create(LauncherConfig.builder()
+                .enableTestExecutionListenerAutoRegistration(false)
+                .build());
+        LatencyRegistry.intervalo();
+
+        long periodo = (long) (60_000_000_000L / iteracoesPorMinuto);
+        long inicio = System.nanoTime();
+        long fim = inicio + duracao.toNanos();
+        long iteracoes = 0;
+
+        try (TimeSeriesWriter serie = new TimeSeriesWriter(saida)) {
+            Amostrador amostrador = new Amostrador(serie);
+            ScheduledExecutorService agendador = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("soak-amostrador").daemon().factory());
+            agendador.scheduleAtFixedRate(amostrador::gravar, intervalo.toMillis(), intervalo.toMillis(), TimeUnit.MILLISECONDS);
+            try {
+                for (long agendado = inicio; agendado < fim; agendado += periodo) {
+                    long espera = agendado - System.nanoTime();
+                    if (espera > 0) {
+                        LockSupport.parkNanos(espera);
+                    } else if (iteracoes > 0) {
+                        // a iteração anterior passou do período: a taxa real ficou abaixo da pedida
+                        atrasadas.increment();
+                    }
+                    executarIteracao(launcher);
+                    iteracoes++;
+                }
+            } finally {
+                agendador.shutdownNow();
+                try {
+                    agendador.awaitTermination(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                amostrador.gravar();
+            }
+        }
+        return new Resultado(iteracoes, testes.sum(), falhas.sum(), atrasadas.sum(), saida);
+    }
+
+    private void executarIteracao(Launcher launcher) {
+        SummaryGeneratingListener resumo = new SummaryGeneratingListener();
+        launcher.execute(requisicao(), resumo);
+        TestExecutionSummary r = resumo.getSummary();
+        testes.add(r.getTestsStartedCount());
+        falhas.add(r.getTestsFailedCount());
+    }
+
+    private LauncherDiscoveryRequest requisicao() {
+        return LauncherDiscoveryRequestBuilder.request()
+                .selectors(selecao != null ? selecao : List.of(todasAsClassesDeTeste()))
+                .filters(TagFilter.includeTags(tag))
+                .build();
+    }
+
+    private static DiscoverySelector todasAsClassesDeTeste() {
+        try {
+            Path raiz = Path.of(SoakRunner.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+            return selectClasspathRoots(Set.of(raiz)).get(0);
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record Resultado(long iteracoes, long testes, long falhas, long atrasadas, Path saida) {
+    }
+
+    // Roda na thread do agendador e uma última vez no fim; synchronized porque as duas podem se cruzar no encerramento
+    private final class Amostrador {
+
+        private final TimeSeriesWriter serie;
+        private final Map<String, Long> errosAnteriores = new HashMap<>();
+        private long ultimaAmostra = System.nanoTime();
+        private long testesAnteriores;
+        private long falhasAnteriores;
+        private long atrasadasAnteriores;
+
+        Amostrador(TimeSeriesWriter serie) {
+            this.serie = serie;
+            // erros são cumulativos na JVM; a série começa do que já havia antes do soak
+            errosAnteriores.putAll(LatencyRegistry.erros());
+        }
+
+        synchronized void gravar() {
+            long agora = System.nanoTime();
+            double segundos = Math.max((agora - ultimaAmostra) / 1e9, 1e-3);
+            ultimaAmostra = agora;
+            long epoch = System.currentTimeMillis() / 1000;
+
+            Map<String, Long> erros = LatencyRegistry.erros();
+            for (Map.Entry<String, Histogram> e : LatencyRegistry.intervalo().entrySet()) {
+                long total = erros.getOrDefault(e.getKey(), 0L);
+                Long anterior = errosAnteriores.put(e.getKey(), total);
+                serie.escrever(epoch, e.getKey(), e.getValue(), total - (anterior == null ? 0 : anterior), segundos);
+            }
+
+            long t = testes.sum();
+            long f = falhas.sum();
+            long a = atrasadas.sum();
+            serie.escrever(epoch, SERIE_TESTES, t - testesAnteriores, f - falhasAnteriores, segundos);
+            serie.escrever(epoch, SERIE_ATRASOS, a - atrasadasAnteriores, 0, segundos);
+            testesAnteriores = t;
+            falhasAnteriores = f;
+            atrasadasAnteriores = a;
+            serie.descarregar();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package performance;
+
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import payloads.GamesServices;
+import stub.LocalServer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static stub.LocalServer.responder;
+
+// Self-test do modo soak contra um servidor local (não precisa do backend Node)
+public class SoakRunnerTest {
+
+    static LocalServer servidor;
+    static String baseUrl;
+    static final AtomicInteger chamadas = new AtomicInteger();
+
+    @BeforeAll
+    public static void subirServidorLocal() {
+        // uma em cada três listagens devolve 500
+        servidor = LocalServer.com(Map.of("/api/games", ex -> {
+            if (chamadas.incrementAndGet() % 3 == 0) {
+                responder(ex, 500, "{\"error\":\"falha\"}");
+            } else {
+                responder(ex, 200, "{\"games\":[]}");
+            }
+        }));
+        baseUrl = servidor.baseUrl();
+    }
+
+    @AfterAll
+    public static void derrubarServidorLocal() {
+        servidor.close();
+    }
+
+    // Suíte executada pelo SoakRunner; classe aninhada fica fora da execução normal do Surefire
+    public static class Suite {
+
+        @Test
+        @Tag("soak-autoteste")
+        public void listarJogos() {
+            Response response = new GamesServices(baseUrl).listarTodosJogos("/games");
+            assertEquals(200, response.statusCode());
+        }
+    }
+
+    @Test
+    public void deveGravarSerieComThroughputErrosEFalhas(@TempDir Path dir) throws IOException {
+        Path csv = dir.resolve("soak.csv");
+
+        SoakRunner.Resultado r = new SoakRunner()
+                .tag("soak-autoteste")
+                .selecionar(selectClass(Suite.class))
+                .duracao(Duration.ofSeconds(2))
+                .iteracoesPorMinuto(240)
+                .intervalo(Duration.ofMillis(500))
+                .saida(csv)
+                .executar();
+
+        assertThat(r.iteracoes(), greaterThanOrEqualTo(6L));
+        assertEquals(r.iteracoes(), r.testes());
+        assertEquals(chamadas.get() / 3, r.falhas());
+
+        List<String> linhas = Files.readAllLines(csv);
+        assertEquals(TimeSeriesWriter.CABECALHO, linhas.get(0));
+        List<String[]> games = linhas.stream().skip(1)
+                .map(l -> l.split(",", -1))
+                .filter(c -> c[1].equals("/games"))
+                .toList();
+        assertThat("um ponto por intervalo", games.size(), greaterThanOrEqualTo(3));
+        assertEquals(chamadas.get(), games.stream().mapToLong(c -> Long.parseLong(c[2])).sum());
+        assertEquals(chamadas.get() / 3, games.stream().mapToLong(c -> Long.parseLong(c[8])).sum());
+        assertThat(Double.parseDouble(games.get(0)[6]), greaterThan(0.0));
+
+        long falhasNaSerie = linhas.stream().skip(1)
+                .map(l -> l.split(",", -1))
+                .filter(c -> c[1].equals(SoakRunner.SERIE_TESTES))
+                .mapToLong(c -> Long.parseLong(c[8]))
+                .sum();
+        assertEquals(r.falhas(), falhasNaSerie);
+    }
+}
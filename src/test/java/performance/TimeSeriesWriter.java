@@ -0,0 +1,81 @@
+package performance;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+// Série temporal compacta em CSV: uma linha por endpoint por intervalo, latências em ms.
+// Cada intervalo é gravado e descarregado no disco na hora, então uma execução interrompida não perde o que já mediu.
+public class TimeSeriesWriter implements Closeable {
+
+    static final String CABECALHO = "epoch_s,serie,count,rps,p50_ms,p95_ms,p99_ms,max_ms,erros";
+
+    private final BufferedWriter saida;
+
+    public TimeSeriesWriter(Path arquivo) {
+        try {
+            if (arquivo.getParent() != null) {
+                Files.createDirectories(arquivo.getParent());
+            }
+            saida = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8);
+            saida.write(CABECALHO);
+            saida.newLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void escrever(long epochSegundos, String serie, Histogram latencias, long erros, double segundos) {
+        long count = latencias.getTotalCount();
+        linha(String.format(Locale.ROOT, "%d,%s,%d,%.2f,%.2f,%.2f,%.2f,%.2f,%d",
+                epochSegundos, csv(serie), count, count / segundos,
+                ms(latencias.getValueAtPercentile(50)), ms(latencias.getValueAtPercentile(95)),
+                ms(latencias.getValueAtPercentile(99)), ms(latencias.getMaxValue()), erros));
+    }
+
+    // Série sem latência (ex. testes executados e falhas no intervalo)
+    public void escrever(long epochSegundos, String serie, long count, long erros, double segundos) {
+        linha(String.format(Locale.ROOT, "%d,%s,%d,%.2f,,,,,%d", epochSegundos, csv(serie), count, count / segundos, erros));
+    }
+
+    public void descarregar() {
+        try {
+            saida.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            saida.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void linha(String linha) {
+        try {
+            saida.write(linha);
+            saida.newLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String csv(String valor) {
+        return valor.indexOf(',') >= 0 || valor.indexOf('"') >= 0 ? '"' + valor.replace("\"", "\"\"") + '"' : valor;
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
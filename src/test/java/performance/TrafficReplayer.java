@@ -0,0 +1,365 @@
+package performance;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import config.BaseTests;
+import filters.CaptureFile;
+import filters.LatencyFilter;
+import io.restassured.filter.Filter;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import utils.IdentityGenerator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static io.restassured.RestAssured.given;
+
+// Repete uma captura de tráfego (CaptureFilter) contra qualquer backend, com os intervalos originais entre as
+// requisições ou comprimidos (velocidade 4 = quatro vezes mais rápido). Cada troca sai numa virtual thread no
+// instante gravado, então requisições que se sobrepunham continuam se sobrepondo. A ordem causal da gravação é
+// mantida: uma troca só sai depois de terminarem, no replay, todas as que já tinham terminado quando ela começou
+// (login depois do cadastro, pedidos depois do checkout), mesmo com o tempo comprimido. Essa espera não some da
+// medição: a latência repetida conta a partir do instante agendado, então um backend lento que atrasa os disparos
+// seguintes aparece na latência deles (sem omissão coordenada).
+//
+// Tokens e ids de usuário do backend gravado não valem no outro: quando uma resposta gravada trazia "token" ou
+// "user.id", a requisição que os usava espera a resposta repetida e troca pelo valor novo. Tokens que nenhuma
+// resposta produziu (expirados, adulterados pelos testes) vão como estavam.
+//
+// Cadastros também não se repetem: o username/email gravado já existe no backend que recebeu a gravação (e no
+// mesmo backend a partir do segundo replay), então cada cadastro gravado com sucesso ganha identidade nova do
+// IdentityGenerator, e os bodies de /auth/register e /auth/login com aquele username/email vão com a nova. Cadastros
+// que já falharam na gravação (409 de duplicado, 400) vão como estavam, para continuar falhando igual.
+//
+// O replay nunca é gravado (requestSpecSemCaptura), mesmo com -Dcaptura.gravar ligado. A latência repetida termina
+// num filtro no lugar da captura, com o body lido; sem atraso de disparo, cobre o mesmo trecho que a gravada.
+//
+// O relatório compara latência gravada x repetida por endpoint e conta status diferentes do gravado.
+public class TrafficReplayer extends BaseTests {
+
+    // Espera máxima pelo token/id de uma resposta anterior (ms)
+    static final long ESPERA_DEPENDENCIA = Long.getLong("replay.esperaDependencia", 30_000);
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final String CADASTRO = "/auth/register";
+    private static final String LOGIN = "/auth/login";
+    private static final Pattern ID_DE_USUARIO = Pattern.compile("^(/orders/user/|/account/)(\\d+)");
+    private static final long MAIOR_VALOR = 3_600_000_000_000L;
+
+    private final CaptureFile.Captura captura;
+    private double velocidade = 1.0;
+
+    // token/id gravado -> valor da resposta repetida
+    private final Map<String, CompletableFuture<String>> tokens = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<String>> ids = new ConcurrentHashMap<>();
+    // username/email cadastrado na gravação -> identidade nova deste replay
+    private final Map<String, String> identidades = new ConcurrentHashMap<>();
+
+    public TrafficReplayer(String baseUrl, Path captura) {
+        this(baseUrl, CaptureFile.ler(captura));
+    }
+
+    public TrafficReplayer(String baseUrl, CaptureFile.Captura captura) {
+        super(baseUrl);
+        this.captura = captura;
+    }
+
+    // 1 = intervalos originais; 2 = metade do tempo; precisa ser > 0
+    public TrafficReplayer velocidade(double velocidade) {
+        if (!(velocidade > 0)) {
+            throw new IllegalArgumentException("velocidade deve ser > 0: " + velocidade);
+        }
+        this.velocidade = velocidade;
+        return this;
+    }
+
+    public Relatorio executar() {
+        List<CaptureFile.Troca> trocas = new ArrayList<>(captura.trocas());
+        // a captura é gravada na ordem de término; o replay dispara na ordem de início
+        trocas.sort(Comparator.comparingLong(CaptureFile.Troca::inicioNanos));
+        tokens.clear();
+        ids.clear();
+        identidades.clear();
+        for (CaptureFile.Troca t : trocas) {
+            JsonNode resposta = json(t.resposta());
+            if (resposta != null) {
+                texto(resposta.path("token")).ifPresent(k -> tokens.putIfAbsent(k, new CompletableFuture<>()));
+                texto(resposta.path("user").path("id")).ifPresent(k -> ids.putIfAbsent(k, new CompletableFuture<>()));
+            }
+            if (t.status() / 100 == 2 && endpoint(t).equals(CADASTRO)) {
+                JsonNode cadastro = json(t.body());
+                if (cadastro != null) {
+                    texto(cadastro.path("username")).ifPresent(k -> identidades.putIfAbsent(k, IdentityGenerator.username()));
+                    texto(cadastro.path("email")).ifPresent(k -> identidades.putIfAbsent(k, IdentityGenerator.email()));
+                }
+            }
+        }
+
+        Map<String, Linha> linhas = new TreeMap<>();
+        List<Item> itens = new ArrayList<>();
+        for (CaptureFile.Troca t : trocas) {
+            Linha linha = linhas.computeIfAbsent(chave(t), k -> new Linha());
+            linha.gravado.recordValue(Math.min(t.duracaoNanos(), MAIOR_VALOR));
+            itens.add(new Item(t, linha, new CompletableFuture<>()));
+        }
+        List<Item> porTermino = new ArrayList<>(itens);
+        porTermino.sort(Comparator.comparingLong(Item::terminoGravado));
+        long maiorAtraso = 0;
+
+        long inicio = System.nanoTime();
+        if (!itens.isEmpty()) {
+            long base = itens.get(0).troca().inicioNanos();
+            int terminadas = 0;
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (Item item : itens) {
+                    // o conjunto só cresce na ordem de início: o disparador espera e as seguintes herdam a espera
+                    while (terminadas < porTermino.size()
+                            && porTermino.get(terminadas).terminoGravado() <= item.troca().inicioNanos()) {
+                        porTermino.get(terminadas++).feito().join();
+                    }
+                    long alvo = inicio + (long) ((item.troca().inicioNanos() - base) / velocidade);
+                    long espera;
+                    while ((espera = alvo - System.nanoTime()) > 0) {
+                        LockSupport.parkNanos(espera);
+                    }
+                    maiorAtraso = Math.max(maiorAtraso, -espera);
+                    executor.submit(() -> {
+                        try {
+                            repetir(item.troca(), item.linha(), alvo);
+                        } finally {
+                            item.feito().complete(null);
+                        }
+                    });
+                }
+            }
+        }
+        long duracao = System.nanoTime() - inicio;
+
+        List<Endpoint> endpoints = new ArrayList<>();
+        linhas.forEach((nome, l) -> endpoints.add(l.paraEndpoint(nome)));
+        return new Relatorio(endpoints, trocas.size(), captura.duracaoNanos(), duracao, velocidade, maiorAtraso);
+    }
+
+    // alvo = instante agendado (System.nanoTime()); o atraso de disparo e as esperas por token/id entram na latência
+    private void repetir(CaptureFile.Troca t, Linha linha, long alvo) {
+        Long[] termino = new Long[1];
+        Filter cronometro = (requisicao, resposta, ctx) -> {
+            try {
+                Response response = ctx.next(requisicao, resposta);
+                // a captura lê o body dentro da medição; aqui também
+                response.asByteArray();
+                return response;
+            } finally {
+                termino[0] = System.nanoTime();
+            }
+        };
+        RequestSpecification spec = given(requestSpecSemCaptura(cronometro)).urlEncodingEnabled(false);
+        t.headers().forEach((nome, valor) -> {
+            if (!nome.equalsIgnoreCase("Content-Length") && !nome.equalsIgnoreCase("Host")) {
+                spec.header(nome, nome.equalsIgnoreCase("Authorization") ? trocarToken(valor) : valor);
+            }
+        });
+        if (t.body().length > 0) {
+            spec.body(trocarIdentidade(t));
+        }
+        String path = trocarId(t.path());
+        try {
+            Response response = spec.request(t.metodo(), path);
+            registrar(linha, alvo, termino[0]);
+            if (response.statusCode() != t.status()) {
+                linha.divergentes.increment();
+            }
+            publicar(json(t.resposta()), json(response.asByteArray()));
+        } catch (Exception e) {
+            // Groovy relança checked sem declarar
+            registrar(linha, alvo, termino[0]);
+            linha.falhas.increment();
+            publicar(json(t.resposta()), null);
+        }
+    }
+
+    // Do agendado até o fim da troca; sem chegar ao cronômetro (ex. pool esgotado), até agora
+    private static void registrar(Linha linha, long alvo, Long termino) {
+        long fim = termino == null ? System.nanoTime() : termino;
+        linha.replay.recordValue(Math.min(Math.max(0, fim - alvo), MAIOR_VALOR));
+    }
+
+    // Libera quem espera pelo token/id desta resposta; sem valor novo, segue com o gravado
+    private void publicar(JsonNode gravada, JsonNode repetida) {
+        if (gravada == null) {
+            return;
+        }
+        texto(gravada.path("token")).ifPresent(k -> tokens.get(k).complete(
+                repetida == null ? k : texto(repetida.path("token")).orElse(k)));
+        texto(gravada.path("user").path("id")).ifPresent(k -> ids.get(k).complete(
+                repetida == null ? k : texto(repetida.path("user").path("id")).orElse(k)));
+    }
+
+    private String trocarToken(String authorization) {
+        if (!authorization.startsWith("Bearer ")) {
+            return authorization;
+        }
+        String gravado = authorization.substring("Bearer ".length());
+        CompletableFuture<String> novo = tokens.get(gravado);
+        return novo == null ? authorization : "Bearer " + esperar(novo, gravado);
+    }
+
+    // Login pode mandar o username no campo "email": os dois campos consultam o mesmo mapa
+    private byte[] trocarIdentidade(CaptureFile.Troca t) {
+        String endpoint = endpoint(t);
+        if (identidades.isEmpty() || !(endpoint.equals(CADASTRO) || endpoint.equals(LOGIN))) {
+            return t.body();
+        }
+        JsonNode body = json(t.body());
+        if (!(body instanceof ObjectNode objeto)) {
+            return t.body();
+        }
+        boolean trocou = false;
+        for (String campo : List.of("username", "email")) {
+            String nova = texto(objeto.path(campo)).map(identidades::get).orElse(null);
+            if (nova != null) {
+                objeto.put(campo, nova);
+                trocou = true;
+            }
+        }
+        try {
+            return trocou ? JSON.writeValueAsBytes(objeto) : t.body();
+        } catch (IOException e) {
+            return t.body();
+        }
+    }
+
+    private String trocarId(String path) {
+        Matcher m = ID_DE_USUARIO.matcher(path);
+        if (!m.find()) {
+            return path;
+        }
+        CompletableFuture<String> novo = ids.get(m.group(2));
+        return novo == null ? path : m.group(1) + esperar(novo, m.group(2)) + path.substring(m.end());
+    }
+
+    private static String esperar(CompletableFuture<String> futuro, String gravado) {
+        try {
+            return futuro.get(ESPERA_DEPENDENCIA, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return gravado;
+        } catch (TimeoutException | ExecutionException e) {
+            return gravado;
+        }
+    }
+
+    private static String chave(CaptureFile.Troca t) {
+        return t.metodo() + " " + endpoint(t);
+    }
+
+    private static String endpoint(CaptureFile.Troca t) {
+        return LatencyFilter.endpoint(t.path());
+    }
+
+    private static JsonNode json(byte[] body) {
+        if (body == null || body.length == 0 || (body[0] != '{' && body[0] != '[')) {
+            return null;
+        }
+        try {
+            return JSON.readTree(body);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static Optional<String> texto(JsonNode valor) {
+        return valor.isValueNode() && !valor.isNull() && !valor.asText().isEmpty()
+                ? Optional.of(valor.asText()) : Optional.empty();
+    }
+
+    private record Item(CaptureFile.Troca troca, Linha linha, CompletableFuture<Void> feito) {
+
+        long terminoGravado() {
+            return troca.inicioNanos() + troca.duracaoNanos();
+        }
+    }
+
+    private static final class Linha {
+
+        final Histogram gravado = new Histogram(MAIOR_VALOR, 3);
+        // gravado por várias virtual threads
+        final ConcurrentHistogram replay = new ConcurrentHistogram(MAIOR_VALOR, 3);
+        final LongAdder divergentes = new LongAdder();
+        final LongAdder falhas = new LongAdder();
+
+        Endpoint paraEndpoint(String nome) {
+            return new Endpoint(nome, gravado.getTotalCount(),
+                    ms(gravado, 50), ms(gravado, 95), ms(gravado, 99),
+                    ms(replay, 50), ms(replay, 95), ms(replay, 99),
+                    divergentes.sum(), falhas.sum());
+        }
+
+        private static double ms(Histogram h, double percentil) {
+            return h.getTotalCount() == 0 ? 0 : h.getValueAtPercentile(percentil) / 1_000_000.0;
+        }
+    }
+
+    // Latências em ms; divergentes = status diferente do gravado, falhas = sem resposta
+    public record Endpoint(String nome, long trocas,
+                           double p50Gravado, double p95Gravado, double p99Gravado,
+                           double p50, double p95, double p99,
+                           long divergentes, long falhas) {
+
+        // Variação do p95 repetido sobre o gravado (0.2 = 20% mais lento)
+        public double variacaoP95() {
+            return p95Gravado == 0 ? 0 : p95 / p95Gravado - 1;
+        }
+    }
+
+    public record Relatorio(List<Endpoint> endpoints, int trocas, long duracaoGravadaNanos, long duracaoNanos,
+                            double velocidade, long maiorAtrasoNanos) {
+
+        // Endpoints com pelo menos minTrocas amostras cujo p95 piorou mais que a tolerância (0.25 = 25%)
+        public List<Endpoint> regressoes(double tolerancia, long minTrocas) {
+            return endpoints.stream().filter(e -> e.trocas() >= minTrocas && e.variacaoP95() > tolerancia).toList();
+        }
+
+        public long divergentes() {
+            return endpoints.stream().mapToLong(Endpoint::divergentes).sum();
+        }
+
+        public long falhas() {
+            return endpoints.stream().mapToLong(Endpoint::falhas).sum();
+        }
+
+        public void imprimir() {
+            System.out.printf(Locale.ROOT, "Replay: %d trocas em %.1f s (gravado em %.1f s, velocidade %.1fx, maior atraso de disparo %.1f ms)%n",
+                    trocas, duracaoNanos / 1e9, duracaoGravadaNanos / 1e9, velocidade, maiorAtrasoNanos / 1e6);
+            System.out.printf("%-32s %7s %23s %23s %8s %6s %6s%n",
+                    "endpoint", "trocas", "gravado p50/p95/p99", "replay p50/p95/p99", "Δp95", "status", "falhas");
+            for (Endpoint e : endpoints) {
+                System.out.printf(Locale.ROOT, "%-32s %7d %7.1f %7.1f %7.1f %7.1f %7.1f %7.1f %+7.0f%% %6d %6d%n",
+                        e.nome(), e.trocas(), e.p50Gravado(), e.p95Gravado(), e.p99Gravado(),
+                        e.p50(), e.p95(), e.p99(), e.variacaoP95() * 100, e.divergentes(), e.falhas());
+            }
+        }
+    }
+}
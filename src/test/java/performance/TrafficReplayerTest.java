@@ -0,0 +1,170 @@
+package performance;
+
+import filters.CaptureFile;
+import filters.CaptureFilter;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import stub.LocalServer;
+import stub.StubBackend;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+// Self-test da captura (formato binário) e do replay contra o StubBackend
+public class TrafficReplayerTest {
+
+    static final long MS = 1_000_000;
+
+    static StubBackend stub;
+    static String baseUrl;
+
+    @TempDir
+    Path pasta;
+
+    @BeforeAll
+    public static void subirStub() {
+        stub = new StubBackend(0, StubBackend.Injecao.NENHUMA, 3);
+        baseUrl = stub.baseUrl() + "/api";
+    }
+
+    @AfterAll
+    public static void derrubarStub() {
+        stub.close();
+    }
+
+    @Test
+    public void deveLerAsTrocasGravadasMesmoAtravessandoRegioesMapeadas() {
+        Path arquivo = pasta.resolve("grande.bin");
+        CaptureFilter captura = new CaptureFilter(arquivo);
+        // 3 respostas de 3 MiB passam da região de 4 MiB
+        byte[] grande = new byte[3 * 1024 * 1024];
+        Arrays.fill(grande, (byte) 'x');
+        for (int i = 0; i < 3; i++) {
+            captura.registrar("get", "games?page=" + i, Map.of("Accept", "*/*"), null, 200, grande, i * MS, 2 * MS);
+        }
+        captura.fechar();
+
+        CaptureFile.Captura lida = CaptureFile.ler(arquivo);
+
+        assertThat(lida.trocas(), hasSize(3));
+        CaptureFile.Troca ultima = lida.trocas().get(2);
+        assertThat(ultima.metodo(), equalTo("GET"));
+        assertThat(ultima.path(), equalTo("/games?page=2"));
+        assertThat(ultima.headers(), hasEntry("Accept", "*/*"));
+        assertThat(ultima.resposta().length, equalTo(grande.length));
+        assertThat(ultima.inicioNanos(), equalTo(2 * MS));
+        assertThat(lida.duracaoNanos(), equalTo(4 * MS));
+    }
+
+    @Test
+    public void deveRepetirTrocandoTokenEIdDoBackendGravado() {
+        Path arquivo = pasta.resolve("sessao.bin");
+        CaptureFilter captura = new CaptureFilter(arquivo);
+        // sessão gravada em outro backend: token e id que o stub não conhece
+        String login = "{\"success\":true,\"token\":\"token-gravado\",\"user\":{\"id\":99}}";
+        captura.registrar("POST", "/auth/login", json(),
+                "{\"email\":\"qa_user@gamestore.com\",\"password\":\"123456789\"}".getBytes(StandardCharsets.UTF_8),
+                200, login.getBytes(StandardCharsets.UTF_8), 0, 20 * MS);
+        captura.registrar("POST", "/checkout", autenticado(json()),
+                "{\"formaPagamento\":\"pix\",\"cart\":[{\"id\":1,\"qty\":1}]}".getBytes(StandardCharsets.UTF_8),
+                200, new byte[0], 120 * MS, 20 * MS);
+        captura.registrar("GET", "/orders/user/99", autenticado(new LinkedHashMap<>()), null, 200, new byte[0], 240 * MS, 10 * MS);
+        captura.registrar("GET", "/auth/verify", Map.of("Authorization", "Bearer expirado"), null, 401, new byte[0], 300 * MS, 5 * MS);
+        captura.fechar();
+
+        TrafficReplayer.Relatorio relatorio = new TrafficReplayer(baseUrl, arquivo).velocidade(2).executar();
+
+        assertThat(relatorio.trocas(), equalTo(4));
+        assertThat(relatorio.falhas(), equalTo(0L));
+        assertThat(relatorio.divergentes(), equalTo(0L));
+        // 300 ms gravados a 2x
+        assertThat(relatorio.duracaoNanos(), greaterThanOrEqualTo(150 * MS));
+        List<String> nomes = relatorio.endpoints().stream().map(TrafficReplayer.Endpoint::nome).toList();
+        assertThat(nomes, contains("GET /auth/verify", "GET /orders/user/:id", "POST /auth/login", "POST /checkout"));
+        assertThat(stub.requisicoes("GET /api/orders/user/{id}"), equalTo(1L));
+    }
+
+    @Test
+    public void deveCadastrarComIdentidadeNovaACadaReplay() {
+        Path arquivo = pasta.resolve("cadastro.bin");
+        CaptureFilter captura = new CaptureFilter(arquivo);
+        String cadastro = "{\"username\":\"gravado\",\"email\":\"gravado@teste.com\",\"password\":\"123456\"}";
+        String criado = "{\"success\":true,\"token\":\"token-cadastro\",\"user\":{\"id\":7}}";
+        captura.registrar("POST", "/auth/register", json(), bytes(cadastro), 201, bytes(criado), 0, 20 * MS);
+        // duplicado já na gravação: continua 409
+        captura.registrar("POST", "/auth/register", json(), bytes(cadastro), 409, new byte[0], 40 * MS, 5 * MS);
+        captura.registrar("POST", "/auth/login", json(),
+                bytes("{\"email\":\"gravado@teste.com\",\"password\":\"123456\"}"), 200, bytes(criado), 60 * MS, 10 * MS);
+        captura.registrar("POST", "/auth/login", json(),
+                bytes("{\"email\":\"gravado\",\"password\":\"123456\"}"), 200, bytes(criado), 80 * MS, 10 * MS);
+        captura.fechar();
+
+        // duas vezes no mesmo backend: o segundo replay não pode esbarrar no usuário do primeiro
+        for (int i = 0; i < 2; i++) {
+            TrafficReplayer.Relatorio relatorio = new TrafficReplayer(baseUrl, arquivo).velocidade(4).executar();
+
+            assertThat(relatorio.falhas(), equalTo(0L));
+            assertThat(relatorio.divergentes(), equalTo(0L));
+        }
+    }
+
+    @Test
+    public void deveContarOAtrasoDeDisparoNaLatenciaRepetida() throws Exception {
+        Path arquivo = pasta.resolve("atraso.bin");
+        CaptureFilter captura = new CaptureFilter(arquivo);
+        // gravado: /games termina em 20 ms e /gamepass sai em 50 ms, rápido
+        captura.registrar("GET", "/games", Map.of(), null, 200, new byte[0], 0, 20 * MS);
+        captura.registrar("GET", "/gamepass", Map.of(), null, 200, new byte[0], 50 * MS, 1 * MS);
+        captura.fechar();
+
+        // no replay o /games leva 300 ms e segura o /gamepass (ordem causal) até bem depois do agendado
+        try (LocalServer lento = LocalServer.com(Map.of(
+                "/api/games", ex -> {
+                    LocalServer.dormir(300);
+                    LocalServer.responder(ex, 200, "[]");
+                },
+                "/api/gamepass", ex -> LocalServer.responder(ex, 200, "[]")))) {
+            TrafficReplayer.Relatorio relatorio = new TrafficReplayer(lento.baseUrl(), arquivo).executar();
+
+            TrafficReplayer.Endpoint gamepass = relatorio.endpoints().stream()
+                    .filter(e -> e.nome().equals("GET /gamepass")).findFirst().orElseThrow();
+            assertThat(relatorio.falhas(), equalTo(0L));
+            // ~250 ms de espera desde o agendado, não o 1 ms da troca em si
+            assertThat(gamepass.p50(), greaterThanOrEqualTo(200.0));
+        }
+    }
+
+    @Test
+    public void deveAcusarRegressaoSoAcimaDaToleranciaEComAmostrasSuficientes() {
+        TrafficReplayer.Endpoint lento = new TrafficReplayer.Endpoint("GET /games", 10, 5, 10, 12, 6, 15, 20, 0, 0);
+        TrafficReplayer.Endpoint estavel = new TrafficReplayer.Endpoint("GET /gamepass", 10, 5, 10, 12, 5, 11, 12, 0, 0);
+        TrafficReplayer.Endpoint raro = new TrafficReplayer.Endpoint("GET /top-played", 1, 5, 10, 12, 50, 100, 100, 0, 0);
+        TrafficReplayer.Relatorio relatorio = new TrafficReplayer.Relatorio(List.of(lento, estavel, raro), 21, 0, 0, 1, 0);
+
+        assertThat(relatorio.regressoes(0.25, 5), contains(lento));
+    }
+
+    private static byte[] bytes(String texto) {
+        return texto.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, String> json() {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("Content-Type", "application/json");
+        return headers;
+    }
+
+    private static Map<String, String> autenticado(Map<String, String> headers) {
+        headers.put("Authorization", "Bearer token-gravado");
+        return headers;
+    }
+}
@@ -0,0 +1,286 @@
+package performance;
+
+import config.AsyncHttp;
+import io.restassured.response.Response;
+import metrics.LatencyBudgets;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import payloads.GamesServices;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+// Busca digitada (typeahead) sobre /games/search: cada usuário virtual escolhe um título e digita uma tecla por vez,
+// como o campo de busca do front. Só dispara a busca quando a próxima tecla demora mais que o debounce (ou o usuário
+// parou de digitar), não repete o termo anterior e cancela a busca anterior ainda em voo.
+//
+// A latência é separada por tamanho do termo: o ILIKE '%q%' não usa índice btree, então o custo vem do tamanho da
+// tabela; termos curtos ainda casam com muitas linhas antes do ORDER BY plays. Um índice trigram (pg_trgm) só ajuda
+// termos com 3 caracteres ou mais.
+public class Typeahead {
+
+    private final GamesServices games;
+    private List<String> titulos;
+    private int usuarios = 10;
+    private Duration duracao = Duration.ofSeconds(60);
+    private long teclaMs = 180;
+    private long debounceMs = 150;
+    private long pausaMs = 1000;
+    private int prefixoMaximo = 16;
+    private long semente = 42;
+
+    public Typeahead(String baseUrl) {
+        // sem cache do catálogo: cada termo precisa chegar ao banco
+        this.games = new GamesServices(baseUrl, null);
+    }
+
+    // null = títulos do catálogo (/games)
+    public Typeahead titulos(List<String> titulos) {
+        this.titulos = titulos;
+        return this;
+    }
+
+    public Typeahead usuarios(int usuarios) {
+        this.usuarios = usuarios;
+        return this;
+    }
+
+    public Typeahead duracao(Duration duracao) {
+        this.duracao = duracao;
+        return this;
+    }
+
+    // intervalo médio entre teclas; ~180 ms é digitação de 60 palavras/min
+    public Typeahead teclaMs(long teclaMs) {
+        this.teclaMs = teclaMs;
+        return this;
+    }
+
+    public Typeahead debounceMs(long debounceMs) {
+        this.debounceMs = debounceMs;
+        return this;
+    }
+
+    // tempo lendo o resultado antes de começar a próxima busca
+    public Typeahead pausaMs(long pausaMs) {
+        this.pausaMs = pausaMs;
+        return this;
+    }
+
+    // termos maiores entram na última faixa
+    public Typeahead prefixoMaximo(int prefixoMaximo) {
+        if (prefixoMaximo < 1) {
+            throw new IllegalArgumentException("prefixoMaximo deve ser >= 1: " + prefixoMaximo);
+        }
+        this.prefixoMaximo = prefixoMaximo;
+        return this;
+    }
+
+    public Typeahead semente(long semente) {
+        this.semente = semente;
+        return this;
+    }
+
+    public List<String> titulosDoCatalogo() {
+        Response response = games.listarTodosJogos("/games");
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Catálogo respondeu " + response.statusCode() + "; use titulos(...)");
+        }
+        return response.jsonPath().getList("title", String.class);
+    }
+
+    public Relatorio executar() {
+        List<String> alvos = titulos != null ? titulos : titulosDoCatalogo();
+        if (alvos.isEmpty()) {
+            throw new IllegalStateException("Nenhum título para digitar");
+        }
+        Faixa[] faixas = new Faixa[prefixoMaximo + 1];
+        for (int i = 1; i <= prefixoMaximo; i++) {
+            faixas[i] = new Faixa();
+        }
+        LongAdder teclas = new LongAdder();
+        LongAdder suprimidas = new LongAdder();
+        long inicio = System.nanoTime();
+        long fim = inicio + duracao.toNanos();
+        List<Thread> threads = new ArrayList<>(usuarios);
+        for (int u = 0; u < usuarios; u++) {
+            Random aleatorio = new Random(semente + u);
+            threads.add(Thread.ofVirtual().name("typeahead-" + u).start(
+                    () -> digitar(alvos, aleatorio, fim, faixas, teclas, suprimidas)));
+        }
+        try {
+            for (Thread t : threads) {
+                t.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Typeahead interrompido", e);
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        List<Tamanho> tamanhos = new ArrayList<>();
+        for (int i = 1; i <= prefixoMaximo; i++) {
+            Faixa f = faixas[i];
+            Histogram h = f.latencias.getIntervalHistogram();
+            long concluidas = h.getTotalCount();
+            tamanhos.add(new Tamanho(i, i == prefixoMaximo, f.disparadas.sum(), concluidas, f.canceladas.sum(),
+                    f.erros.sum(), concluidas == 0 ? 0 : (double) f.resultados.sum() / concluidas,
+                    ms(h, 50), ms(h, 95), ms(h, 99), concluidas == 0 ? 0 : h.getMaxValue() / 1e6));
+        }
+        return new Relatorio(usuarios, segundos, teclas.sum(), suprimidas.sum(), tamanhos);
+    }
+
+    private void digitar(List<String> alvos, Random aleatorio, long fim, Faixa[] faixas,
+                         LongAdder teclas, LongAdder suprimidas) {
+        CompletableFuture<Response> emVoo = null;
+        String ultimoTermo = "";
+        while (System.nanoTime() < fim) {
+            String titulo = alvos.get(aleatorio.nextInt(alvos.size()));
+            // o usuário para entre o 3º caractere e o título inteiro (achou o jogo na lista)
+            int ate = titulo.length() <= 3 ? titulo.length() : 3 + aleatorio.nextInt(titulo.length() - 2);
+            for (int n = 1; n <= ate && System.nanoTime() < fim; n++) {
+                teclas.increment();
+                long proxima = n == ate ? Long.MAX_VALUE : intervalo(aleatorio);
+                String termo = titulo.substring(0, n).trim();
+                if (proxima < debounceMs || termo.isEmpty() || termo.equalsIgnoreCase(ultimoTermo)) {
+                    suprimidas.increment();
+                    dormir(n == ate ? 0 : proxima);
+                    continue;
+                }
+                dormir(debounceMs);
+                if (emVoo != null) {
+                    // contada como cancelada em registrar, se ainda estava em voo
+                    emVoo.cancel(true);
+                }
+                Faixa faixa = faixas[Math.min(termo.length(), prefixoMaximo)];
+                faixa.disparadas.increment();
+                long envio = System.nanoTime();
+                emVoo = games.buscarJogosAsync(termo);
+                ultimoTermo = termo;
+                emVoo.whenComplete((r, erro) -> registrar(faixa, envio, r, erro));
+                if (n < ate) {
+                    dormir(proxima - debounceMs);
+                }
+            }
+            dormir(pausaMs);
+        }
+        if (emVoo != null) {
+            try {
+                emVoo.get(30, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                // já contado em registrar
+            }
+        }
+    }
+
+    private static void registrar(Faixa faixa, long envio, Response r, Throwable erro) {
+        if (AsyncHttp.cancelada(erro)) {
+            faixa.canceladas.increment();
+            return;
+        }
+        if (erro != null || r.statusCode() >= 400) {
+            faixa.erros.increment();
+            return;
+        }
+        faixa.latencias.recordValue(System.nanoTime() - envio);
+        try {
+            faixa.resultados.add(r.jsonPath().getList("$").size());
+        } catch (Exception e) {
+            // body fora do formato de lista: latência vale, contagem não
+        }
+    }
+
+    // uniforme entre 0,5x e 1,5x a média; 1 em 10 teclas vem depois de uma hesitação (4x)
+    private long intervalo(Random aleatorio) {
+        long base = Math.round(teclaMs * (0.5 + aleatorio.nextDouble()));
+        return aleatorio.nextInt(10) == 0 ? base * 4 : base;
+    }
+
+    private static void dormir(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Typeahead interrompido", e);
+        }
+    }
+
+    private static double ms(Histogram h, double percentil) {
+        return h.getTotalCount() == 0 ? 0 : h.getValueAtPercentile(percentil) / 1e6;
+    }
+
+    private static final class Faixa {
+        final Recorder latencias = new Recorder(3);
+        final LongAdder disparadas = new LongAdder();
+        final LongAdder canceladas = new LongAdder();
+        final LongAdder erros = new LongAdder();
+        final LongAdder resultados = new LongAdder();
+    }
+
+    // tamanho do termo; ouMais = última faixa (tamanho ou maior). Latências em ms, só das concluídas
+    public record Tamanho(int tamanho, boolean ouMais, long disparadas, long concluidas, long canceladas, long erros,
+                          double mediaResultados, double p50, double p95, double p99, double max) {
+    }
+
+    public record Relatorio(int usuarios, double segundos, long teclas, long suprimidas, List<Tamanho> tamanhos) {
+
+        public Tamanho tamanho(int tamanho) {
+            return tamanhos.get(Math.min(tamanho, tamanhos.size()) - 1);
+        }
+
+        public long disparadas() {
+            return tamanhos.stream().mapToLong(Tamanho::disparadas).sum();
+        }
+
+        public long canceladas() {
+            return tamanhos.stream().mapToLong(Tamanho::canceladas).sum();
+        }
+
+        public long erros() {
+            return tamanhos.stream().mapToLong(Tamanho::erros).sum();
+        }
+
+        // tamanhos com amostra cujo p95 passou do budget
+        public List<Tamanho> acimaDoBudget(double p95Ms) {
+            return tamanhos.stream().filter(t -> t.concluidas() > 0 && t.p95() > p95Ms).toList();
+        }
+
+        public void imprimir() {
+            System.out.printf("%n%d usuários por %.0fs: %d teclas, %d buscas (%.1f req/s), %d suprimidas pelo debounce, "
+                            + "%d canceladas, %d erros%n", usuarios, segundos, teclas, disparadas(),
+                    disparadas() / segundos, suprimidas, canceladas(), erros());
+            System.out.printf("%7s %10s %10s %10s %7s %10s %9s %9s %9s %9s%n",
+                    "termo", "buscas", "ok", "canceladas", "erros", "resultados", "p50 ms", "p95 ms", "p99 ms", "max ms");
+            for (Tamanho t : tamanhos) {
+                if (t.disparadas() == 0) {
+                    continue;
+                }
+                System.out.printf("%7s %10d %10d %10d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                        t.tamanho() + (t.ouMais() ? "+" : ""), t.disparadas(), t.concluidas(), t.canceladas(),
+                        t.erros(), t.mediaResultados(), t.p50(), t.p95(), t.p99(), t.max());
+            }
+            Long budget = LatencyBudgets.padrao().budgets("/games/search").get(95.0);
+            if (budget == null) {
+                return;
+            }
+            List<Tamanho> acima = acimaDoBudget(budget);
+            if (acima.isEmpty()) {
+                System.out.printf("Todos os tamanhos com p95 dentro do budget de %d ms%n", budget);
+                return;
+            }
+            System.out.printf("p95 acima do budget de %d ms nos termos de %s caracteres%n", budget,
+                    acima.stream().map(t -> t.tamanho() + (t.ouMais() ? "+" : "")).collect(Collectors.joining(", ")));
+            if (acima.stream().anyMatch(t -> t.tamanho() >= 3)) {
+                System.out.println("Termos de 3+ caracteres lentos: candidato a índice GIN pg_trgm na coluna title");
+            } else {
+                System.out.println("Só termos de 1-2 caracteres lentos: trigram não atende, prefira mínimo de 3 no front");
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package performance;
+
+import config.BaseTests;
+import config.ConnectionPool;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+// Ponto de entrada da busca digitada (perfil Maven "typeahead"):
+//   mvn test-compile exec:java -Ptypeahead -Dtypeahead.usuarios=50 -Dtypeahead.duracao=120 -Dtypeahead.debounce=200
+public class TypeaheadMain {
+
+    public static void main(String[] args) {
+        // buscas canceladas e 5xx já são contadas no relatório
+        if (System.getProperty("log.modo") == null) {
+            System.setProperty("log.modo", "nunca");
+        }
+        int usuarios = Integer.getInteger("typeahead.usuarios", 20);
+        long duracao = Long.getLong("typeahead.duracao", 60);
+        long tecla = Long.getLong("typeahead.tecla", 180);
+        long debounce = Long.getLong("typeahead.debounce", 150);
+        String titulos = System.getProperty("typeahead.titulos");
+
+        System.out.printf("Typeahead: %d usuários por %ds, tecla a cada ~%d ms, debounce %d ms%n",
+                usuarios, duracao, tecla, debounce);
+        Typeahead.Relatorio relatorio = new Typeahead(BaseTests.baseUrlPadrao())
+                .titulos(titulos == null ? null : Arrays.stream(titulos.split(",")).map(String::trim).toList())
+                .usuarios(usuarios)
+                .duracao(Duration.ofSeconds(duracao))
+                .teclaMs(tecla)
+                .debounceMs(debounce)
+                .pausaMs(Long.getLong("typeahead.pausa", 1000))
+                .prefixoMaximo(Integer.getInteger("typeahead.prefixoMaximo", 16))
+                .semente(Long.getLong("typeahead.semente", 42))
+                .executar();
+        relatorio.imprimir();
+        System.out.println(ConnectionPool.resumo());
+        System.exit(relatorio.erros() == 0 ? 0 : 1);
+    }
+}
@@ -0,0 +1,85 @@
+package performance;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import payloads.GamesServices;
+import stub.LocalServer;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static stub.LocalServer.dormir;
+import static stub.LocalServer.responder;
+
+// Self-test da busca digitada contra um servidor local: termos de 1-2 caracteres levam 100 ms (varredura longa),
+// os demais 10 ms; assim dá para ver a separação por tamanho e as buscas canceladas pela tecla seguinte
+public class TypeaheadTest {
+
+    static LocalServer servidor;
+    static String baseUrl;
+    static final Set<String> termos = ConcurrentHashMap.newKeySet();
+
+    @BeforeAll
+    public static void subirServidorLocal() {
+        servidor = LocalServer.com(Map.of("/api/games/search", ex -> {
+            String q = URLDecoder.decode(ex.getRequestURI().getRawQuery().substring(2), StandardCharsets.UTF_8);
+            termos.add(q);
+            dormir(q.length() <= 2 ? 100 : 10);
+            responder(ex, 200, q.length() <= 2 ? "[{\"id\":1},{\"id\":2},{\"id\":3}]" : "[{\"id\":1}]");
+        }));
+        baseUrl = servidor.baseUrl();
+    }
+
+    @AfterAll
+    public static void derrubarServidorLocal() {
+        servidor.close();
+    }
+
+    @Test
+    public void deveSepararLatenciaPorTamanhoECancelarBuscasSuperadas() {
+        Typeahead.Relatorio relatorio = new Typeahead(baseUrl)
+                .titulos(List.of("Elden Ring", "Hollow Knight", "Baldur's Gate 3"))
+                .usuarios(4)
+                .duracao(Duration.ofSeconds(3))
+                .teclaMs(120)
+                .debounceMs(40)
+                .pausaMs(100)
+                .prefixoMaximo(8)
+                .executar();
+        relatorio.imprimir();
+
+        assertThat(relatorio.erros(), equalTo(0L));
+        assertThat(relatorio.suprimidas(), greaterThan(0L));
+        // a busca de 1-2 caracteres ainda está no servidor quando a tecla seguinte dispara outra
+        assertThat(relatorio.canceladas(), greaterThan(0L));
+        Typeahead.Tamanho um = relatorio.tamanho(1);
+        Typeahead.Tamanho cinco = relatorio.tamanho(5);
+        assertThat(um.concluidas(), greaterThan(0L));
+        assertThat(um.disparadas(), equalTo(um.concluidas() + um.canceladas() + um.erros()));
+        assertThat(cinco.concluidas(), greaterThan(0L));
+        assertThat(cinco.p50(), lessThan(um.p50()));
+        assertThat(cinco.mediaResultados(), closeTo(1.0, 1e-9));
+        assertThat(relatorio.tamanho(40).ouMais(), is(true));
+        assertThat(relatorio.acimaDoBudget(90), hasItem(um));
+        // espaço e apóstrofo chegam decodificados no backend
+        assertThat(termos, hasItem("Elden R"));
+        assertThat(termos, not(hasItem("Elden ")));
+    }
+
+    @Test
+    public void deveBuscarComTermoCodificado() {
+        GamesServices games = new GamesServices(baseUrl);
+
+        assertThat(games.buscarJogos("Baldur's Gate").statusCode(), equalTo(200));
+        assertThat(games.buscarJogosAsync("Hollow K").join().jsonPath().getList("$"), hasSize(1));
+        assertThat(termos, hasItems("Baldur's Gate", "Hollow K"));
+    }
+}
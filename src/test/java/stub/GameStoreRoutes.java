@@ -0,0 +1,526 @@
+package stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import stub.StubBackend.Requisicao;
+import stub.StubBackend.Resposta;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+// Handlers do stub: mesma validação, status e corpo de cada rota do server.js/authController.js.
+// Catálogo e resultados "RAWG" vêm de src/test/resources/stub; usuários e pedidos ficam em memória.
+final class GameStoreRoutes {
+
+    // Senha das contas semeadas (qa_user e usuario_existente), igual ao seed do banco
+    static final String SENHA_SEED = "123456789";
+
+    private static final Pattern EMAIL = Pattern.compile("^[^\\s@]+@[^\\s@]+\\.[^\\s@]+$");
+
+    private final StubBackend stub;
+    private final StubJwt jwt;
+    private final List<ObjectNode> jogos;
+    private final List<ObjectNode> rawg;
+
+    private final Map<Long, Usuario> usuarios = new ConcurrentHashMap<>();
+    private final AtomicLong proximoUsuario = new AtomicLong(1);
+    // Pedidos por usuário, do mais antigo para o mais novo
+    private final Map<Long, List<ObjectNode>> pedidos = new ConcurrentHashMap<>();
+    private final AtomicLong proximoPedido = new AtomicLong(1);
+
+    GameStoreRoutes(StubBackend stub, StubJwt jwt) {
+        this.stub = stub;
+        this.jwt = jwt;
+        this.jogos = carregar("/stub/jogos.json");
+        this.rawg = carregar("/stub/rawg.json");
+        cadastrar("qa_user", "qa_user@gamestore.com", SENHA_SEED, "QA User");
+        cadastrar("usuario_existente", "duplicado@gamestore.com", SENHA_SEED, "Usuário Existente");
+    }
+
+    void registrar() {
+        // literais antes dos templates com {id}
+        stub.rota("GET", "/api/jogos", req -> Resposta.ok(array(jogos)));
+        stub.rota("GET", "/api/games", req -> Resposta.ok(array(jogos)));
+        stub.rota("GET", "/api/jogos/recomendado", this::recomendado);
+        stub.rota("GET", "/api/games/count", req -> Resposta.ok(stub.objeto().put("total", jogos.size())));
+        stub.rota("GET", "/api/gamepass", req -> Resposta.ok(array(jogos.stream()
+                .filter(j -> j.get("title").asText().toLowerCase(Locale.ROOT).contains("gamepass")).toList())));
+        stub.rota("GET", "/api/games/search", this::buscar);
+        stub.rota("GET", "/api/top-played", this::maisJogados);
+        stub.rota("GET", "/api/games/popular", this::populares);
+        stub.rota("GET", "/api/games/{id}/details", this::detalhes);
+        stub.rota("GET", "/api/rawg-games", this::rawgGames);
+        stub.rota("GET", "/api/rawg-news", this::rawgNews);
+
+        stub.rota("POST", "/api/auth/register", this::register);
+        stub.rota("POST", "/api/auth/login", this::login);
+        stub.rota("GET", "/api/auth/verify", autenticado(this::verify));
+        stub.rota("POST", "/api/auth/refresh", autenticado(this::refresh));
+
+        stub.rota("POST", "/api/checkout", autenticado(this::checkout));
+        stub.rota("GET", "/api/account/{id}", autenticado(this::conta));
+        stub.rota("GET", "/api/user/me", autenticado(this::me));
+        stub.rota("GET", "/api/orders/user/{id}", autenticado(this::pedidosDoUsuario));
+        stub.rota("GET", "/api/compras/historico", autenticado(this::historico));
+        stub.rota("POST", "/api/support/ticket", this::ticket);
+        stub.rota("GET", "/__routes", this::rotas);
+    }
+
+    // ---------- catálogo ----------
+
+    private Resposta recomendado(Requisicao req) {
+        ObjectNode jogo = jogos.get(sortear(jogos.size()));
+        return Resposta.ok(stub.objeto()
+                .put("id", jogo.get("id").asInt())
+                .put("title", jogo.get("title").asText())
+                .put("price", jogo.get("price").asDouble())
+                .put("image", jogo.path("image").asText("")));
+    }
+
+    private Resposta buscar(Requisicao req) {
+        String q = req.query().getOrDefault("q", "").trim().toLowerCase(Locale.ROOT);
+        int limite = Math.min(inteiro(req.query().get("limit"), 8), 30);
+        if (q.isEmpty()) {
+            return Resposta.ok(stub.json.createArrayNode());
+        }
+        return Resposta.ok(array(jogos.stream()
+                .filter(j -> j.get("title").asText().toLowerCase(Locale.ROOT).contains(q))
+                .sorted(Comparator.comparingLong((ObjectNode j) -> -j.get("plays").asLong())
+                        .thenComparingInt(j -> j.get("id").asInt()))
+                .limit(Math.max(limite, 0))
+                .map(j -> stub.objeto().put("id", j.get("id").asInt()).put("title", j.get("title").asText())
+                        .put("price", j.get("price").asText()).put("image", j.path("image").asText()))
+                .toList()));
+    }
+
+    private Resposta maisJogados(Requisicao req) {
+        int limite = inteiro(req.query().get("limit"), 5);
+        return Resposta.ok(array(jogos.stream()
+                .sorted(Comparator.comparingLong((ObjectNode j) -> -j.get("plays").asLong()))
+                .limit(Math.max(limite, 0))
+                .toList()));
+    }
+
+    private Resposta populares(Requisicao req) {
+        ArrayNode resultado = stub.json.createArrayNode();
+        rawg.stream().limit(10).forEach(g -> resultado.addObject()
+                .put("id", g.get("id").asInt())
+                .put("name", g.get("name").asText())
+                .put("background_image", g.get("background_image").asText())
+                .put("rating", g.get("rating").asDouble())
+                .put("released", g.get("released").asText()));
+        return Resposta.ok(resultado);
+    }
+
+    // Qualquer id responde: os conhecidos com os dados do rawg.json, os demais com um jogo sintético
+    private Resposta detalhes(Requisicao req) {
+        String id = req.params().get("id");
+        ObjectNode g = rawg.stream().filter(r -> r.get("id").asText().equals(id)).findFirst().orElse(null);
+        ObjectNode out = stub.objeto();
+        if (id.matches("\\d+")) {
+            out.put("id", Long.parseLong(id));
+        } else {
+            out.put("id", id);
+        }
+        out.put("name", g == null ? "Jogo " + id : g.get("name").asText());
+        out.put("description_raw", g == null ? "Jogo " + id + " servido pelo stub." : g.get("description_raw").asText());
+        out.set("genres", g == null ? stub.json.createArrayNode().add("Action") : g.get("genres"));
+        out.set("platforms", g == null ? stub.json.createArrayNode().add("PC") : g.get("platforms"));
+        out.put("rating", g == null ? 4.0 : g.get("rating").asDouble());
+        out.put("background_image", g == null ? "https://media.rawg.io/media/games/" + id + ".jpg"
+                : g.get("background_image").asText());
+        return Resposta.ok(out);
+    }
+
+    private Resposta rawgGames(Requisicao req) {
+        List<ObjectNode> pagina = paginaRawg(req, 10);
+        ArrayNode results = stub.json.createArrayNode();
+        for (ObjectNode g : pagina) {
+            ObjectNode item = results.addObject()
+                    .put("id", g.get("id").asInt())
+                    .put("title", g.get("name").asText())
+                    // mesma conta do server.js: 10 + rating * 7, duas casas
+                    .put("price", BigDecimal.valueOf(10 + g.get("rating").asDouble() * 7)
+                            .setScale(2, RoundingMode.HALF_UP).doubleValue());
+            item.set("platforms", g.get("platforms"));
+            item.put("image", g.get("background_image").asText()).put("rawg_slug", g.get("slug").asText());
+        }
+        ObjectNode body = stub.objeto().put("count", filtrarRawg(req).size());
+        body.set("results", results);
+        return Resposta.ok(body);
+    }
+
+    private Resposta rawgNews(Requisicao req) {
+        // sem notícias por jogo no stub: sempre o fallback "está em evidência", mais novo primeiro
+        List<ObjectNode> pagina = new ArrayList<>(paginaRawg(req, 5));
+        pagina.sort(Comparator.comparing((ObjectNode g) -> g.get("updated").asText()).reversed());
+        ArrayNode results = stub.json.createArrayNode();
+        for (ObjectNode g : pagina) {
+            String slug = g.get("slug").asText();
+            results.addObject()
+                    .put("title", g.get("name").asText() + " está em evidência")
+                    .put("excerpt", "Lançado em " + g.get("released").asText())
+                    .put("image", g.get("background_image").asText())
+                    .put("url", "https://rawg.io/games/" + slug)
+                    .put("published_at", g.get("updated").asText())
+                    .put("source", "rawg_fallback");
+        }
+        ObjectNode body = stub.objeto().put("count", results.size());
+        body.set("results", results);
+        return Resposta.ok(body);
+    }
+
+    private List<ObjectNode> filtrarRawg(Requisicao req) {
+        String busca = req.query().getOrDefault("search", "").toLowerCase(Locale.ROOT);
+        return rawg.stream().filter(g -> g.get("name").asText().toLowerCase(Locale.ROOT).contains(busca)).toList();
+    }
+
+    private List<ObjectNode> paginaRawg(Requisicao req, int tamanhoPadrao) {
+        List<ObjectNode> filtrados = filtrarRawg(req);
+        int tamanho = Math.max(inteiro(req.query().get("page_size"), tamanhoPadrao), 1);
+        int pagina = Math.max(inteiro(req.query().get("page"), 1), 1);
+        int inicio = (int) Math.min((long) (pagina - 1) * tamanho, filtrados.size());
+        return filtrados.subList(inicio, Math.min(inicio + tamanho, filtrados.size()));
+    }
+
+    // ---------- autenticação ----------
+
+    private Resposta register(Requisicao req) {
+        String username = texto(req.body(), "username");
+        String email = texto(req.body(), "email");
+        String password = texto(req.body(), "password");
+        if (username == null || email == null || password == null) {
+            return falha(400, "Campos obrigatórios faltando", "Username, email e password são obrigatórios");
+        }
+        if (!EMAIL.matcher(email).matches()) {
+            return falha(400, "Email inválido", "Por favor, forneça um email válido");
+        }
+        if (password.length() < 6) {
+            return falha(400, "Senha muito curta", "A senha deve ter no mínimo 6 caracteres");
+        }
+        Usuario novo = cadastrar(username, email, password, texto(req.body(), "nome_completo"));
+        if (novo == null) {
+            return falha(409, "Usuário já existe", "Username ou email já cadastrado");
+        }
+        ObjectNode body = stub.objeto()
+                .put("success", true)
+                .put("message", "Usuário cadastrado com sucesso!")
+                .put("token", jwt.assinar(novo.id(), novo.email(), novo.username()));
+        ObjectNode user = novo.json(stub.objeto());
+        user.put("created_at", novo.createdAt());
+        body.set("user", user);
+        return Resposta.json(201, body);
+    }
+
+    private Resposta login(Requisicao req) {
+        String email = texto(req.body(), "email");
+        String username = texto(req.body(), "username");
+        String identificador = (email != null ? email : username != null ? username : "").trim();
+        String password = texto(req.body(), "password");
+        if (identificador.isEmpty() || password == null) {
+            return falha(400, "Campos obrigatórios faltando", "Email/username e password são obrigatórios");
+        }
+        Usuario usuario = usuarios.values().stream()
+                .filter(u -> u.username().equals(identificador) || u.email().equals(identificador))
+                .findFirst().orElse(null);
+        if (usuario == null || !usuario.senha().equals(password)) {
+            return falha(401, "Credenciais inválidas", "Usuário ou senha incorretos");
+        }
+        ObjectNode body = stub.objeto()
+                .put("success", true)
+                .put("message", "Login realizado com sucesso!")
+                .put("token", jwt.assinar(usuario.id(), usuario.email(), usuario.username()));
+        body.set("user", usuario.json(stub.objeto()));
+        return Resposta.ok(body);
+    }
+
+    private Resposta verify(Requisicao req, Usuario usuario) {
+        ObjectNode user = usuario.json(stub.objeto());
+        user.put("created_at", usuario.createdAt());
+        ObjectNode body = stub.objeto().put("success", true).put("message", "Token válido");
+        body.set("user", user);
+        return Resposta.ok(body);
+    }
+
+    private Resposta refresh(Requisicao req, Usuario usuario) {
+        return Resposta.ok(stub.objeto()
+                .put("success", true)
+                .put("message", "Token renovado com sucesso")
+                .put("token", jwt.assinar(usuario.id(), usuario.email(), usuario.username())));
+    }
+
+    // authMiddleware + busca do usuário do token (404 se a conta não existe mais)
+    private StubBackend.Handler autenticado(HandlerAutenticado handler) {
+        return req -> {
+            String authorization = req.headers().getFirst("Authorization");
+            if (authorization == null) {
+                return erro(401, "Acesso negado", "message", "Token de autenticação não fornecido");
+            }
+            String[] partes = authorization.split(" ", -1);
+            if (partes.length != 2 || !partes[0].equals("Bearer")) {
+                return erro(401, "Token malformado", "message", "Formato do token inválido. Use: Bearer <token>");
+            }
+            StubJwt.Verificacao verificacao = jwt.verificar(partes[1]);
+            if (!verificacao.valido()) {
+                return erro(401, verificacao.error(), "message", verificacao.message());
+            }
+            Usuario usuario = usuarios.get(verificacao.payload().path("id").asLong());
+            if (usuario == null) {
+                return Resposta.json(404, stub.objeto().put("success", false).put("error", "Usuário não encontrado"));
+            }
+            return handler.tratar(req, usuario);
+        };
+    }
+
+    // ---------- pedidos e conta ----------
+
+    private Resposta checkout(Requisicao req, Usuario usuario) {
+        JsonNode body = req.body();
+        if (texto(body, "formaPagamento") == null) {
+            return erro(400, "Forma de pagamento é obrigatória", "mensagem", "Selecione uma forma de pagamento para continuar.");
+        }
+        String protocolo = "#CHK" + (100000 + sortear(900000));
+        ArrayNode itens = stub.json.createArrayNode();
+        BigDecimal total = BigDecimal.ZERO;
+        JsonNode cart = body.path("cart");
+        if (cart.isArray() && !cart.isEmpty()) {
+            for (JsonNode item : cart) {
+                ObjectNode jogo = jogo(item.path("id").asText());
+                if (jogo != null) {
+                    int qty = item.path("qty").asInt(0) > 0 ? item.path("qty").asInt() : 1;
+                    itens.add(itemDoPedido(jogo, qty));
+                    total = total.add(new BigDecimal(jogo.get("price").asText()).multiply(BigDecimal.valueOf(qty)));
+                }
+            }
+        } else if (texto(body, "gameId") != null) {
+            ObjectNode jogo = jogo(body.get("gameId").asText());
+            if (jogo == null) {
+                return Resposta.json(404, stub.objeto().put("error", "Jogo não encontrado"));
+            }
+            itens.add(itemDoPedido(jogo, 1));
+            total = new BigDecimal(jogo.get("price").asText());
+        } else {
+            return erro(400, "Nenhum item para comprar", "mensagem", "Adicione itens ao carrinho antes de finalizar a compra.");
+        }
+        if (itens.isEmpty()) {
+            return erro(400, "Carrinho vazio", "mensagem", "Adicione itens ao carrinho antes de finalizar a compra.");
+        }
+
+        long orderId = proximoPedido.getAndIncrement();
+        ObjectNode pedido = stub.objeto()
+                .put("orderId", orderId)
+                .put("totalPrice", total.doubleValue())
+                .put("createdAt", agora());
+        pedido.set("items", itens);
+        // pedido e itens entram juntos: o stub não tem a janela do BEGIN/COMMIT via pool.query do backend
+        List<ObjectNode> doUsuario = pedidos.computeIfAbsent(usuario.id(), k -> new ArrayList<>());
+        synchronized (doUsuario) {
+            doUsuario.add(pedido);
+        }
+        return Resposta.ok(stub.objeto()
+                .put("sucesso", true)
+                .put("mensagem", "Compra realizada com sucesso!")
+                .put("protocolo", protocolo)
+                .put("orderId", orderId));
+    }
+
+    private Resposta pedidosDoUsuario(Requisicao req, Usuario usuario) {
+        if (!mesmoId(req, usuario)) {
+            return erro(403, "Acesso negado", "message", "Você só pode acessar seu próprio histórico de compras");
+        }
+        ArrayNode orders = stub.json.createArrayNode();
+        List<ObjectNode> doUsuario = pedidos.getOrDefault(usuario.id(), List.of());
+        synchronized (doUsuario) {
+            for (int i = doUsuario.size() - 1; i >= 0 && orders.size() < 50; i--) {
+                orders.add(doUsuario.get(i));
+            }
+        }
+        ObjectNode body = stub.objeto().put("success", true);
+        body.set("orders", orders);
+        body.put("total", orders.size());
+        return Resposta.ok(body);
+    }
+
+    private Resposta conta(Requisicao req, Usuario usuario) {
+        if (!mesmoId(req, usuario)) {
+            return erro(403, "Acesso negado", "message", "Você só pode acessar sua própria conta");
+        }
+        ObjectNode user = usuario.json(stub.objeto());
+        user.put("created_at", usuario.createdAt());
+        ObjectNode body = stub.objeto();
+        body.set("user", user);
+        // a tabela compras não é gravada pelo checkout: no backend a lista também sai vazia
+        body.set("purchases", stub.json.createArrayNode());
+        return Resposta.ok(body);
+    }
+
+    private Resposta me(Requisicao req, Usuario usuario) {
+        return Resposta.ok(stub.objeto()
+                .put("nome", usuario.nomeCompleto() != null ? usuario.nomeCompleto() : usuario.username())
+                .put("email", usuario.email())
+                .put("created_at", usuario.createdAt()));
+    }
+
+    // Fallback orders + order_items do comprasRoutes: uma linha por item
+    private Resposta historico(Requisicao req, Usuario usuario) {
+        ArrayNode purchases = stub.json.createArrayNode();
+        List<ObjectNode> doUsuario = pedidos.getOrDefault(usuario.id(), List.of());
+        synchronized (doUsuario) {
+            for (int i = doUsuario.size() - 1; i >= 0 && purchases.size() < 200; i--) {
+                ObjectNode pedido = doUsuario.get(i);
+                for (JsonNode item : pedido.get("items")) {
+                    purchases.addObject()
+                            .put("id", pedido.get("orderId").asLong())
+                            .put("produto", item.get("title").asText())
+                            .put("valor", item.get("price").decimalValue()
+                                    .multiply(BigDecimal.valueOf(item.get("quantity").asInt())).doubleValue())
+                            .put("data_compra", pedido.get("createdAt").asText())
+                            .put("image", item.path("image").asText(""));
+                }
+            }
+        }
+        ObjectNode body = stub.objeto().put("success", true);
+        body.set("purchases", purchases);
+        body.put("total", purchases.size());
+        return Resposta.ok(body);
+    }
+
+    private Resposta ticket(Requisicao req) {
+        if (texto(req.body(), "name") == null || texto(req.body(), "email") == null || texto(req.body(), "message") == null) {
+            return Resposta.json(400, stub.objeto().put("error", "Campos obrigatórios faltando."));
+        }
+        return Resposta.ok(stub.objeto()
+                .put("status", "ok")
+                .put("protocolo", String.format("#2%04d", sortear(10000)))
+                .put("mensagem", "Seu ticket foi aberto com sucesso."));
+    }
+
+    private Resposta rotas(Requisicao req) {
+        ArrayNode routes = stub.json.createArrayNode();
+        for (String path : List.of("/api/jogos", "/api/games", "/api/jogos/recomendado", "/api/games/count",
+                "/api/gamepass", "/api/games/search", "/api/top-played", "/api/rawg-games", "/api/games/popular",
+                "/api/rawg-news", "/api/checkout", "/api/auth/register", "/api/auth/login", "/api/auth/verify",
+                "/api/auth/refresh", "/api/account/:id", "/api/orders/user/:id", "/api/games/:id/details",
+                "/api/user/me", "/api/support/ticket", "/__routes")) {
+            boolean post = path.equals("/api/checkout") || path.equals("/api/support/ticket")
+                    || (path.startsWith("/api/auth/") && !path.endsWith("verify"));
+            routes.addObject().put("path", path).put("methods", post ? "post" : "get");
+        }
+        ObjectNode body = stub.objeto();
+        body.set("routes", routes);
+        return Resposta.ok(body);
+    }
+
+    // ---------- apoio ----------
+
+    private Usuario cadastrar(String username, String email, String senha, String nomeCompleto) {
+        synchronized (usuarios) {
+            boolean existe = usuarios.values().stream()
+                    .anyMatch(u -> u.username().equals(username) || u.email().equals(email));
+            if (existe) {
+                return null;
+            }
+            Usuario novo = new Usuario(proximoUsuario.getAndIncrement(), username, email, senha, nomeCompleto, agora());
+            usuarios.put(novo.id(), novo);
+            return novo;
+        }
+    }
+
+    private ObjectNode itemDoPedido(ObjectNode jogo, int qty) {
+        return stub.objeto()
+                .put("game_id", jogo.get("id").asInt())
+                .put("title", jogo.get("title").asText())
+                .put("image", jogo.path("image").asText())
+                .put("price", new BigDecimal(jogo.get("price").asText()))
+                .put("quantity", qty);
+    }
+
+    private ObjectNode jogo(String id) {
+        return jogos.stream().filter(j -> j.get("id").asText().equals(id)).findFirst().orElse(null);
+    }
+
+    private int sortear(int limite) {
+        return stub.aleatorio.nextInt(limite);
+    }
+
+    private static boolean mesmoId(Requisicao req, Usuario usuario) {
+        return String.valueOf(usuario.id()).equals(req.params().get("id"));
+    }
+
+    // Valor "truthy" do campo como texto (null para ausente, null, "", false e 0), igual ao !campo do JS
+    private static String texto(JsonNode body, String campo) {
+        JsonNode valor = body.get(campo);
+        if (valor == null || valor.isNull() || (valor.isBoolean() && !valor.asBoolean())
+                || (valor.isNumber() && valor.asDouble() == 0)) {
+            return null;
+        }
+        String texto = valor.isValueNode() ? valor.asText() : valor.toString();
+        return texto.isEmpty() ? null : texto;
+    }
+
+    private static int inteiro(String valor, int padrao) {
+        try {
+            int n = valor == null ? 0 : Integer.parseInt(valor.trim());
+            return n == 0 ? padrao : n;
+        } catch (NumberFormatException e) {
+            return padrao;
+        }
+    }
+
+    private static String agora() {
+        return Instant.now().truncatedTo(ChronoUnit.MILLIS).toString();
+    }
+
+    private Resposta falha(int status, String error, String message) {
+        return Resposta.json(status, stub.objeto().put("success", false).put("error", error).put("message", message));
+    }
+
+    private Resposta erro(int status, String error, String campo, String texto) {
+        return Resposta.json(status, stub.objeto().put("error", error).put(campo, texto));
+    }
+
+    private ArrayNode array(List<ObjectNode> itens) {
+        ArrayNode array = stub.json.createArrayNode();
+        array.addAll(itens);
+        return array;
+    }
+
+    private List<ObjectNode> carregar(String recurso) {
+        try (InputStream in = GameStoreRoutes.class.getResourceAsStream(recurso)) {
+            if (in == null) {
+                throw new IllegalStateException("recurso do stub não encontrado: " + recurso);
+            }
+            List<ObjectNode> itens = new ArrayList<>();
+            stub.json.readTree(in).forEach(n -> itens.add((ObjectNode) n));
+            return List.copyOf(itens);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface HandlerAutenticado {
+        Resposta tratar(Requisicao req, Usuario usuario);
+    }
+
+    private record Usuario(long id, String username, String email, String senha, String nomeCompleto, String createdAt) {
+
+        ObjectNode json(ObjectNode destino) {
+            return destino.put("id", id).put("username", username).put("email", email).put("nome_completo", nomeCompleto);
+        }
+    }
+}
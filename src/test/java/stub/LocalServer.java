@@ -0,0 +1,89 @@
+package stub;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Servidor HTTP local dos self-tests que precisam de respostas sob medida (atraso, contagem, falha a cada N);
+// quando as rotas canônicas bastam, use o StubBackend. Porta efêmera em 127.0.0.1 e rotas por prefixo, como no
+// createContext do HttpServer do JDK.
+public final class LocalServer implements AutoCloseable {
+
+    // Conexões pendentes aceitas: os testes de concorrência abrem centenas ao mesmo tempo
+    static final int BACKLOG = 1024;
+
+    static {
+        StubBackend.semNagle();
+    }
+
+    private final HttpServer servidor;
+    private final ExecutorService executor;
+
+    private LocalServer(Map<String, HttpHandler> rotas, ExecutorService executor) {
+        this.executor = executor;
+        try {
+            servidor = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), BACKLOG);
+        } catch (IOException e) {
+            executor.shutdownNow();
+            throw new UncheckedIOException(e);
+        }
+        rotas.forEach(servidor::createContext);
+        servidor.setExecutor(executor);
+        servidor.start();
+    }
+
+    // Uma virtual thread por requisição
+    public static LocalServer com(Map<String, HttpHandler> rotas) {
+        return com(rotas, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    // Executor próprio (ex. 1 worker para um teto conhecido); é encerrado junto com o servidor
+    public static LocalServer com(Map<String, HttpHandler> rotas, ExecutorService executor) {
+        return new LocalServer(rotas, executor);
+    }
+
+    // Com o /api, pronto para os services
+    public String baseUrl() {
+        return "http://127.0.0.1:" + servidor.getAddress().getPort() + "/api";
+    }
+
+    @Override
+    public void close() {
+        servidor.stop(0);
+        executor.shutdownNow();
+    }
+
+    // Atraso dentro do handler; interrompido (servidor derrubado), responde na hora
+    public static void dormir(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Consome o body da requisição e responde JSON; body null = sem corpo (304, 204)
+    public static void responder(HttpExchange ex, int status, String body) throws IOException {
+        ex.getRequestBody().readAllBytes();
+        ex.getResponseHeaders().set("Content-Type", "application/json");
+        if (body == null) {
+            ex.sendResponseHeaders(status, -1);
+            ex.close();
+            return;
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        ex.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = ex.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
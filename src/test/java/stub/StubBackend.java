@@ -0,0 +1,342 @@
+package stub;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Backend embutido que responde as rotas do Backend/swagger.yaml sem Node nem Postgres.
+// Catálogo fixo (mesmos 14 jogos do RECREATE-DATABASE.sql), usuários e pedidos em memória e JWT HS256 de verdade:
+// os contratos, status e mensagens de erro são os do server.js, então a suíte roda igual contra ele.
+//
+// Latência e falhas injetáveis, globais (-Dstub.latencia, -Dstub.jitter, -Dstub.falhas, -Dstub.semente) ou por rota
+// via injetar("GET /api/games", ...). -Dstub=true faz a BaseTests apontar para o stub padrão.
+//
+// final: o construtor registra as rotas e sobe o servidor com "this", então não há subclasse meio construída
+// para um handler enxergar.
+public final class StubBackend implements AutoCloseable {
+
+    static final int PORTA = Integer.getInteger("stub.porta", 0);
+    // Atraso fixo e variação aleatória somados a cada resposta (ms)
+    static final long LATENCIA = Long.getLong("stub.latencia", 0);
+    static final long JITTER = Long.getLong("stub.jitter", 0);
+    // Fração das requisições que recebem 500 (0..1)
+    static final double FALHAS = Double.parseDouble(System.getProperty("stub.falhas", "0"));
+    static final long SEMENTE = Long.getLong("stub.semente", 42);
+    static final String JWT_SECRET = System.getProperty("stub.jwtSecret", "stub-jwt-secret");
+    static final String SWAGGER = System.getProperty("stub.swagger", "Backend/swagger.yaml");
+
+    private static final Pattern PARAMETRO = Pattern.compile("\\{(\\w+)}");
+
+    private static volatile StubBackend padrao;
+
+    static {
+        semNagle();
+    }
+
+    final ObjectMapper json = new ObjectMapper();
+    // Compartilhado por latência, falhas e respostas "aleatórias" (recomendado, protocolos): mesma semente, mesma sequência
+    final Random aleatorio;
+
+    private final HttpServer servidor;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<Rota> rotas = new ArrayList<>();
+    private final Injecao injecaoPadrao;
+    private volatile Injecao injecaoGlobal;
+    private final Map<String, Injecao> injecoes = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> requisicoes = new ConcurrentHashMap<>();
+    private final LongAdder falhasInjetadas = new LongAdder();
+
+    public StubBackend() {
+        this(PORTA, new Injecao(LATENCIA, JITTER, FALHAS), SEMENTE);
+    }
+
+    public StubBackend(int porta, Injecao injecao, long semente) {
+        this.injecaoPadrao = injecao;
+        this.injecaoGlobal = injecao;
+        this.aleatorio = new Random(semente);
+        new GameStoreRoutes(this, new StubJwt(json, JWT_SECRET)).registrar();
+        conferirSwagger(Path.of(SWAGGER));
+        try {
+            servidor = HttpServer.create(new InetSocketAddress("127.0.0.1", porta), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        servidor.createContext("/", this::atender);
+        servidor.setExecutor(executor);
+        servidor.start();
+    }
+
+    // O HttpServer do JDK escreve status+headers e body em writes separados; com Nagle ligado o body espera o ACK
+    // atrasado do cliente e cada resposta leva ~40 ms a mais. A propriedade só é lida quando a primeira classe do
+    // servidor carrega, por isso é ligada no carregamento desta classe (e da LocalServer), antes de qualquer create.
+    static void semNagle() {
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    // Stub compartilhado pela suíte, criado no primeiro uso com as propriedades stub.*
+    public static StubBackend padrao() {
+        StubBackend atual = padrao;
+        if (atual == null) {
+            synchronized (StubBackend.class) {
+                atual = padrao;
+                if (atual == null) {
+                    long inicio = System.nanoTime();
+                    atual = new StubBackend();
+                    System.out.printf("[stub] backend em memória em %s (%d ms)%n",
+                            atual.baseUrl(), (System.nanoTime() - inicio) / 1_000_000);
+                    padrao = atual;
+                }
+            }
+        }
+        return atual;
+    }
+
+    // Sem o /api, no mesmo formato do -DbaseUrl
+    public String baseUrl() {
+        return "http://127.0.0.1:" + servidor.getAddress().getPort();
+    }
+
+    // Rota no formato do swagger, ex. "GET /api/games/{id}/details"
+    public void injetar(String rota, Injecao injecao) {
+        injecoes.put(rota, injecao);
+    }
+
+    public void injetarEmTodas(Injecao injecao) {
+        injecaoGlobal = injecao;
+    }
+
+    // Volta para a injeção das propriedades stub.*
+    public void limparInjecoes() {
+        injecoes.clear();
+        injecaoGlobal = injecaoPadrao;
+    }
+
+    public long requisicoes(String rota) {
+        LongAdder contador = requisicoes.get(rota);
+        return contador == null ? 0 : contador.sum();
+    }
+
+    public long falhasInjetadas() {
+        return falhasInjetadas.sum();
+    }
+
+    @Override
+    public void close() {
+        servidor.stop(0);
+        executor.shutdownNow();
+    }
+
+    void rota(String metodo, String template, Handler handler) {
+        Matcher m = PARAMETRO.matcher(template);
+        List<String> nomes = new ArrayList<>();
+        StringBuilder regex = new StringBuilder();
+        int fim = 0;
+        while (m.find()) {
+            regex.append(Pattern.quote(template.substring(fim, m.start()))).append("([^/]+)");
+            nomes.add(m.group(1));
+            fim = m.end();
+        }
+        regex.append(Pattern.quote(template.substring(fim)));
+        rotas.add(new Rota(metodo + " " + template, metodo, Pattern.compile(regex.toString()), nomes, handler));
+    }
+
+    // Toda operação do swagger precisa de handler aqui: rota nova no backend quebra o stub na subida, não no teste
+    private void conferirSwagger(Path swagger) {
+        if (!Files.exists(swagger)) {
+            return;
+        }
+        List<String> faltando = new ArrayList<>();
+        for (String operacao : SwaggerRoutes.ler(swagger)) {
+            if (rotas.stream().noneMatch(r -> r.nome().equals(operacao))) {
+                faltando.add(operacao);
+            }
+        }
+        if (!faltando.isEmpty()) {
+            throw new IllegalStateException("rotas do " + swagger + " sem handler no stub: " + faltando);
+        }
+    }
+
+    private void atender(HttpExchange ex) throws IOException {
+        try (ex) {
+            byte[] corpo = ex.getRequestBody().readAllBytes();
+            String metodo = ex.getRequestMethod().toUpperCase(Locale.ROOT);
+            String path = ex.getRequestURI().getPath();
+
+            Rota rota = null;
+            Map<String, String> params = new LinkedHashMap<>();
+            for (Rota r : rotas) {
+                Matcher m = r.regex().matcher(path);
+                if (r.metodo().equals(metodo) && m.matches()) {
+                    rota = r;
+                    for (int i = 0; i < r.nomes().size(); i++) {
+                        params.put(r.nomes().get(i), URLDecoder.decode(m.group(i + 1), StandardCharsets.UTF_8));
+                    }
+                    break;
+                }
+            }
+            if (rota == null) {
+                // catch-all do server.js para /api
+                responder(ex, metodo, Resposta.json(404, objeto().put("error", "API route not found").put("path", path)));
+                return;
+            }
+            requisicoes.computeIfAbsent(rota.nome(), k -> new LongAdder()).increment();
+
+            Injecao injecao = injecoes.getOrDefault(rota.nome(), injecaoGlobal);
+            atrasar(injecao);
+            if (injecao.taxaDeFalha() > 0 && aleatorio.nextDouble() < injecao.taxaDeFalha()) {
+                falhasInjetadas.increment();
+                responder(ex, metodo, Resposta.json(500, objeto()
+                        .put("error", "Erro ao processar requisição")
+                        .put("message", "Erro interno do servidor")
+                        .put("details", "falha injetada pelo stub")));
+                return;
+            }
+
+            JsonNode body;
+            try {
+                // express.json(): sem body vira {}
+                body = corpo.length == 0 ? objeto() : json.readTree(corpo);
+            } catch (JsonProcessingException e) {
+                responder(ex, metodo, Resposta.json(400, objeto().put("error", "JSON inválido").put("details", e.getOriginalMessage())));
+                return;
+            }
+            Requisicao req = new Requisicao(metodo, path, params, query(ex.getRequestURI().getRawQuery()),
+                    ex.getRequestHeaders(), body);
+            Resposta resposta;
+            try {
+                resposta = rota.handler().tratar(req);
+            } catch (RuntimeException e) {
+                resposta = Resposta.json(500, objeto().put("error", "Erro no stub").put("details", String.valueOf(e)));
+            }
+            responder(ex, metodo, resposta);
+        }
+    }
+
+    private void atrasar(Injecao injecao) {
+        long atraso = injecao.latenciaMs();
+        if (injecao.jitterMs() > 0) {
+            atraso += aleatorio.nextLong(injecao.jitterMs() + 1);
+        }
+        if (atraso > 0) {
+            try {
+                Thread.sleep(atraso);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // ETag fraco como o do express (tamanho + sha1) e 304 quando o If-None-Match bate
+    private void responder(HttpExchange ex, String metodo, Resposta resposta) throws IOException {
+        byte[] bytes = json.writeValueAsBytes(resposta.body());
+        Headers headers = ex.getResponseHeaders();
+        headers.set("Content-Type", "application/json; charset=utf-8");
+        int status = resposta.status();
+        if (status >= 200 && status < 300) {
+            String etag = etag(bytes);
+            headers.set("ETag", etag);
+            if ("GET".equals(metodo) && etag.equals(ex.getRequestHeaders().getFirst("If-None-Match"))) {
+                ex.sendResponseHeaders(304, -1);
+                return;
+            }
+        }
+        ex.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = ex.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String etag(byte[] bytes) {
+        try {
+            byte[] sha1 = MessageDigest.getInstance("SHA-1").digest(bytes);
+            return "W/\"" + Integer.toHexString(bytes.length) + "-"
+                    + Base64.getEncoder().encodeToString(sha1).substring(0, 27) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Map<String, String> query(String rawQuery) {
+        Map<String, String> query = new LinkedHashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String par : rawQuery.split("&")) {
+            int igual = par.indexOf('=');
+            String chave = URLDecoder.decode(igual < 0 ? par : par.substring(0, igual), StandardCharsets.UTF_8);
+            String valor = igual < 0 ? "" : URLDecoder.decode(par.substring(igual + 1), StandardCharsets.UTF_8);
+            query.putIfAbsent(chave, valor);
+        }
+        return query;
+    }
+
+    ObjectNode objeto() {
+        return json.createObjectNode();
+    }
+
+    // Latência fixa + jitter uniforme (ms) e fração de respostas 500
+    public record Injecao(long latenciaMs, long jitterMs, double taxaDeFalha) {
+
+        public static final Injecao NENHUMA = new Injecao(0, 0, 0);
+
+        public Injecao {
+            if (latenciaMs < 0 || jitterMs < 0 || taxaDeFalha < 0 || taxaDeFalha > 1) {
+                throw new IllegalArgumentException("injeção inválida: " + latenciaMs + " ms, " + jitterMs
+                        + " ms de jitter, taxa de falha " + taxaDeFalha);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface Handler {
+        Resposta tratar(Requisicao req);
+    }
+
+    record Requisicao(String metodo, String path, Map<String, String> params, Map<String, String> query,
+                      Headers headers, JsonNode body) {
+    }
+
+    record Resposta(int status, JsonNode body) {
+
+        static Resposta json(int status, JsonNode body) {
+            return new Resposta(status, body);
+        }
+
+        static Resposta ok(JsonNode body) {
+            return new Resposta(200, body);
+        }
+    }
+
+    private record Rota(String nome, String metodo, Pattern regex, List<String> nomes, Handler handler) {
+    }
+}
@@ -0,0 +1,114 @@
+package stub;
+
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import payloads.AuthServices;
+import payloads.CheckoutServices;
+import payloads.GamesServices;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+// Self-test do backend embutido: contrato das rotas, JWT e injeção de latência/falhas
+public class StubBackendTest {
+
+    static StubBackend stub;
+    static String baseUrl;
+
+    @BeforeAll
+    public static void subirStub() {
+        stub = new StubBackend(0, StubBackend.Injecao.NENHUMA, 7);
+        baseUrl = stub.baseUrl() + "/api";
+    }
+
+    @AfterAll
+    public static void derrubarStub() {
+        stub.close();
+    }
+
+    @AfterEach
+    public void limparInjecoes() {
+        stub.limparInjecoes();
+    }
+
+    @Test
+    public void deveLerAsRotasDoSwagger() {
+        // o construtor já falha se alguma delas não tiver handler
+        List<String> rotas = SwaggerRoutes.ler(Path.of(StubBackend.SWAGGER));
+
+        assertThat(rotas, hasSize(22));
+        assertThat(rotas, hasItems("GET /api/games/{id}/details", "POST /api/checkout", "GET /__routes"));
+    }
+
+    @Test
+    public void deveAutenticarComJwtAssinadoEGravarOPedido() {
+        AuthServices auth = new AuthServices(baseUrl);
+        Response login = auth.fazerLogin("qa_user@gamestore.com", GameStoreRoutes.SENHA_SEED);
+        assertThat(login.statusCode(), equalTo(200));
+        String token = auth.extrairToken(login);
+
+        assertThat(auth.VerificarToken(token).jsonPath().getString("user.username"), equalTo("qa_user"));
+        String adulterado = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        Response invalido = auth.VerificarToken(adulterado);
+        assertThat(invalido.statusCode(), equalTo(401));
+        assertThat(invalido.jsonPath().getString("error"), equalTo("Token inválido"));
+
+        CheckoutServices checkout = new CheckoutServices(baseUrl);
+        Response compra = checkout.realizarCheckout(token,
+                "{\"formaPagamento\":\"pix\",\"cart\":[{\"id\":2,\"qty\":2},{\"id\":25,\"qty\":1}]}");
+        assertThat(compra.statusCode(), equalTo(200));
+        long orderId = compra.jsonPath().getLong("orderId");
+
+        Response pedidos = checkout.listarPedidos(token, 1);
+        assertThat(pedidos.jsonPath().getLong("orders[0].orderId"), equalTo(orderId));
+        // id 25 não existe: fica fora do pedido, como no backend
+        assertThat(pedidos.jsonPath().getList("orders[0].items"), hasSize(1));
+        assertThat(pedidos.jsonPath().getDouble("orders[0].totalPrice"), closeTo(119.80, 0.001));
+        assertThat(checkout.listarPedidos(token, 2).statusCode(), equalTo(403));
+    }
+
+    @Test
+    public void deveInjetarLatenciaEFalhasSoNaRotaPedida() {
+        GamesServices games = new GamesServices(baseUrl);
+        stub.injetar("GET /api/games", new StubBackend.Injecao(150, 0, 0));
+        stub.injetar("GET /api/games/count", new StubBackend.Injecao(0, 0, 1.0));
+        long falhasAntes = stub.falhasInjetadas();
+
+        long inicio = System.nanoTime();
+        assertThat(games.listarTodosJogos("/games").statusCode(), equalTo(200));
+        assertThat((System.nanoTime() - inicio) / 1_000_000, greaterThanOrEqualTo(150L));
+
+        Response falha = games.listarTodosJogos("/games/count");
+        assertThat(falha.statusCode(), equalTo(500));
+        assertThat(falha.jsonPath().getString("details"), equalTo("falha injetada pelo stub"));
+        assertThat(stub.falhasInjetadas() - falhasAntes, equalTo(1L));
+
+        assertThat(games.listarTodosJogos("/jogos").statusCode(), equalTo(200));
+        stub.limparInjecoes();
+        assertThat(games.listarTodosJogos("/games/count").jsonPath().getInt("total"), equalTo(14));
+    }
+
+    @Test
+    public void deveResponder304E404ComoOExpress() {
+        GamesServices games = new GamesServices(baseUrl);
+        Response primeira = games.listarTodosJogos("/gamepass");
+        assertThat(primeira.jsonPath().getList("title"), hasSize(4));
+        String etag = primeira.header("ETag");
+        assertThat(etag, startsWith("W/\""));
+
+        Response revalidada = games.listarJogosSeModificado("/gamepass", etag);
+        assertThat(revalidada.statusCode(), equalTo(304));
+        assertThat(revalidada.asByteArray().length, equalTo(0));
+
+        Response inexistente = games.listarTodosJogos("/nao-existe");
+        assertThat(inexistente.statusCode(), equalTo(404));
+        assertThat(inexistente.jsonPath().getString("error"), equalTo("API route not found"));
+        assertThat(stub.requisicoes("GET /api/gamepass"), equalTo(2L));
+    }
+}
@@ -0,0 +1,91 @@
+package stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+// JWT HS256 do stub, no mesmo formato do jsonwebtoken do backend: { id, email, username, iat, exp }, 24 h.
+// A assinatura é conferida de verdade, então tokens adulterados ou expirados dão 401 como no Node.
+final class StubJwt {
+
+    static final long VALIDADE_SEGUNDOS = 24 * 3600;
+
+    private static final String CABECALHO = base64("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    private final ObjectMapper json;
+    private final byte[] segredo;
+
+    StubJwt(ObjectMapper json, String segredo) {
+        this.json = json;
+        this.segredo = segredo.getBytes(StandardCharsets.UTF_8);
+    }
+
+    String assinar(long id, String email, String username) {
+        long agora = System.currentTimeMillis() / 1000;
+        ObjectNode payload = json.createObjectNode()
+                .put("id", id)
+                .put("email", email)
+                .put("username", username)
+                .put("iat", agora)
+                .put("exp", agora + VALIDADE_SEGUNDOS);
+        String corpo = CABECALHO + "." + base64(payload.toString().getBytes(StandardCharsets.UTF_8));
+        return corpo + "." + base64(hmac(corpo));
+    }
+
+    // Payload do token ou a falha no formato do authMiddleware
+    Verificacao verificar(String token) {
+        String[] partes = token.split("\\.", -1);
+        if (partes.length != 3) {
+            return Verificacao.invalido();
+        }
+        byte[] assinatura;
+        JsonNode payload;
+        try {
+            assinatura = Base64.getUrlDecoder().decode(partes[2]);
+            payload = json.readTree(Base64.getUrlDecoder().decode(partes[1]));
+        } catch (IllegalArgumentException | IOException e) {
+            return Verificacao.invalido();
+        }
+        if (!MessageDigest.isEqual(assinatura, hmac(partes[0] + "." + partes[1])) || payload == null) {
+            return Verificacao.invalido();
+        }
+        if (payload.path("exp").asLong(Long.MAX_VALUE) <= System.currentTimeMillis() / 1000) {
+            return new Verificacao(null, "Token expirado", "Seu token de autenticação expirou. Faça login novamente.");
+        }
+        return new Verificacao(payload, null, null);
+    }
+
+    private byte[] hmac(String conteudo) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(segredo, "HmacSHA256"));
+            return mac.doFinal(conteudo.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String base64(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    // payload != null = token válido; senão error/message do 401
+    record Verificacao(JsonNode payload, String error, String message) {
+
+        static Verificacao invalido() {
+            return new Verificacao(null, "Token inválido", "Token de autenticação inválido");
+        }
+
+        boolean valido() {
+            return payload != null;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package stub;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+// Rotas (método + path) declaradas em Backend/swagger.yaml.
+// Leitura por indentação só da seção "paths:" (path em 2 espaços, método em 4): o projeto não tem parser YAML
+// e o stub só precisa saber quais operações existem para não divergir do contrato.
+final class SwaggerRoutes {
+
+    private static final Set<String> METODOS = Set.of("get", "post", "put", "patch", "delete");
+
+    private SwaggerRoutes() {
+    }
+
+    static List<String> ler(Path swagger) {
+        List<String> linhas;
+        try {
+            linhas = Files.readAllLines(swagger, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        List<String> rotas = new ArrayList<>();
+        boolean emPaths = false;
+        String path = null;
+        for (String linha : linhas) {
+            if (linha.isBlank() || linha.stripLeading().startsWith("#")) {
+                continue;
+            }
+            if (!linha.startsWith(" ")) {
+                emPaths = linha.startsWith("paths:");
+                path = null;
+                continue;
+            }
+            if (!emPaths) {
+                continue;
+            }
+            if (linha.startsWith("  /")) {
+                path = linha.strip();
+                path = path.substring(0, path.length() - 1); // tira o ':'
+            } else if (path != null && linha.startsWith("    ") && !linha.startsWith("     ")) {
+                String chave = linha.strip();
+                chave = chave.endsWith(":") ? chave.substring(0, chave.length() - 1) : chave;
+                if (METODOS.contains(chave)) {
+                    rotas.add(chave.toUpperCase(Locale.ROOT) + " " + path);
+                }
+            }
+        }
+        return rotas;
+    }
+}
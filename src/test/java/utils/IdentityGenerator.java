@@ -0,0 +1,66 @@
+package utils;
+
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Identidades únicas para dados de teste (username, email) sem depender de System.currentTimeMillis().
+// Formato: <execução>-<slot da thread>-<contador da thread>, em base 36 ('-' nunca aparece nos números).
+//  - execução: única por JVM. Sem -Drun.id, é segundos + fork + aleatório: o fork vem de -Drun.fork (o surefire
+//    passa ${surefire.forkNumber}), então forks da mesma execução do Maven nunca colidem; sem ele, o pid % 1296.
+//    Entre execuções independentes que começam no mesmo segundo (jobs de CI paralelos, containers com pid 1) resta
+//    só o aleatório (1 em 36^4): para garantia, passe -Drun.id único por job (ex. -Drun.id=$CI_JOB_ID).
+//  - slot: número sequencial dado a cada thread na primeira chamada, nunca reaproveitado
+//  - contador: sequência local da thread, sem sincronização
+public final class IdentityGenerator {
+
+    private static final String EXECUCAO = System.getProperty("run.id", gerarIdDeExecucao()).toLowerCase();
+
+    private static final AtomicInteger SLOTS = new AtomicInteger();
+
+    private static final ThreadLocal<Sequencia> SEQUENCIA = ThreadLocal.withInitial(Sequencia::new);
+
+    private IdentityGenerator() {
+    }
+
+    public static String execucao() {
+        return EXECUCAO;
+    }
+
+    public static String proximo() {
+        return SEQUENCIA.get().proximo();
+    }
+
+    public static String username() {
+        return "user" + proximo();
+    }
+
+    public static String email() {
+        return "user_" + proximo() + "@teste.com";
+    }
+
+    private static String gerarIdDeExecucao() {
+        String fork = System.getProperty("run.fork");
+        long numero = fork != null && !fork.isBlank() ? Long.parseLong(fork.trim()) : ProcessHandle.current().pid();
+        return idDeExecucao(System.currentTimeMillis() / 1000, numero, new SecureRandom().nextInt(36 * 36 * 36 * 36));
+    }
+
+    static String idDeExecucao(long segundos, long fork, int aleatorio) {
+        return base36(segundos % (36L * 36 * 36 * 36 * 36), 5) + base36(fork % (36 * 36), 2) + base36(aleatorio, 4);
+    }
+
+    // largura fixa: execuções diferentes nunca se confundem ao concatenar
+    private static String base36(long valor, int largura) {
+        String s = Long.toString(valor, 36);
+        return "0".repeat(largura - s.length()) + s;
+    }
+
+    private static final class Sequencia {
+
+        final String prefixo = EXECUCAO + "-" + Integer.toString(SLOTS.getAndIncrement(), 36) + "-";
+        long contador;
+
+        String proximo() {
+            return prefixo + Long.toString(contador++, 36);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package utils;
+
+import Factories.RegistroFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+// Self-test do gerador de identidades (não precisa do backend)
+public class IdentityGeneratorTest {
+
+    @Test
+    public void naoDeveRepetirIdentidadesEntreThreads() throws Exception {
+        int threads = 8;
+        int porThread = 50_000;
+        Set<String> vistos = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                tarefas.add(executor.submit(() -> {
+                    for (int i = 0; i < porThread; i++) {
+                        vistos.add(IdentityGenerator.proximo());
+                    }
+                }));
+            }
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(vistos, hasSize(threads * porThread));
+    }
+
+    @Test
+    public void deveGerarUsernameEEmailDentroDosLimitesDoBanco() {
+        String username = IdentityGenerator.username();
+        String email = IdentityGenerator.email();
+
+        assertThat(username, startsWith("user" + IdentityGenerator.execucao()));
+        assertThat(username.length(), lessThanOrEqualTo(50));
+        assertThat(email, matchesPattern("^[^\\s@]+@[^\\s@]+\\.[^\\s@]+$"));
+    }
+
+    @Test
+    public void deveSepararForksQueComecamNoMesmoSegundo() {
+        // mesmo segundo e mesmo aleatório: só o número do fork (passado aqui, não lido do -Drun.fork) distingue
+        String fork1 = IdentityGenerator.idDeExecucao(1_700_000_000L, 1, 42);
+        String fork2 = IdentityGenerator.idDeExecucao(1_700_000_000L, 2, 42);
+
+        assertThat(fork1, not(equalTo(fork2)));
+        assertThat(fork1, hasLength(11));
+        // segundos (5) + fork (2) + aleatório (4): a diferença fica só no trecho do fork
+        assertThat(fork1.substring(0, 5) + fork1.substring(7), equalTo(fork2.substring(0, 5) + fork2.substring(7)));
+    }
+
+    @Test
+    public void deveGerarRegistrosInvalidosPorMotivo() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        for (RegistroFactory.Motivo motivo : RegistroFactory.Motivo.values()) {
+            RegistroFactory.Registro registro = RegistroFactory.registro(motivo);
+            JsonNode json = mapper.readTree(registro.body());
+            assertThat(json.isObject(), is(true));
+            assertThat(registro.statusEsperado(), equalTo(motivo == RegistroFactory.Motivo.VALIDO ? 201 : 400));
+        }
+    }
+}
@@ -2,6 +2,6 @@ package utils;
 
 public class Utils {
     public static String gerarEmailAleatorio() {
-        return "user_" + System.currentTimeMillis() + "@teste.com";
+        return IdentityGenerator.email();
     }
 }
\ No newline at end of file
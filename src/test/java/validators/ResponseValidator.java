@@ -1,13 +1,122 @@
 package validators;
 
+import datasets.Caso;
+import io.restassured.builder.ResponseSpecBuilder;
 import io.restassured.response.Response;
+import metrics.LatencyBudgets;
+import org.HdrHistogram.Histogram;
+import performance.CheckoutConsistency;
+import performance.FanOut;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 
 
 public class ResponseValidator {
 
+    // ResponseSpecification nova a cada chamada: nada compartilhado entre testes paralelos.
+    // Respostas em streaming não passam por aqui (o then() carregaria o body inteiro): ver CatalogContract
     public void  validarStatusCode(Response response, int esperado){
-         assertThat(response.statusCode(), equalTo(esperado));
+         response.then().spec(new ResponseSpecBuilder().expectStatusCode(esperado).build());
+    }
+
+    // Aquece, repete a chamada N vezes e compara a distribuição com os budgets do endpoint
+    // (latency-budgets.properties). Cada chamada, inclusive as de aquecimento, também valida o status code:
+    // um aquecimento de 401/500 passaria despercebido e distorceria a amostra.
+    public Histogram validarLatencia(String endpoint, int esperado, Supplier<Response> chamada) {
+        LatencyBudgets budgets = LatencyBudgets.padrao();
+        return validarLatencia(endpoint, esperado, budgets.aquecimento(), budgets.repeticoes(endpoint), chamada);
+    }
+
+    public Histogram validarLatencia(String endpoint, int esperado, int aquecimento, int repeticoes,
+                                     Supplier<Response> chamada) {
+        for (int i = 0; i < aquecimento; i++) {
+            assertThat("status no aquecimento " + (i + 1) + " de " + endpoint, chamada.get().statusCode(), equalTo(esperado));
+        }
+        Histogram latencias = new Histogram(3);
+        for (int i = 0; i < repeticoes; i++) {
+            long inicio = System.nanoTime();
+            Response response = chamada.get();
+            latencias.recordValue(System.nanoTime() - inicio);
+            validarStatusCode(response, esperado);
+        }
+        validarLatencia(endpoint, latencias);
+        return latencias;
+    }
+
+    public void validarLatencia(String endpoint, Histogram latenciasEmNanos) {
+        Map<Double, Long> budgets = LatencyBudgets.padrao().budgets(endpoint);
+        if (budgets.isEmpty()) {
+            throw new IllegalArgumentException("Nenhum budget de latência configurado para " + endpoint);
+        }
+        validarLatencia(endpoint, budgets, latenciasEmNanos);
+    }
+
+    void validarLatencia(String endpoint, Map<Double, Long> budgets, Histogram latenciasEmNanos) {
+        budgets.forEach((percentil, budgetMs) -> {
+            long minimo = amostrasMinimas(percentil);
+            if (latenciasEmNanos.getTotalCount() < minimo) {
+                throw new IllegalArgumentException("Budget " + rotulo(percentil) + " de " + endpoint + " precisa de "
+                        + minimo + " amostras, só há " + latenciasEmNanos.getTotalCount()
+                        + ": com menos, o percentil é só o máximo (aumente <endpoint>.repeticoes ou use um percentil menor)");
+            }
+            double medidoMs = latenciasEmNanos.getValueAtPercentile(percentil) / 1_000_000.0;
+            assertThat(rotulo(percentil) + " de " + endpoint + " (ms, " + latenciasEmNanos.getTotalCount() + " amostras)",
+                    medidoMs, lessThanOrEqualTo((double) budgetMs));
+        });
+    }
+
+    // Pelo menos uma amostra acima do percentil: p95 -> 20, p99 -> 100, p999 -> 1000
+    static long amostrasMinimas(double percentil) {
+        return (long) Math.ceil(100 / (100 - percentil) - 1e-9);
+    }
+
+    private static String rotulo(double percentil) {
+        return percentil == 99.9 ? "p999" : "p" + (int) percentil;
+    }
+
+    // Asserções agregadas sobre um fan-out; a mensagem traz a contagem de status de todas as cópias
+    public void validarTodosComStatus(FanOut.Resultado resultado, int esperado) {
+        assertThat("status com " + esperado + " (" + resultado.resumo() + ")",
+                resultado.quantidadeComStatus(esperado), equalTo((long) resultado.total()));
+    }
+
+    public void validarExatamenteUmComStatus(FanOut.Resultado resultado, int esperado) {
+        validarQuantidadeComStatus(resultado, esperado, 1);
+    }
+
+    public void validarQuantidadeComStatus(FanOut.Resultado resultado, int esperado, long quantidade) {
+        assertThat("status com " + esperado + " (" + resultado.resumo() + ")",
+                resultado.quantidadeComStatus(esperado), equalTo(quantidade));
+    }
+
+    // Nenhum pedido perdido, fantasma ou divergente em nenhum nível de concorrência
+    public void validarConsistencia(CheckoutConsistency.Relatorio relatorio) {
+        for (CheckoutConsistency.Nivel nivel : relatorio.niveis()) {
+            assertThat("pedidos com concorrência " + nivel.concorrencia() + " (" + nivel + ")",
+                    nivel.consistente(), equalTo(true));
+        }
+    }
+
+    // 304 correto: sem body e com o mesmo ETag revalidado (quando o backend o repete)
+    public void validarNaoModificado(Response response, String etag) {
+        validarStatusCode(response, 304);
+        assertThat("body do 304", response.asByteArray().length, equalTo(0));
+        String etagDoBackend = response.header("ETag");
+        if (etagDoBackend != null) {
+            assertThat("ETag do 304", etagDoBackend, equalTo(etag));
+        }
+    }
+
+    // Caso de dataset: status esperado e, quando o caso traz "erro", o campo error da resposta
+    public void validarCaso(Response response, Caso caso) {
+        assertThat(caso + ": status", response.statusCode(), equalTo(caso.status()));
+        if (caso.tem("erro")) {
+            assertThat(caso + ": error", response.jsonPath().getString("error"), equalTo(caso.texto("erro")));
+        }
     }
 }
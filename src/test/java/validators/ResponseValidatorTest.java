@@ -0,0 +1,42 @@
+package validators;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Self-test do validarLatencia: percentil alto com poucas amostras é recusado em vez de virar o máximo
+public class ResponseValidatorTest {
+
+    ResponseValidator validator = new ResponseValidator();
+
+    @Test
+    public void deveExigirAmostrasSuficientesPorPercentil() {
+        assertThat(ResponseValidator.amostrasMinimas(50), equalTo(2L));
+        assertThat(ResponseValidator.amostrasMinimas(95), equalTo(20L));
+        assertThat(ResponseValidator.amostrasMinimas(99), equalTo(100L));
+        assertThat(ResponseValidator.amostrasMinimas(99.9), equalTo(1000L));
+    }
+
+    @Test
+    public void deveRecusarP99ComMenosDeCemAmostras() {
+        Histogram latencias = new Histogram(3);
+        for (int i = 0; i < 30; i++) {
+            latencias.recordValue(1_000_000);
+        }
+
+        validator.validarLatencia("/checkout", Map.of(95.0, 800L), latencias);
+        IllegalArgumentException erro = assertThrows(IllegalArgumentException.class,
+                () -> validator.validarLatencia("/checkout", Map.of(99.0, 800L), latencias));
+        assertThat(erro.getMessage(), startsWith("Budget p99 de /checkout precisa de 100 amostras, só há 30"));
+
+        for (int i = 0; i < 70; i++) {
+            latencias.recordValue(1_000_000);
+        }
+        validator.validarLatencia("/checkout", Map.of(99.0, 800L), latencias);
+    }
+}